@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import org.eclipse.lsp.cobol.common.AnalysisResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the whole analysis of a program, the same way the server runs it when a document is
+ * opened or changed. Together with the CICS and Db2 code of the plain COBOL programs, this covers
+ * the IDMS and DaCo dialects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class AnalysisBenchmark {
+  @Param
+  private Program program;
+
+  private BenchmarkEngine engine;
+  private String text;
+
+  /** Create the engine and read the program */
+  @Setup
+  public void setUp() {
+    engine = new BenchmarkEngine(program.getCopybooks());
+    text = program.getText();
+  }
+
+  /**
+   * Analyze the program
+   *
+   * @return the analysis result
+   */
+  @Benchmark
+  public AnalysisResult analyze() {
+    return engine.analyze(program, text);
+  }
+}
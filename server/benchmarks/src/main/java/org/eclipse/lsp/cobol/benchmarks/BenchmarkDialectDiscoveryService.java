@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp.cobol.common.action.CodeActionProvider;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.eclipse.lsp.cobol.common.dialects.CobolDialect;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.core.engine.dialects.DialectDiscoveryService;
+import org.eclipse.lsp.cobol.dialects.daco.DaCoDialect;
+import org.eclipse.lsp.cobol.dialects.idms.IdmsDialect;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Provides the IDMS and DaCo dialects from the classpath instead of discovering them in the dialect
+ * folders
+ */
+public class BenchmarkDialectDiscoveryService implements DialectDiscoveryService {
+  @Override
+  public List<CobolDialect> loadDialects(CopybookService copybookService, MessageService messageService) {
+    return ImmutableList.of(new DaCoDialect(copybookService, messageService), new IdmsDialect(copybookService, messageService));
+  }
+
+  @Override
+  public List<CobolDialect> loadDialects(URI uri, CopybookService copybookService, MessageService messageService) {
+    return ImmutableList.of();
+  }
+
+  @Override
+  public void registerExecuteCommandCapabilities(List<String> capabilities, String id) {
+  }
+
+  @Override
+  public void unregisterExecuteCommandCapabilities(String id) {
+  }
+
+  @Override
+  public void registerDialectCodeActionProviders(List<CodeActionProvider> providers) {
+  }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.multibindings.Multibinder;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.eclipse.lsp.cobol.common.AnalysisConfig;
+import org.eclipse.lsp.cobol.common.AnalysisResult;
+import org.eclipse.lsp.cobol.common.CleanerPreprocessor;
+import org.eclipse.lsp.cobol.common.LanguageEngineFacade;
+import org.eclipse.lsp.cobol.common.ResultWithErrors;
+import org.eclipse.lsp.cobol.common.SubroutineService;
+import org.eclipse.lsp.cobol.common.action.CodeActionProvider;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.eclipse.lsp.cobol.common.file.FileSystemService;
+import org.eclipse.lsp.cobol.common.file.WorkspaceFileService;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedDocument;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedText;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.core.engine.CobolLanguageEngine;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
+import org.eclipse.lsp.cobol.core.engine.dialects.DialectDiscoveryService;
+import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
+import org.eclipse.lsp.cobol.core.engine.pipeline.PipelineResult;
+import org.eclipse.lsp.cobol.core.engine.pipeline.Stage;
+import org.eclipse.lsp.cobol.core.engine.pipeline.stages.*;
+import org.eclipse.lsp.cobol.core.engine.processor.AstProcessor;
+import org.eclipse.lsp.cobol.core.engine.symbols.SymbolsRepository;
+import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
+import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessorImpl;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.GrammarPreprocessor;
+import org.eclipse.lsp.cobol.domain.modules.DatabusModule;
+import org.eclipse.lsp.cobol.dialects.daco.DaCoDialect;
+import org.eclipse.lsp.cobol.dialects.idms.IdmsDialect;
+import org.eclipse.lsp.cobol.domain.modules.EngineModule;
+import org.eclipse.lsp.cobol.lsp.jrpc.CobolLanguageClient;
+import org.eclipse.lsp.cobol.service.SubroutineServiceImpl;
+import org.eclipse.lsp.cobol.service.WatcherService;
+import org.eclipse.lsp.cobol.service.WatcherServiceImpl;
+import org.eclipse.lsp.cobol.service.copybooks.CopybookServiceImpl;
+import org.eclipse.lsp.cobol.service.delegates.actions.CodeActions;
+import org.eclipse.lsp.cobol.service.delegates.actions.FindCopybookCommand;
+import org.eclipse.lsp.cobol.service.delegates.completions.CompletionStorage;
+import org.eclipse.lsp.cobol.service.delegates.completions.Keywords;
+import org.eclipse.lsp.cobol.service.delegates.validations.CobolLanguageEngineFacade;
+import org.eclipse.lsp.cobol.service.settings.CachingConfigurationService;
+import org.eclipse.lsp.cobol.service.settings.SettingsService;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.inject.multibindings.Multibinder.newSetBinder;
+import static com.google.inject.name.Names.named;
+import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.DIALECTS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The language engine wired the same way the server does it. The client is replaced with a stub
+ * that resolves copybooks from the corpus, so copybook resolving doesn't wait for anything, and the
+ * settings enable all the dialects for the keyword completion. Besides
+ * the full analysis, the engine can run the pipeline stage by stage, so a benchmark can prepare the
+ * input of the stage it measures.
+ */
+public class BenchmarkEngine {
+  private final Injector injector;
+  private final List<Stage<?, ?>> stages;
+
+  public BenchmarkEngine(Map<String, Path> copybooks) {
+    injector = createInjector(createClient(copybooks), createSettingsService());
+    stages = createStages();
+  }
+
+  /**
+   * Get an engine component
+   *
+   * @param type the component type
+   * @param <T> the component type
+   * @return the component instance
+   */
+  public <T> T getInstance(Class<T> type) {
+    return injector.getInstance(type);
+  }
+
+  /**
+   * Get an engine component bound with an annotation
+   *
+   * @param key the component key
+   * @param <T> the component type
+   * @return the component instance
+   */
+  public <T> T getInstance(Key<T> key) {
+    return injector.getInstance(key);
+  }
+
+  /**
+   * Run the whole analysis of the program
+   *
+   * @param program the program to analyze
+   * @param text the program text
+   * @return the analysis result
+   */
+  public AnalysisResult analyze(Program program, String text) {
+    return getInstance(CobolLanguageEngine.class).run(program.getUri(), text, program.getAnalysisConfig());
+  }
+
+  /**
+   * Clean up the text and create the analysis context the pipeline starts with
+   *
+   * @param uri the document URI
+   * @param text the document text
+   * @param config the analysis configuration
+   * @return the analysis context
+   */
+  public AnalysisContext createContext(String uri, String text, AnalysisConfig config) {
+    ResultWithErrors<ExtendedText> cleanText = getInstance(TextPreprocessor.class).cleanUpCode(uri, text);
+    AnalysisContext context = new AnalysisContext(new ExtendedDocument(cleanText.getResult(), text), config);
+    context.getAccumulatedErrors().addAll(cleanText.getErrors());
+    return context;
+  }
+
+  /**
+   * Run the pipeline stages that precede the given one
+   *
+   * @param context the analysis context
+   * @param stageType the type of the stage to stop before
+   * @return the result of the last executed stage, that is the input of the given stage
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public PipelineResult<?> runBefore(AnalysisContext context, Class<? extends Stage> stageType) {
+    PipelineResult<?> result = PipelineResult.empty();
+    for (Stage stage : stages) {
+      if (stageType.isInstance(stage)) {
+        return result;
+      }
+      result = stage.run(context, result);
+    }
+    throw new IllegalArgumentException("Unknown stage " + stageType.getName());
+  }
+
+  /**
+   * Run one pipeline stage
+   *
+   * @param context the analysis context
+   * @param stageType the type of the stage to run
+   * @param input the result of the preceding stage
+   * @return the stage result
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public PipelineResult<?> runStage(AnalysisContext context, Class<? extends Stage> stageType, PipelineResult<?> input) {
+    Stage stage = stages.stream()
+        .filter(stageType::isInstance)
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown stage " + stageType.getName()));
+    return stage.run(context, input);
+  }
+
+  /**
+   * Create the stages in the same order as {@link CobolLanguageEngine} does
+   *
+   * @return the pipeline stages
+   */
+  private List<Stage<?, ?>> createStages() {
+    MessageService messageService = getInstance(MessageService.class);
+    DialectService dialectService = getInstance(DialectService.class);
+    return ImmutableList.of(
+        new CompilerDirectivesStage(messageService),
+        new CopybookPrefetchStage(dialectService, getInstance(CopybookService.class)),
+        new DialectProcessingStage(dialectService),
+        new PreprocessorStage(getInstance(GrammarPreprocessor.class)),
+        new ImplicitDialectProcessingStage(dialectService),
+        new ParserStage(messageService, getInstance(ParseTreeListener.class)),
+        new TransformTreeStage(getInstance(SymbolsRepository.class), messageService, getInstance(SubroutineService.class),
+            getInstance(CachingConfigurationService.class), dialectService, getInstance(AstProcessor.class)));
+  }
+
+  private static CobolLanguageClient createClient(Map<String, Path> copybooks) {
+    CobolLanguageClient client = mock(CobolLanguageClient.class);
+    when(client.resolveCopybook(anyString(), anyString(), anyString()))
+        .thenAnswer(invocation -> CompletableFuture.completedFuture(
+            Optional.ofNullable(copybooks.get(invocation.getArgument(1, String.class).toUpperCase(Locale.ROOT)))
+                .map(file -> file.toUri().toString())
+                .orElse(null)));
+    return client;
+  }
+
+  private static SettingsService createSettingsService() {
+    SettingsService settingsService = mock(SettingsService.class);
+    when(settingsService.fetchConfiguration(any()))
+        .thenReturn(CompletableFuture.completedFuture(ImmutableList.of()));
+    when(settingsService.fetchTextConfiguration(DIALECTS.label))
+        .thenReturn(CompletableFuture.completedFuture(ImmutableList.of(IdmsDialect.NAME, DaCoDialect.NAME)));
+    return settingsService;
+  }
+
+  private static Injector createInjector(CobolLanguageClient client, SettingsService settingsService) {
+    return Guice.createInjector(
+        new EngineModule(),
+        new DatabusModule(),
+        new AbstractModule() {
+          @Override
+          protected void configure() {
+            bind(LanguageEngineFacade.class).to(CobolLanguageEngineFacade.class);
+            bind(CopybookService.class).to(CopybookServiceImpl.class);
+            bind(SettingsService.class).toInstance(settingsService);
+            bind(FileSystemService.class).toInstance(new WorkspaceFileService());
+            bind(CobolLanguageClient.class).toInstance(client);
+            bind(SubroutineService.class).to(SubroutineServiceImpl.class);
+            bind(TextPreprocessor.class).to(TextPreprocessorImpl.class);
+            bind(CleanerPreprocessor.class).to(TextPreprocessorImpl.class);
+            bind(WatcherService.class).to(WatcherServiceImpl.class);
+            bind(DialectDiscoveryService.class).to(BenchmarkDialectDiscoveryService.class);
+            bind(CodeActions.class);
+            bind(CompletionStorage.class).annotatedWith(named("Keywords")).to(Keywords.class);
+            Multibinder<CodeActionProvider> codeActionBinding = newSetBinder(binder(), CodeActionProvider.class);
+            codeActionBinding.addBinding().to(FindCopybookCommand.class);
+          }
+        });
+  }
+}
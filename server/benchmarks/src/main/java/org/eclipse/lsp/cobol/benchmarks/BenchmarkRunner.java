@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Runs the benchmarks with the GC profiler and compares the results with the baseline stored in
+ * the repository. The arguments are regular expressions that select the benchmarks to run, all of
+ * them run by default. With <code>--update-baseline</code> the results replace the baseline.
+ *
+ * <p>The baseline keeps only the score, the error and the allocation of each benchmark, so it
+ * doesn't depend on the machine it was recorded on. A benchmark is a regression when it is slower
+ * or allocates more than the baseline by more than the errors of both measurements.
+ *
+ * <p>The baseline location is taken from the <code>benchmarks.baseline</code> system property,
+ * <code>baseline/benchmarks.json</code> of the working directory by default.
+ */
+@UtilityClass
+public class BenchmarkRunner {
+  public static final String BASELINE_PROPERTY = "benchmarks.baseline";
+  private static final String UPDATE_BASELINE = "--update-baseline";
+  private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+  private static final Path RESULT = Paths.get("target", "jmh-result.json");
+  private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+  /**
+   * Run the benchmarks
+   *
+   * @param args the benchmark patterns and the options
+   * @throws RunnerException if the benchmarks fail
+   * @throws IOException if the results can't be read or written
+   */
+  public static void main(String[] args) throws RunnerException, IOException {
+    List<String> arguments = new ArrayList<>(Arrays.asList(args));
+    boolean updateBaseline = arguments.remove(UPDATE_BASELINE);
+    Files.createDirectories(RESULT.getParent());
+
+    ChainedOptionsBuilder options = new OptionsBuilder()
+        .addProfiler(GCProfiler.class)
+        .resultFormat(ResultFormatType.JSON)
+        .result(RESULT.toString())
+        .jvmArgsAppend("-D" + Corpus.CORPUS_PROPERTY + "=" + Corpus.root());
+    if (arguments.isEmpty()) {
+      options.include(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark");
+    } else {
+      arguments.forEach(options::include);
+    }
+    new Runner(options.build()).run();
+
+    Path baseline = Paths.get(System.getProperty(BASELINE_PROPERTY, Paths.get("baseline", "benchmarks.json").toString()));
+    Map<String, Score> current = readResults(RESULT);
+    if (updateBaseline) {
+      Files.createDirectories(baseline.toAbsolutePath().getParent());
+      try (Writer writer = Files.newBufferedWriter(baseline, StandardCharsets.UTF_8)) {
+        GSON.toJson(new Baseline(System.getProperty("java.version"), current), writer);
+      }
+      System.out.println("The baseline is updated: " + baseline.toAbsolutePath());
+    } else if (Files.exists(baseline)) {
+      compare(readBaseline(baseline), current);
+    } else {
+      System.out.println("No baseline found at " + baseline.toAbsolutePath() + ", run with " + UPDATE_BASELINE
+          + " to record it");
+    }
+  }
+
+  private static void compare(Baseline baseline, Map<String, Score> current) {
+    System.out.printf("%nThe baseline was recorded on Java %s, this run is on Java %s%n",
+        baseline.getJava(), System.getProperty("java.version"));
+    System.out.printf("%n%-100s %12s %12s %8s %8s %14s %14s %8s %8s%n", "Benchmark",
+        "Baseline", "Current", "Change", "Error", "Baseline B/op", "Current B/op", "Change", "Error");
+    int regressions = 0;
+    for (Map.Entry<String, Score> entry : current.entrySet()) {
+      Score before = baseline.getBenchmarks().get(entry.getKey());
+      if (before == null) {
+        continue;
+      }
+      Score after = entry.getValue();
+      double timeError = before.getTimeError() + after.getTimeError();
+      double allocationError = before.getAllocationError() + after.getAllocationError();
+      boolean regression = after.getTime() - before.getTime() > timeError
+          || after.getAllocation() - before.getAllocation() > allocationError;
+      if (regression) {
+        regressions++;
+      }
+      System.out.printf("%-100s %12.3f %12.3f %+7.1f%% %7.1f%% %14.0f %14.0f %+7.1f%% %7.1f%%%s%n",
+          entry.getKey(), before.getTime(), after.getTime(), percent(after.getTime() - before.getTime(), before.getTime()),
+          percent(timeError, before.getTime()), before.getAllocation(), after.getAllocation(),
+          percent(after.getAllocation() - before.getAllocation(), before.getAllocation()),
+          percent(allocationError, before.getAllocation()), regression ? " REGRESSION" : "");
+    }
+    System.out.printf("%n%d of %d benchmarks are slower or allocate more than the baseline beyond the error%n",
+        regressions, current.size());
+  }
+
+  private static double percent(double value, double base) {
+    return base == 0 ? 0 : value / base * 100;
+  }
+
+  private static Baseline readBaseline(Path file) throws IOException {
+    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return GSON.fromJson(reader, Baseline.class);
+    }
+  }
+
+  private static Map<String, Score> readResults(Path file) throws IOException {
+    Map<String, Score> scores = new LinkedHashMap<>();
+    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      JsonArray results = GSON.fromJson(reader, JsonArray.class);
+      for (JsonElement element : results) {
+        JsonObject result = element.getAsJsonObject();
+        JsonObject time = result.getAsJsonObject("primaryMetric");
+        Optional<JsonObject> allocation = findAllocation(result);
+        scores.put(toKey(result), new Score(
+            time.get("scoreUnit").getAsString(),
+            time.get("score").getAsDouble(),
+            readError(time),
+            allocation.map(it -> it.get("score").getAsDouble()).orElse(0.0),
+            allocation.map(BenchmarkRunner::readError).orElse(0.0)));
+      }
+    }
+    return scores;
+  }
+
+  private static String toKey(JsonObject result) {
+    StringBuilder key = new StringBuilder(result.get("benchmark").getAsString());
+    Map<String, String> params = new TreeMap<>();
+    Optional.ofNullable(result.getAsJsonObject("params"))
+        .ifPresent(it -> it.entrySet().forEach(param -> params.put(param.getKey(), param.getValue().getAsString())));
+    params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+    return key.toString();
+  }
+
+  // JMH versions differ in the prefix of the profiler metrics, so the allocation is found by the suffix
+  private static Optional<JsonObject> findAllocation(JsonObject result) {
+    return Optional.ofNullable(result.getAsJsonObject("secondaryMetrics"))
+        .flatMap(metrics -> metrics.entrySet().stream()
+            .filter(metric -> metric.getKey().endsWith(ALLOCATION_METRIC))
+            .map(metric -> metric.getValue().getAsJsonObject())
+            .findFirst());
+  }
+
+  // JMH reports no error, i.e. NaN, when there are too few measurements
+  private static double readError(JsonObject metric) {
+    JsonElement error = metric.get("scoreError");
+    if (error == null || !error.isJsonPrimitive() || !error.getAsJsonPrimitive().isNumber()) {
+      return 0;
+    }
+    double value = error.getAsDouble();
+    return Double.isNaN(value) ? 0 : value;
+  }
+
+  /** The stored baseline: the Java version it was recorded on and the scores by benchmark */
+  @Value
+  private static class Baseline {
+    String java;
+    Map<String, Score> benchmarks;
+  }
+
+  /** The average time and the normalized allocation of one benchmark with their errors */
+  @Value
+  private static class Score {
+    String unit;
+    double time;
+    double timeError;
+    double allocation;
+    double allocationError;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import org.eclipse.lsp.cobol.common.SubroutineService;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
+import org.eclipse.lsp.cobol.core.engine.pipeline.stages.ParserStageResult;
+import org.eclipse.lsp.cobol.core.engine.pipeline.stages.TransformTreeStage;
+import org.eclipse.lsp.cobol.core.visitor.CobolVisitor;
+import org.eclipse.lsp.cobol.service.settings.CachingConfigurationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of the parse tree into the syntax tree alone. The visitor doesn't change
+ * the parse tree, so one parsing result is shared by all the invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class CobolVisitorBenchmark {
+  @Param({"NIST_NC2184", "CARDDEMO_COACTUPC", "GENAPP_LGACDB01"})
+  private Program program;
+
+  private AnalysisContext context;
+  private ParserStageResult parsed;
+  private MessageService messageService;
+  private SubroutineService subroutineService;
+  private CachingConfigurationService configurationService;
+
+  /** Run the pipeline up to the parser */
+  @Setup
+  public void setUp() {
+    BenchmarkEngine engine = new BenchmarkEngine(program.getCopybooks());
+    context = engine.createContext(program.getUri(), program.getText(), program.getAnalysisConfig());
+    parsed = (ParserStageResult) engine.runBefore(context, TransformTreeStage.class).getData();
+    messageService = engine.getInstance(MessageService.class);
+    subroutineService = engine.getInstance(SubroutineService.class);
+    configurationService = engine.getInstance(CachingConfigurationService.class);
+  }
+
+  /**
+   * Build the syntax tree from the parse tree
+   *
+   * @return the syntax tree
+   */
+  @Benchmark
+  public List<Node> visit() {
+    CobolVisitor visitor = new CobolVisitor(context.getCopybooksRepository(), parsed.getTokens(),
+        context.getExtendedDocument(), messageService, subroutineService, configurationService);
+    return visitor.visit(parsed.getTree());
+  }
+}
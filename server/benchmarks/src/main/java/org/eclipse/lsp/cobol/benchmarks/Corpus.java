@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Access to the COBOL sources in tests/test_files. The location is taken from the
+ * <code>benchmarks.corpus</code> system property, otherwise it is searched from the working
+ * directory upwards.
+ */
+@UtilityClass
+public class Corpus {
+  public static final String CORPUS_PROPERTY = "benchmarks.corpus";
+  private static final Path CORPUS_FOLDER = Paths.get("tests", "test_files");
+
+  /**
+   * Find the root folder of the corpus
+   *
+   * @return the absolute path of the corpus
+   */
+  public Path root() {
+    return Optional.ofNullable(System.getProperty(CORPUS_PROPERTY))
+        .map(Paths::get)
+        .orElseGet(Corpus::findRoot)
+        .toAbsolutePath()
+        .normalize();
+  }
+
+  /**
+   * Read a source file of the corpus
+   *
+   * @param relativePath the path of the file relative to the corpus root
+   * @return the file content
+   */
+  @SneakyThrows(IOException.class)
+  public String read(String relativePath) {
+    return new String(Files.readAllBytes(root().resolve(relativePath)), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Get the URI of a source file of the corpus
+   *
+   * @param relativePath the path of the file relative to the corpus root
+   * @return the file URI
+   */
+  public String toUri(String relativePath) {
+    return root().resolve(relativePath).toUri().toString();
+  }
+
+  /**
+   * Collect the copybooks of the given corpus folder. The copybooks are found by name without
+   * extension, ignoring the case, the same way the client resolves them.
+   *
+   * @param relativeFolder the path of the copybook folder relative to the corpus root
+   * @return the copybook files by the upper-case name
+   */
+  @SneakyThrows(IOException.class)
+  public Map<String, Path> copybooks(String relativeFolder) {
+    Map<String, Path> copybooks = new HashMap<>();
+    Path folder = root().resolve(relativeFolder);
+    if (!Files.isDirectory(folder)) {
+      return copybooks;
+    }
+    try (Stream<Path> files = Files.list(folder)) {
+      files.filter(Files::isRegularFile).forEach(file -> copybooks.putIfAbsent(toCopybookName(file), file));
+    }
+    return copybooks;
+  }
+
+  private String toCopybookName(Path file) {
+    String name = file.getFileName().toString();
+    int extension = name.lastIndexOf('.');
+    return (extension > 0 ? name.substring(0, extension) : name).toUpperCase(Locale.ROOT);
+  }
+
+  private Path findRoot() {
+    for (Path dir = Paths.get("").toAbsolutePath(); dir != null; dir = dir.getParent()) {
+      Path candidate = dir.resolve(CORPUS_FOLDER);
+      if (Files.isDirectory(candidate)) {
+        return candidate;
+      }
+    }
+    throw new IllegalStateException(
+        "Cannot find " + CORPUS_FOLDER + ", provide its location with -D" + CORPUS_PROPERTY);
+  }
+}
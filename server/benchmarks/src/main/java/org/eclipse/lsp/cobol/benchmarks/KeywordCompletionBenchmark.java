@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+import org.eclipse.lsp.cobol.service.delegates.completions.CompletionStorage;
+import org.eclipse.lsp.cobol.service.delegates.completions.KeywordCompletion;
+import org.eclipse.lsp4j.CompletionItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link KeywordCompletion} with all the dialects enabled, that is the COBOL keywords
+ * together with the IDMS and DaCo ones. The prefixes go from an empty token, that returns all the
+ * keywords, to a complete keyword. The storage is loaded once, so a completion request only
+ * searches it, and the reload after the settings change is measured separately.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class KeywordCompletionBenchmark {
+  @Param({"", "M", "MO", "MOVE", "OBTAIN"})
+  private String prefix;
+
+  private CompletionStorage<?> keywords;
+  private KeywordCompletion completion;
+
+  /** Create the keyword storage with all the dialects and load it */
+  @Setup
+  public void setUp() {
+    BenchmarkEngine engine = new BenchmarkEngine(ImmutableMap.of());
+    keywords = engine.getInstance(Key.get(CompletionStorage.class, Names.named("Keywords")));
+    keywords.updateStorage();
+    completion = engine.getInstance(KeywordCompletion.class);
+    completion.getCompletionItems(prefix, null);
+  }
+
+  /**
+   * Complete the prefix
+   *
+   * @return the completion items
+   */
+  @Benchmark
+  public Collection<CompletionItem> complete() {
+    return completion.getCompletionItems(prefix, null);
+  }
+
+  /**
+   * Complete the prefix right after the settings changed, so the keywords are loaded again
+   *
+   * @return the completion items
+   */
+  @Benchmark
+  public Collection<CompletionItem> completeAfterSettingsChange() {
+    keywords.updateStorage();
+    return completion.getCompletionItems(prefix, null);
+  }
+}
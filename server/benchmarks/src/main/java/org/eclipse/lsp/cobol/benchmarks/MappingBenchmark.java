@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import org.eclipse.lsp.cobol.common.mapping.ExtendedDocument;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
+import org.eclipse.lsp.cobol.core.engine.pipeline.stages.ParserStage;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ExtendedDocument#mapLocation(Range)}, that every node of the syntax tree and
+ * every diagnostic goes through. The document is taken right before the parser, so it contains
+ * the copybooks and the dialect changes, and a range is mapped for each of its lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class MappingBenchmark {
+  @Param
+  private Program program;
+
+  private ExtendedDocument document;
+  private List<Range> ranges;
+
+  /** Run the pipeline up to the parser and prepare the ranges of all the lines */
+  @Setup
+  public void setUp() {
+    BenchmarkEngine engine = new BenchmarkEngine(program.getCopybooks());
+    AnalysisContext context = engine.createContext(program.getUri(), program.getText(), program.getAnalysisConfig());
+    engine.runBefore(context, ParserStage.class);
+    document = context.getExtendedDocument();
+    document.commitTransformations();
+    String[] lines = document.toString().split("\n", -1);
+    ranges = new ArrayList<>(lines.length);
+    for (int i = 0; i < lines.length; i++) {
+      ranges.add(new Range(new Position(i, 0), new Position(i, Math.max(lines[i].length() - 1, 0))));
+    }
+  }
+
+  /**
+   * Map every line of the document
+   *
+   * @param blackhole consumes the locations
+   */
+  @Benchmark
+  public void mapLines(Blackhole blackhole) {
+    for (Range range : ranges) {
+      blackhole.consume(document.mapLocation(range));
+    }
+  }
+}
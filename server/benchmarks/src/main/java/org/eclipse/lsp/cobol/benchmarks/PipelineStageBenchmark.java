@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
+import org.eclipse.lsp.cobol.core.engine.pipeline.PipelineResult;
+import org.eclipse.lsp.cobol.core.engine.pipeline.Stage;
+import org.eclipse.lsp.cobol.core.engine.pipeline.stages.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one stage of the analysis pipeline. The stages before it run in the invocation set-up,
+ * because the stages change the document and the analysis context, so their input can't be reused.
+ * Every stage takes milliseconds, so the set-up doesn't distort the measurement.
+ *
+ * <p>The stages cover {@link org.eclipse.lsp.cobol.core.preprocessor.delegates.GrammarPreprocessorImpl}
+ * with the replacing, the explicit and the implicit dialects, {@link
+ * org.eclipse.lsp.cobol.core.SplitParser} and the syntax tree transformation, that is
+ * {@link org.eclipse.lsp.cobol.core.visitor.CobolVisitor} together with {@link
+ * org.eclipse.lsp.cobol.core.engine.processor.AstProcessor}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class PipelineStageBenchmark {
+  /** The measured pipeline stages */
+  @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+  public enum PipelineStage {
+    DIALECTS(DialectProcessingStage.class),
+    PREPROCESSING(PreprocessorStage.class),
+    IMPLICIT_DIALECTS(ImplicitDialectProcessingStage.class),
+    PARSING(ParserStage.class),
+    TRANSFORM_TREE(TransformTreeStage.class);
+
+    @SuppressWarnings("rawtypes")
+    private final Class<? extends Stage> type;
+  }
+
+  @Param
+  private Program program;
+
+  @Param
+  private PipelineStage stage;
+
+  private BenchmarkEngine engine;
+  private String text;
+  private AnalysisContext context;
+  private PipelineResult<?> input;
+
+  /** Create the engine and read the program */
+  @Setup(Level.Trial)
+  public void setUp() {
+    engine = new BenchmarkEngine(program.getCopybooks());
+    text = program.getText();
+  }
+
+  /** Run the stages that precede the measured one */
+  @Setup(Level.Invocation)
+  public void prepareInput() {
+    context = engine.createContext(program.getUri(), text, program.getAnalysisConfig());
+    input = engine.runBefore(context, stage.type);
+  }
+
+  /**
+   * Run the measured stage
+   *
+   * @return the stage result
+   */
+  @Benchmark
+  public PipelineResult<?> runStage() {
+    return engine.runStage(context, stage.type, input);
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.eclipse.lsp.cobol.common.AnalysisConfig;
+import org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode;
+import org.eclipse.lsp.cobol.common.copybook.SQLBackend;
+import org.eclipse.lsp.cobol.dialects.daco.DaCoDialect;
+import org.eclipse.lsp.cobol.dialects.idms.IdmsDialect;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The programs of the corpus the benchmarks run on. Each one covers a different part of the
+ * engine: plain COBOL with many copybooks, implicit CICS and Db2 code, and the IDMS and DaCo
+ * dialects.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public enum Program {
+  NIST_NC2184(
+      "Cobol85PositiveTestsSuite/positive/NC2184.2.cbl",
+      ImmutableList.of("Cobol85PositiveTestsSuite/copybooks"),
+      ImmutableList.of()),
+  CARDDEMO_COACTUPC(
+      "aws-mainframe-modernization-carddemo/positive/COACTUPC.cbl",
+      ImmutableList.of("aws-mainframe-modernization-carddemo/copybooks"),
+      ImmutableList.of()),
+  GENAPP_LGACDB01(
+      "cicsGenApp/positive/lgacdb01.cbl",
+      ImmutableList.of("cicsGenApp/copybooks"),
+      ImmutableList.of()),
+  IDMS_SAMPLE(
+      "project/cobol-idms/IDMSSMPL.cbl",
+      ImmutableList.of("project/copy-idms"),
+      ImmutableList.of(IdmsDialect.NAME)),
+  DACO_SAMPLE(
+      "project/cobol-daco/DACOSMPL.cbl",
+      ImmutableList.of("project/copy-daco", "project/copy-idms"),
+      ImmutableList.of(DaCoDialect.NAME, IdmsDialect.NAME));
+
+  private static final List<String> DACO_PREDEFINED_SECTIONS =
+      ImmutableList.of("S930", "S940", "S950", "S990", "S991", "S997", "S999");
+
+  private final String path;
+  private final List<String> copybookFolders;
+  private final List<String> dialects;
+
+  /**
+   * Read the program text from the corpus
+   *
+   * @return the program text
+   */
+  public String getText() {
+    return Corpus.read(path);
+  }
+
+  /**
+   * Get the URI of the program in the corpus
+   *
+   * @return the program URI
+   */
+  public String getUri() {
+    return Corpus.toUri(path);
+  }
+
+  /**
+   * Collect the copybooks the program may use
+   *
+   * @return the copybook files by the upper-case name
+   */
+  public Map<String, Path> getCopybooks() {
+    Map<String, Path> copybooks = new HashMap<>();
+    copybookFolders.forEach(folder -> Corpus.copybooks(folder).forEach(copybooks::putIfAbsent));
+    return copybooks;
+  }
+
+  /**
+   * Create the analysis configuration with the program dialects and the default dialect settings
+   *
+   * @return the analysis configuration
+   */
+  public AnalysisConfig getAnalysisConfig() {
+    Gson gson = new Gson();
+    ImmutableMap.Builder<String, JsonElement> settings = ImmutableMap.<String, JsonElement>builder()
+        .put("target-sql-backend", gson.toJsonTree(SQLBackend.DB2_SERVER));
+    if (dialects.contains(DaCoDialect.NAME)) {
+      settings.put(DaCoDialect.DACO_PREDEFINED_SECTIONS, gson.toJsonTree(DACO_PREDEFINED_SECTIONS));
+    }
+    return new AnalysisConfig(CopybookProcessingMode.ENABLED, dialects, true, ImmutableList.of(), settings.build());
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedDocument;
+import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplaceData;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplacingService;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Measures {@link org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplacingServiceImpl}
+ * applying a growing number of full-token patterns to the whole program, as COPY REPLACING and
+ * REPLACE statements do. The replaceable tokens are the words of the program itself, so every
+ * pattern has matches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ReplacingBenchmark {
+  private static final Pattern WORD = Pattern.compile("\\b[A-Z][A-Z0-9-]*[A-Z0-9]\\b");
+
+  @Param({"NIST_NC2184", "CARDDEMO_COACTUPC", "GENAPP_LGACDB01"})
+  private Program program;
+
+  @Param({"1", "10", "100"})
+  private int patternCount;
+
+  private ReplacingService replacingService;
+  private String text;
+  private ReplaceData replaceData;
+  private ExtendedDocument document;
+
+  /** Clean up the program and build the replacing patterns from its words */
+  @Setup(Level.Trial)
+  public void setUp() {
+    BenchmarkEngine engine = new BenchmarkEngine(program.getCopybooks());
+    replacingService = engine.getInstance(ReplacingService.class);
+    text = engine.getInstance(TextPreprocessor.class)
+        .cleanUpCode(program.getUri(), program.getText())
+        .getResult()
+        .toString();
+    List<Pair<String, String>> patterns = collectWords(text).stream()
+        .limit(patternCount)
+        .map(word -> replacingService.retrieveTokenReplacingPattern(word + " BY " + word + "-R"))
+        .collect(Collectors.toList());
+    int lineCount = text.split("\n", -1).length;
+    replaceData = new ReplaceData(patterns, program.getUri(),
+        new Range(new Position(0, 0), new Position(lineCount, 0)));
+  }
+
+  /** Create a new document, because the replacing changes it */
+  @Setup(Level.Invocation)
+  public void createDocument() {
+    document = new ExtendedDocument(text, program.getUri());
+  }
+
+  /**
+   * Apply the patterns to the document
+   *
+   * @return the changed document
+   */
+  @Benchmark
+  public ExtendedDocument applyReplacing() {
+    replacingService.applyReplacing(document, replaceData);
+    return document;
+  }
+
+  private static Set<String> collectWords(String text) {
+    Set<String> words = new LinkedHashSet<>();
+    Matcher matcher = WORD.matcher(text);
+    while (matcher.find()) {
+      words.add(matcher.group());
+    }
+    return words;
+  }
+}
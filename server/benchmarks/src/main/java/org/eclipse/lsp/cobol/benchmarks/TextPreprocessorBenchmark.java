@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.benchmarks;
+
+import org.eclipse.lsp.cobol.common.ResultWithErrors;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedText;
+import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Measures the text clean-up that every analysis and every copybook starts with. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class TextPreprocessorBenchmark {
+  @Param({"NIST_NC2184", "CARDDEMO_COACTUPC", "GENAPP_LGACDB01"})
+  private Program program;
+
+  private TextPreprocessor preprocessor;
+  private String uri;
+  private String text;
+
+  /** Create the engine and read the program */
+  @Setup
+  public void setUp() {
+    preprocessor = new BenchmarkEngine(program.getCopybooks()).getInstance(TextPreprocessor.class);
+    uri = program.getUri();
+    text = program.getText();
+  }
+
+  /**
+   * Clean up the program text
+   *
+   * @return the clean text
+   */
+  @Benchmark
+  public ResultWithErrors<ExtendedText> cleanUpCode() {
+    return preprocessor.cleanUpCode(uri, text);
+  }
+}
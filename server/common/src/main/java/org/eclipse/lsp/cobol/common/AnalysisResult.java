@@ -16,8 +16,11 @@ package org.eclipse.lsp.cobol.common;
 
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.Value;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.model.tree.NodeIndex;
+import org.eclipse.lsp.cobol.common.symbols.CompletionIndex;
 import org.eclipse.lsp.cobol.common.symbols.SymbolTable;
 import org.eclipse.lsp.cobol.common.model.tree.RootNode;
 import org.eclipse.lsp4j.Diagnostic;
@@ -36,4 +39,26 @@ public class AnalysisResult {
   @Builder.Default Map<String, List<Diagnostic>> diagnostics = new HashMap<>();
   @Builder.Default Node rootNode = new RootNode();
   @EqualsAndHashCode.Exclude @Builder.Default Map<String, SymbolTable> symbolTableMap = new HashMap<>();
+  @EqualsAndHashCode.Exclude @ToString.Exclude NodeIndex nodeIndex;
+  @EqualsAndHashCode.Exclude @ToString.Exclude CompletionIndex completionIndex;
+
+  /**
+   * Returns the index of the syntax tree nodes built after the analysis, or a new one if the result
+   * was created without it
+   *
+   * @return the node index of the root node
+   */
+  public NodeIndex getNodeIndex() {
+    return nodeIndex == null ? new NodeIndex(rootNode) : nodeIndex;
+  }
+
+  /**
+   * Returns the index of the names for the completion built after the analysis, or a new one if the
+   * result was created without it
+   *
+   * @return the completion index of the analysed document
+   */
+  public CompletionIndex getCompletionIndex() {
+    return completionIndex == null ? CompletionIndex.build(rootNode, symbolTableMap) : completionIndex;
+  }
 }
@@ -18,6 +18,7 @@ import lombok.NonNull;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Provide API definition to search for copybooks files. The service also caches copybook to reduce
@@ -62,6 +63,26 @@ public interface CopybookService {
    */
   void store(CopybookModel copybookModel, boolean doCleanUp);
 
+  /**
+   * Resolve the given copybooks in advance, so the later {@link #resolve} calls take them from the cache.
+   * All the copybooks are requested at once, the copybooks that are not resolved are skipped and left
+   * for the regular resolving.
+   *
+   * @param copybookNames - the names of the copybooks to be resolved
+   * @param programDocumentUri - the currently processing program document
+   * @return a list of resolved copybooks with preprocessed content
+   */
+  List<CopybookModel> prefetch(@NonNull Collection<CopybookName> copybookNames, @NonNull String programDocumentUri);
+
+  /**
+   * Clean up the changed copybook content in advance. The programs that use the copybook take the
+   * cleaned text from the cache, so the content is cleaned up once and not by every program.
+   *
+   * @param copybookUri - the URI of the changed copybook
+   * @param content - the new raw content of the copybook
+   */
+  void preprocess(@NonNull String copybookUri, @NonNull String content);
+
   /**
    * Send downloading requests to the Client for copybooks not presented locally, if any.
    *
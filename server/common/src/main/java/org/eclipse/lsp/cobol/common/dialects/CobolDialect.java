@@ -21,6 +21,7 @@ import org.eclipse.lsp.cobol.common.AnalysisConfig;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
 import org.eclipse.lsp.cobol.common.action.CodeActionProvider;
 import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.processor.ProcessorDescription;
 
@@ -132,4 +133,16 @@ public interface CobolDialect {
   default List<CopybookModel> getPredefinedCopybook(AnalysisConfig ctx) {
     return ImmutableList.of();
   }
+
+  /**
+   * Returns the names of the copybooks used by the dialect specific statements of the given text. The
+   * result is used only to resolve copybooks in advance, so the dialect may skip statements that it
+   * cannot recognize without parsing.
+   *
+   * @param text the text to search copybook statements in
+   * @return a list of copybook names
+   */
+  default List<CopybookName> findCopybooks(String text) {
+    return ImmutableList.of();
+  }
 }
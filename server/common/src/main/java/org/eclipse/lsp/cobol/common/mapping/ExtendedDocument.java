@@ -19,6 +19,8 @@ import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 
+import java.util.List;
+
 /**
  * Extended document class
  */
@@ -80,7 +82,7 @@ public class ExtendedDocument {
    * @param copybook - a copybook extended text
    */
   public void insertCopybook(Range copyStatementRange, ExtendedText copybook) {
-    copyStatementRange = updateRangeDueToChanges(copyStatementRange);
+    copyStatementRange = updateRangeDueToChanges(copyStatementRange, new int[1]);
     currentText.insert(copyStatementRange, copybook);
     dirty = true;
   }
@@ -91,7 +93,7 @@ public class ExtendedDocument {
    * @param copybook - a copybook extended text
    */
   public void insertCopybookWithPadding(Range copyStatementRange, ExtendedText copybook) {
-    copyStatementRange = updateRangeDueToChanges(copyStatementRange);
+    copyStatementRange = updateRangeDueToChanges(copyStatementRange, new int[1]);
     currentText.insertWithPadding(copyStatementRange, copybook);
     dirty = true;
   }
@@ -102,7 +104,7 @@ public class ExtendedDocument {
    * @param copybook - a copybook extended text
    */
   public void insertCopybook(int line, ExtendedText copybook) {
-    int updatedLine = updateLineDueToChanges(line);
+    int updatedLine = updateLineDueToChanges(line, new int[1]);
     currentText.insert(updatedLine, copybook, new Location(currentText.getUri(), new Range(new Position(line, 0), new Position(line, 0))));
     dirty = true;
   }
@@ -113,9 +115,20 @@ public class ExtendedDocument {
    * @param newText - a new text
    */
   public void replace(Range range, String newText) {
-    Range updatedRange = updateRangeDueToChanges(range);
-    currentText.replace(updatedRange, newText, mapLocation(range));
-    dirty = true;
+    replace(range, newText, new int[1]);
+  }
+
+  /**
+   * Replaces all the given ranges of text with the same new text. The ranges are expected in the
+   * document order, so the line shift found for a range is likely valid for the next one.
+   * @param ranges - ranges of text to replace
+   * @param newText - a new text
+   */
+  public void replaceAll(List<Range> ranges, String newText) {
+    int[] lineShift = new int[1];
+    for (Range range : ranges) {
+      replace(range, newText, lineShift);
+    }
   }
 
   /**
@@ -123,7 +136,7 @@ public class ExtendedDocument {
    * @param range - a range of text
    */
   public void clear(Range range) {
-    range = updateRangeDueToChanges(range);
+    range = updateRangeDueToChanges(range, new int[1]);
     currentText.clear(range);
     dirty = true;
   }
@@ -133,33 +146,50 @@ public class ExtendedDocument {
     return baseText.toString();
   }
 
-  private Range updateRangeDueToChanges(Range range) {
+  private void replace(Range range, String newText, int[] lineShift) {
+    Range updatedRange = updateRangeDueToChanges(range, lineShift);
+    currentText.replace(updatedRange, newText, mapLocation(range));
+    dirty = true;
+  }
+
+  private Range updateRangeDueToChanges(Range range, int[] lineShift) {
     if (isDirty()) {
-      range = new Range(updatePositionDueToChanges(range.getStart()), updatePositionDueToChanges(range.getEnd()));
+      range = new Range(updatePositionDueToChanges(range.getStart(), lineShift),
+          updatePositionDueToChanges(range.getEnd(), lineShift));
     }
     return range;
   }
 
-  private int updateLineDueToChanges(int lineNumber) {
+  // lineShift holds the last found shift between the base and the current line numbers, the next lines
+  // of the same call are likely shifted the same
+  private int updateLineDueToChanges(int lineNumber, int[] lineShift) {
     int result = lineNumber;
     if (isDirty()) {
       ExtendedTextLine line = baseText.getLines().get(lineNumber);
-      if (line.getCharacters().size() > 0) {
-        ExtendedTextLine parentLine = line.getCharacters().get(0).getParent();
-        result = currentText.getLines().indexOf(parentLine);
+      if (line.size() > 0) {
+        ExtendedTextLine parentLine = line.getParent(0);
+        List<ExtendedTextLine> currentLines = currentText.getLines();
+        int candidate = lineNumber + lineShift[0];
+        if (candidate >= 0 && candidate < currentLines.size() && currentLines.get(candidate) == parentLine) {
+          return candidate;
+        }
+        result = currentLines.indexOf(parentLine);
+        if (result >= 0) {
+          lineShift[0] = result - lineNumber;
+        }
       }
     }
     return result;
   }
 
-  private Position updatePositionDueToChanges(Position position) {
-    int currentLine = updateLineDueToChanges(position.getLine());
+  private Position updatePositionDueToChanges(Position position, int[] lineShift) {
+    int currentLine = updateLineDueToChanges(position.getLine(), lineShift);
     int currentChar = position.getCharacter();
 
     ExtendedTextLine line = baseText.getLines().get(position.getLine());
     if (position.getCharacter() < line.size()) {
       MappedCharacter character = line.getCharacterAt(position.getCharacter());
-      currentChar = currentText.getLines().get(currentLine).getCharacters().indexOf(character);
+      currentChar = currentText.getLines().get(currentLine).indexOf(character);
       if (currentChar < 0) {
         currentChar = position.getCharacter();
       }
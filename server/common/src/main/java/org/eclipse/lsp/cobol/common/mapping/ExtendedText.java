@@ -22,7 +22,6 @@ import org.eclipse.lsp4j.Range;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Extended Text contains information about original text and current text with the mapping
@@ -99,7 +98,7 @@ public class ExtendedText {
   }
 
   private ExtendedTextLine updateLine(ExtendedTextLine textLine, Location initialLocation) {
-    textLine.getCharacters().forEach(c -> c.getInitialLocationMap().put(uri, initialLocation));
+    textLine.putInitialLocation(uri, initialLocation);
     return textLine;
   }
 
@@ -287,11 +286,6 @@ public class ExtendedText {
       return null;
     }
     int shift = character - (line.size() - 1);
-    character = line.size() - 1;
-    MappedCharacter result = line.getCharacterAt(character);
-    Position originalPos = Optional.ofNullable(result.getOriginalPosition())
-        .map(op -> new Position(op.getLine(), op.getCharacter() + shift))
-        .orElse(null);
-    return new MappedCharacter(result.getCharacter(), originalPos, result.getUri(), result.getParent(), result.getInstantLocation(), result.getInitialLocationMap());
+    return line.getCharacterAt(line.size() - 1).shifted(shift);
   }
 }
@@ -14,29 +14,30 @@
  */
 package org.eclipse.lsp.cobol.common.mapping;
 
-import lombok.Getter;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
 
 /**
- * Extended Text Line with symbols
+ * Extended Text Line with symbols. The line is stored as a table of segments, each segment refers to
+ * a range of characters in a {@link MappedCharacterRun}.
  */
 class ExtendedTextLine {
-  @Getter
-  private final List<MappedCharacter> characters = new ArrayList<>();
+  private static final int INITIAL_CAPACITY = 2;
+
+  private MappedCharacterRun[] runs = new MappedCharacterRun[INITIAL_CAPACITY];
+  private int[] starts = new int[INITIAL_CAPACITY];
+  private int[] ends = new int[INITIAL_CAPACITY];
+  private int segmentCount;
+  private int size;
 
   private ExtendedTextLine() {
   }
 
   ExtendedTextLine(String line, Location instantLocation, String uri) {
-    for (int i = 0; i < line.length(); i++) {
-      char character = line.charAt(i);
-      checkCharacter(character);
-      characters.add(new MappedCharacter(character, null, uri, this, instantLocation, new HashMap<>()));
-    }
+    checkLine(line);
+    addSegment(segmentCount, MappedCharacterRun.instant(line, uri, instantLocation, this), 0, line.length());
   }
 
   ExtendedTextLine(String line, int lineNumber, String uri) {
@@ -44,12 +45,8 @@ class ExtendedTextLine {
   }
 
   ExtendedTextLine(String line, Position start, String uri) {
-    for (int i = 0; i < line.length(); i++) {
-      char character = line.charAt(i);
-      checkCharacter(character);
-      Position position = new Position(start.getLine(), start.getCharacter() + i);
-      characters.add(new MappedCharacter(character, position, uri, this, null, new HashMap<>()));
-    }
+    checkLine(line);
+    addSegment(segmentCount, MappedCharacterRun.of(line, uri, start, this), 0, line.length());
   }
 
   /**
@@ -57,7 +54,7 @@ class ExtendedTextLine {
    * @return the size
    */
   int size() {
-    return characters.size();
+    return size;
   }
 
   /**
@@ -66,14 +63,41 @@ class ExtendedTextLine {
    * @return a character at the given position
    */
   MappedCharacter getCharacterAt(int position) {
-    return characters.get(position);
+    if (position < 0 || position >= size) {
+      throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size);
+    }
+    int segmentStart = 0;
+    for (int i = 0; i < segmentCount; i++) {
+      int length = ends[i] - starts[i];
+      if (position < segmentStart + length) {
+        return new MappedCharacter(runs[i], starts[i] + position - segmentStart);
+      }
+      segmentStart += length;
+    }
+    throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size);
+  }
+
+  /**
+   * Returns the position of the given character in the line
+   * @param character - a character to search
+   * @return the position of the character or -1 if the line doesn't contain it
+   */
+  int indexOf(MappedCharacter character) {
+    int segmentStart = 0;
+    for (int i = 0; i < segmentCount; i++) {
+      if (runs[i] == character.getRun() && starts[i] <= character.getOffset() && character.getOffset() < ends[i]) {
+        return segmentStart + character.getOffset() - starts[i];
+      }
+      segmentStart += ends[i] - starts[i];
+    }
+    return -1;
   }
 
   @Override
   public String toString() {
-    final StringBuilder builder = new StringBuilder();
-    for (MappedCharacter character : characters) {
-      builder.append(character.getCharacter());
+    final StringBuilder builder = new StringBuilder(size);
+    for (int i = 0; i < segmentCount; i++) {
+      runs[i].appendTo(builder, starts[i], ends[i]);
     }
     return builder.toString();
   }
@@ -84,7 +108,7 @@ class ExtendedTextLine {
    * @param end - end position
    */
   void delete(int start, int end) {
-    characters.subList(start, Math.min(characters.size(), end + 1)).clear();
+    remove(start, Math.min(size, end + 1));
   }
 
   /**
@@ -92,8 +116,8 @@ class ExtendedTextLine {
    * @param pos - position to start trimming
    */
   void trim(int pos) {
-    if (pos < characters.size()) {
-      characters.subList(pos, characters.size()).clear();
+    if (pos < size) {
+      remove(pos, size);
     }
   }
 
@@ -103,8 +127,12 @@ class ExtendedTextLine {
    * @param line - Extended Text Line
    */
   void insert(int pos, ExtendedTextLine line) {
-    characters.addAll(pos, line.characters);
-    characters.forEach(c -> c.setParent(this));
+    checkPosition(pos);
+    int index = split(pos);
+    for (int i = 0; i < line.segmentCount; i++) {
+      addSegment(index++, line.runs[i], line.starts[i], line.ends[i]);
+    }
+    adoptCharacters();
   }
 
   /**
@@ -114,12 +142,20 @@ class ExtendedTextLine {
    * @return a new line object
    */
   ExtendedTextLine subline(int start, int end) {
-    List<MappedCharacter> newCharacters = characters.subList(start, end + 1).stream()
-        .map(MappedCharacter::shadowCopy).collect(Collectors.toList());
-
+    checkRange(start, end + 1);
     ExtendedTextLine result = new ExtendedTextLine();
-    result.characters.addAll(newCharacters);
-    result.characters.forEach(c -> c.setParent(result));
+    int segmentStart = 0;
+    for (int i = 0; i < segmentCount; i++) {
+      int length = ends[i] - starts[i];
+      int from = Math.max(start, segmentStart);
+      int to = Math.min(end + 1, segmentStart + length);
+      if (from < to) {
+        int runStart = starts[i] + from - segmentStart;
+        int runEnd = starts[i] + to - segmentStart;
+        result.addSegment(result.segmentCount, runs[i].copy(runStart, runEnd, result), 0, runEnd - runStart);
+      }
+      segmentStart += length;
+    }
     return result;
   }
 
@@ -128,8 +164,10 @@ class ExtendedTextLine {
    * @param line - line that will be added to the end of this line
    */
   void append(ExtendedTextLine line) {
-    characters.addAll(line.characters);
-    characters.forEach(c -> c.setParent(this));
+    for (int i = 0; i < line.segmentCount; i++) {
+      addSegment(segmentCount, line.runs[i], line.starts[i], line.ends[i]);
+    }
+    adoptCharacters();
   }
 
   /**
@@ -138,7 +176,7 @@ class ExtendedTextLine {
    * @param end - end position
    */
   void clear(int start, int end) {
-    characters.subList(start, Math.min(end + 1, characters.size())).forEach(c -> c.setCharacter(' '));
+    replace(start, Math.min(end + 1, size), ' ');
   }
 
   /**
@@ -154,8 +192,11 @@ class ExtendedTextLine {
    */
   ExtendedTextLine shadowCopy() {
     ExtendedTextLine result = new ExtendedTextLine();
-    result.characters.clear();
-    result.characters.addAll(characters);
+    result.runs = Arrays.copyOf(runs, Math.max(segmentCount, INITIAL_CAPACITY));
+    result.starts = Arrays.copyOf(starts, result.runs.length);
+    result.ends = Arrays.copyOf(ends, result.runs.length);
+    result.segmentCount = segmentCount;
+    result.size = size;
     return result;
   }
 
@@ -164,8 +205,8 @@ class ExtendedTextLine {
    * @param character - a padding position
    */
   void addPadding(int character) {
-    for (int i = 0; i < character; i++) {
-      characters.add(0, new MappedCharacter(' ', new Position(0, 0), "", this, null, new HashMap<>()));
+    if (character > 0) {
+      addSegment(0, MappedCharacterRun.padding(character, this), 0, character);
     }
   }
 
@@ -173,9 +214,11 @@ class ExtendedTextLine {
    * Trim spaces from the beginning of the line
    */
   void trim() {
-    while (characters.size() > 0 && characters.get(0).getCharacter() == ' ') {
-      characters.remove(0);
+    int count = 0;
+    while (count < size && getCharacterAt(count).getCharacter() == ' ') {
+      count++;
     }
+    remove(0, count);
   }
 
   /**
@@ -184,13 +227,139 @@ class ExtendedTextLine {
    * @param line - new string
    */
   void replace(int position, String line) {
-    for (char ch : line.toCharArray()) {
-      this.characters.get(position++).setCharacter(ch);
+    if (position < 0 && !line.isEmpty()) {
+      throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size);
+    }
+    int index = 0;
+    int segmentStart = 0;
+    for (int i = 0; i < segmentCount && index < line.length(); i++) {
+      int length = ends[i] - starts[i];
+      for (int pos = Math.max(position + index, segmentStart); pos < segmentStart + length && index < line.length(); pos++) {
+        runs[i].setCharacter(starts[i] + pos - segmentStart, line.charAt(index++));
+      }
+      segmentStart += length;
+    }
+    if (index < line.length()) {
+      throw new IndexOutOfBoundsException("Index: " + (position + index) + ", Size: " + size);
+    }
+  }
+
+  /**
+   * Returns the line that was the last one to take the character at the given position
+   * @param position - position of the character in the line
+   * @return a parent line
+   */
+  ExtendedTextLine getParent(int position) {
+    return getCharacterAt(position).getParent();
+  }
+
+  /**
+   * Stores the initial location of all characters in the line for the text with given uri
+   * @param uri - an uri of the text
+   * @param location - an initial location
+   */
+  void putInitialLocation(String uri, Location location) {
+    for (int i = 0; i < segmentCount; i++) {
+      runs[i].putInitialLocation(starts[i], ends[i], uri, location);
+    }
+  }
+
+  private void replace(int start, int end, char character) {
+    checkRange(start, end);
+    int segmentStart = 0;
+    for (int i = 0; i < segmentCount && segmentStart < end; i++) {
+      int length = ends[i] - starts[i];
+      for (int pos = Math.max(start, segmentStart); pos < Math.min(end, segmentStart + length); pos++) {
+        runs[i].setCharacter(starts[i] + pos - segmentStart, character);
+      }
+      segmentStart += length;
+    }
+  }
+
+  private void adoptCharacters() {
+    for (int i = 0; i < segmentCount; i++) {
+      runs[i].setParent(starts[i], ends[i], this);
+    }
+  }
+
+  private void remove(int start, int end) {
+    checkRange(start, end);
+    if (start == end) {
+      return;
+    }
+    int first = split(start);
+    int last = split(end);
+    int removed = last - first;
+    System.arraycopy(runs, last, runs, first, segmentCount - last);
+    System.arraycopy(starts, last, starts, first, segmentCount - last);
+    System.arraycopy(ends, last, ends, first, segmentCount - last);
+    Arrays.fill(runs, segmentCount - removed, segmentCount, null);
+    segmentCount -= removed;
+    size -= end - start;
+  }
+
+  /**
+   * Splits a segment at the given position, so a segment boundary will be placed there
+   * @param position - a position in the line
+   * @return an index of the segment that starts at the given position
+   */
+  private int split(int position) {
+    int segmentStart = 0;
+    for (int i = 0; i < segmentCount; i++) {
+      if (position == segmentStart) {
+        return i;
+      }
+      int length = ends[i] - starts[i];
+      if (position < segmentStart + length) {
+        int splitOffset = starts[i] + position - segmentStart;
+        int segmentEnd = ends[i];
+        ends[i] = splitOffset;
+        size -= segmentEnd - splitOffset;
+        addSegment(i + 1, runs[i], splitOffset, segmentEnd);
+        return i + 1;
+      }
+      segmentStart += length;
+    }
+    return segmentCount;
+  }
+
+  private void addSegment(int index, MappedCharacterRun run, int start, int end) {
+    if (start == end) {
+      return;
+    }
+    if (segmentCount == runs.length) {
+      int capacity = runs.length * 2;
+      runs = Arrays.copyOf(runs, capacity);
+      starts = Arrays.copyOf(starts, capacity);
+      ends = Arrays.copyOf(ends, capacity);
+    }
+    System.arraycopy(runs, index, runs, index + 1, segmentCount - index);
+    System.arraycopy(starts, index, starts, index + 1, segmentCount - index);
+    System.arraycopy(ends, index, ends, index + 1, segmentCount - index);
+    runs[index] = run;
+    starts[index] = start;
+    ends[index] = end;
+    segmentCount++;
+    size += end - start;
+  }
+
+  private void checkPosition(int position) {
+    if (position < 0 || position > size) {
+      throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size);
+    }
+  }
+
+  private void checkRange(int start, int end) {
+    if (start < 0 || end > size) {
+      throw new IndexOutOfBoundsException("Range: " + start + " - " + end + ", Size: " + size);
+    }
+    if (start > end) {
+      throw new IllegalArgumentException("Range: " + start + " - " + end);
     }
   }
 
-  private void checkCharacter(Character character) {
-    if (character.equals('\n')) {
+  private void checkLine(String line) {
+    if (line.indexOf('\n') >= 0) {
       throw new RuntimeException("Text line contains a new line characters");
     }
   }
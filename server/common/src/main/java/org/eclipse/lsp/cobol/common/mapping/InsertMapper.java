@@ -24,7 +24,7 @@ class InsertMapper implements Mapper {
   @Override
   public Location apply(MappedCharacter startCharacter, MappedCharacter endCharacter) {
     if (startCharacter != null && !startCharacter.getUri().equals(endCharacter.getUri()) && startCharacter.getOriginalPosition() != null) {
-      Location location = endCharacter.getInitialLocationMap().get(startCharacter.getUri());
+      Location location = endCharacter.getInitialLocation(startCharacter.getUri());
       if (location != null) {
         return new Location(startCharacter.getUri(), new Range(startCharacter.getOriginalPosition(), location.getRange().getEnd()));
       }
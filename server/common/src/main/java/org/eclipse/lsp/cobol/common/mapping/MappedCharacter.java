@@ -14,30 +14,67 @@
  */
 package org.eclipse.lsp.cobol.common.mapping;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
-import lombok.Data;
-
+import lombok.Getter;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 
-import java.util.Map;
-import java.util.UUID;
-
 /**
- * Mapped character class with original position information
+ * Mapped character view with original position information. The view is created on demand and refers
+ * to the character stored in a {@link MappedCharacterRun}.
  */
-@Data
-@AllArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
 class MappedCharacter {
-  private final UUID id = UUID.randomUUID();
-  private char character;
-  private Position originalPosition;
-  private String uri;
-  private ExtendedTextLine parent;
-  private Location instantLocation;
-  private Map<String, Location> initialLocationMap;
-
-  MappedCharacter shadowCopy() {
-    return new MappedCharacter(character, originalPosition, uri, parent, instantLocation, initialLocationMap);
+  @Getter(AccessLevel.PACKAGE)
+  private final MappedCharacterRun run;
+  @Getter(AccessLevel.PACKAGE)
+  private final int offset;
+  private final int shift;
+
+  MappedCharacter(MappedCharacterRun run, int offset) {
+    this(run, offset, 0);
+  }
+
+  char getCharacter() {
+    return run.getCharacter(offset);
+  }
+
+  Position getOriginalPosition() {
+    return run.getOriginalPosition(offset, shift);
+  }
+
+  String getUri() {
+    return run.getUri();
+  }
+
+  ExtendedTextLine getParent() {
+    return run.getParent(offset);
+  }
+
+  Location getInstantLocation() {
+    return run.getInstantLocation();
+  }
+
+  Location getInitialLocation(String textUri) {
+    return run.getInitialLocation(offset, textUri);
+  }
+
+  /**
+   * Creates a view of the same character with the original position shifted by the given amount
+   * @param characterShift - a shift of the original character position
+   * @return a new character view
+   */
+  MappedCharacter shifted(int characterShift) {
+    return new MappedCharacter(run, offset, shift + characterShift);
+  }
+
+  /**
+   * Checks if the view represents the same character as the other one
+   * @param other - other character view
+   * @return true if both views refer to the same character
+   */
+  boolean isSameCharacter(MappedCharacter other) {
+    return other != null && run == other.run && offset == other.offset;
   }
 }
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.mapping;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A run of characters that were created together and share the same mapping to the original source.
+ * The run stores characters in a primitive array and keeps the original positions as a start position
+ * plus an offset, so no objects are allocated per character. A character is identified by its run and
+ * its offset in the run. Runs are shared between the lines of the base and the current text, so
+ * a character update is visible in both of them.
+ */
+final class MappedCharacterRun {
+  private final char[] characters;
+  @Getter
+  private final String uri;
+  private final int originalLine;
+  private final int originalCharacter;
+  private final boolean fixedPosition;
+  @Getter
+  private final Location instantLocation;
+  private ExtendedTextLine parent;
+  private ExtendedTextLine[] parents;
+  private List<InitialLocation> initialLocations;
+
+  private MappedCharacterRun(char[] characters, String uri, Position originalPosition, boolean fixedPosition,
+                             Location instantLocation, ExtendedTextLine parent) {
+    this.characters = characters;
+    this.uri = uri;
+    this.originalLine = originalPosition == null ? -1 : originalPosition.getLine();
+    this.originalCharacter = originalPosition == null ? -1 : originalPosition.getCharacter();
+    this.fixedPosition = fixedPosition;
+    this.instantLocation = instantLocation;
+    this.parent = parent;
+  }
+
+  /**
+   * Creates a run of characters with consecutive original positions
+   * @param text - characters of the run
+   * @param uri - uri of the original source
+   * @param start - original position of the first character
+   * @param parent - a line that owns the run
+   * @return a new run
+   */
+  static MappedCharacterRun of(String text, String uri, Position start, ExtendedTextLine parent) {
+    return new MappedCharacterRun(text.toCharArray(), uri, start, false, null, parent);
+  }
+
+  /**
+   * Creates a run of characters without original positions that are mapped to the instant location
+   * @param text - characters of the run
+   * @param uri - uri of the source
+   * @param instantLocation - the instant location of the characters
+   * @param parent - a line that owns the run
+   * @return a new run
+   */
+  static MappedCharacterRun instant(String text, String uri, Location instantLocation, ExtendedTextLine parent) {
+    return new MappedCharacterRun(text.toCharArray(), uri, null, false, instantLocation, parent);
+  }
+
+  /**
+   * Creates a run of padding spaces, all of them are mapped to the zero position
+   * @param size - amount of spaces
+   * @param parent - a line that owns the run
+   * @return a new run
+   */
+  static MappedCharacterRun padding(int size, ExtendedTextLine parent) {
+    char[] spaces = new char[size];
+    Arrays.fill(spaces, ' ');
+    return new MappedCharacterRun(spaces, "", new Position(0, 0), true, null, parent);
+  }
+
+  /**
+   * Creates a new run with a copy of the characters in the given range. The new characters keep
+   * the mapping information, but have their own identity.
+   * @param start - start offset, inclusive
+   * @param end - end offset, exclusive
+   * @param newParent - a line that owns the new run
+   * @return a new run
+   */
+  MappedCharacterRun copy(int start, int end, ExtendedTextLine newParent) {
+    Position position = originalLine < 0 ? null : getOriginalPosition(start);
+    MappedCharacterRun result = new MappedCharacterRun(Arrays.copyOfRange(characters, start, end), uri, position,
+        fixedPosition, instantLocation, newParent);
+    if (initialLocations != null) {
+      for (InitialLocation location : initialLocations) {
+        int from = Math.max(location.start, start);
+        int to = Math.min(location.end, end);
+        if (from < to) {
+          result.putInitialLocation(from - start, to - start, location.uri, location.location);
+        }
+      }
+    }
+    return result;
+  }
+
+  int size() {
+    return characters.length;
+  }
+
+  char getCharacter(int offset) {
+    return characters[offset];
+  }
+
+  void setCharacter(int offset, char character) {
+    characters[offset] = character;
+  }
+
+  /**
+   * Appends characters from the given range to the string builder
+   * @param builder - a string builder
+   * @param start - start offset, inclusive
+   * @param end - end offset, exclusive
+   */
+  void appendTo(StringBuilder builder, int start, int end) {
+    builder.append(characters, start, end - start);
+  }
+
+  /**
+   * Returns the original position of the character shifted by the given amount of characters
+   * @param offset - a character offset in the run
+   * @param shift - a shift of the original character position
+   * @return the original position or null if the character doesn't have it
+   */
+  Position getOriginalPosition(int offset, int shift) {
+    if (originalLine < 0) {
+      return null;
+    }
+    return new Position(originalLine, originalCharacter + (fixedPosition ? 0 : offset) + shift);
+  }
+
+  Position getOriginalPosition(int offset) {
+    return getOriginalPosition(offset, 0);
+  }
+
+  ExtendedTextLine getParent(int offset) {
+    return parents == null ? parent : parents[offset];
+  }
+
+  /**
+   * Sets the parent line for characters in the given range
+   * @param start - start offset, inclusive
+   * @param end - end offset, exclusive
+   * @param line - a new parent line
+   */
+  void setParent(int start, int end, ExtendedTextLine line) {
+    if (parents == null) {
+      if (parent == line) {
+        return;
+      }
+      if (start == 0 && end == characters.length) {
+        parent = line;
+        return;
+      }
+      parents = new ExtendedTextLine[characters.length];
+      Arrays.fill(parents, parent);
+      parent = null;
+    }
+    Arrays.fill(parents, start, end, line);
+  }
+
+  /**
+   * Returns the initial location that the character had in the text with the given uri
+   * @param offset - a character offset in the run
+   * @param textUri - an uri of the text
+   * @return the initial location or null if there is no such one
+   */
+  Location getInitialLocation(int offset, String textUri) {
+    if (initialLocations == null) {
+      return null;
+    }
+    for (int i = initialLocations.size() - 1; i >= 0; i--) {
+      InitialLocation location = initialLocations.get(i);
+      if (location.start <= offset && offset < location.end && location.uri.equals(textUri)) {
+        return location.location;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Stores the initial location for characters in the given range
+   * @param start - start offset, inclusive
+   * @param end - end offset, exclusive
+   * @param textUri - an uri of the text
+   * @param location - an initial location
+   */
+  void putInitialLocation(int start, int end, String textUri, Location location) {
+    if (initialLocations == null) {
+      initialLocations = new ArrayList<>(1);
+    }
+    initialLocations.removeIf(l -> start <= l.start && l.end <= end && l.uri.equals(textUri));
+    initialLocations.add(new InitialLocation(start, end, textUri, location));
+  }
+
+  /**
+   * Initial location of the character range in the text with specific uri
+   */
+  @AllArgsConstructor
+  private static final class InitialLocation {
+    private final int start;
+    private final int end;
+    private final String uri;
+    private final Location location;
+  }
+}
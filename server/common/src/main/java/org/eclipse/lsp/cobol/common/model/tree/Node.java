@@ -14,6 +14,8 @@
  */
 package org.eclipse.lsp.cobol.common.model.tree;
 
+import com.google.common.collect.ImmutableList;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -21,23 +23,46 @@ import lombok.ToString;
 import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.common.model.NodeType;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-/** The class represents a Node in source structure tree. */
+/**
+ * The class represents a Node in source structure tree. The tree is built by one analysis thread,
+ * and then it is frozen, so the LSP requests read it without locks. Until then the children are
+ * kept in a growing array, and {@link #getChildren()} returns an immutable view of its filled part.
+ * Adding a child never changes the slots visible to the earlier views, and removing a child copies
+ * the array if a view of it was returned, so the tree may be changed while the children are
+ * iterated.
+ */
 @ToString
 @Getter
 @EqualsAndHashCode
 public abstract class Node {
+  private static final Node[] NO_CHILDREN = new Node[0];
+
   @Setter protected Locality locality;
   private final NodeType nodeType;
   private final String dialect;
 
-  @EqualsAndHashCode.Exclude private final List<Node> children = new CopyOnWriteArrayList<>();
+  @EqualsAndHashCode.Exclude @ToString.Exclude @Getter(AccessLevel.NONE)
+  private Node[] childArray = NO_CHILDREN;
+  @EqualsAndHashCode.Exclude @ToString.Exclude @Getter(AccessLevel.NONE)
+  private int childCount;
+  @EqualsAndHashCode.Exclude @ToString.Exclude @Getter(AccessLevel.NONE)
+  private boolean childArrayShared;
+  @EqualsAndHashCode.Exclude @ToString.Exclude @Getter(AccessLevel.NONE)
+  private List<Node> childrenView = ImmutableList.of();
+  @EqualsAndHashCode.Exclude @ToString.Exclude @Getter(AccessLevel.NONE)
+  private volatile List<Node> frozenChildren;
   @EqualsAndHashCode.Exclude @ToString.Exclude @Setter private Node parent;
+  // the depth-first numbers of this node and its last nested child in the indexed frozen tree
+  @EqualsAndHashCode.Exclude @ToString.Exclude @Getter(AccessLevel.NONE)
+  int firstIndex = -1;
+  @EqualsAndHashCode.Exclude @ToString.Exclude @Getter(AccessLevel.NONE)
+  int lastIndex = -1;
 
   protected Node(Locality location, NodeType nodeType, String dialect) {
     this.locality = location;
@@ -67,8 +92,15 @@ public abstract class Node {
    * @param node a child node.
    */
   public void addChild(Node node) {
+    checkNotFrozen();
     node.setParent(this);
-    children.add(node);
+    if (childCount == childArray.length) {
+      // the views keep the old array
+      childArray = Arrays.copyOf(childArray, Math.max(4, childCount * 2));
+      childArrayShared = false;
+    }
+    childArray[childCount++] = node;
+    childrenView = null;
   }
 
   /**
@@ -78,16 +110,125 @@ public abstract class Node {
    * @return true if this node contained the specified child
    */
   public boolean removeChild(Node node) {
-    return children.remove(node);
+    checkNotFrozen();
+    int index = indexOfChild(node);
+    if (index < 0) {
+      return false;
+    }
+    if (childArrayShared) {
+      childArray = Arrays.copyOf(childArray, childArray.length);
+      childArrayShared = false;
+    }
+    System.arraycopy(childArray, index + 1, childArray, index, childCount - index - 1);
+    childArray[--childCount] = null;
+    childrenView = null;
+    return true;
+  }
+
+  /**
+   * Get the children of this node. The list is immutable and doesn't change when the children are
+   * changed later, and it is not copied.
+   *
+   * @return the list of the children
+   */
+  @ToString.Include(name = "children")
+  public List<Node> getChildren() {
+    List<Node> frozen = frozenChildren;
+    if (frozen != null) {
+      return frozen;
+    }
+    if (childrenView == null) {
+      childrenView = new ChildrenView(childArray, childCount);
+      childArrayShared = true;
+    }
+    return childrenView;
+  }
+
+  /**
+   * Make this node and all nested children immutable when the tree is complete. Any further attempt
+   * to add or remove a child fails.
+   */
+  public void freeze() {
+    forEachDepthFirst(node -> {
+      if (node.frozenChildren == null) {
+        node.frozenChildren = ImmutableList.copyOf(node.getChildren());
+        node.childArray = null;
+        node.childrenView = null;
+      }
+    });
   }
 
   /**
-   * Get a stream with all nested children starting with this instance.
+   * Check if the tree was frozen
+   *
+   * @return true if the children of this node can't be changed
+   */
+  public boolean isFrozen() {
+    return frozenChildren != null;
+  }
+
+  /**
+   * Get a stream with all nested children starting with this instance. The tree is walked without
+   * recursion, so the depth of the tree doesn't matter.
    *
    * @return the stream with all underline children.
    */
   public Stream<Node> getDepthFirstStream() {
-    return Stream.concat(Stream.of(this), children.stream().flatMap(Node::getDepthFirstStream));
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(new DepthFirstIterator(this), Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+  }
+
+  /**
+   * Perform the action for this instance and all nested children in the depth-first order without
+   * creating a stream.
+   *
+   * @param action the action to perform
+   */
+  public void forEachDepthFirst(Consumer<Node> action) {
+    DepthFirstIterator iterator = new DepthFirstIterator(this);
+    while (iterator.hasNext()) {
+      action.accept(iterator.next());
+    }
+  }
+
+  /**
+   * Get the nodes of the specified type starting with this instance in the depth-first order. In a
+   * frozen tree the nodes are taken from the index of its root node, otherwise the subtree is walked.
+   *
+   * @param type required node type.
+   * @return the list of the nodes
+   */
+  public List<Node> getNodesByType(NodeType type) {
+    if (firstIndex >= 0) {
+      Node top = this;
+      while (top.parent != null) {
+        top = top.parent;
+      }
+      return ((RootNode) top).getNodesByType(type, firstIndex, lastIndex);
+    }
+    List<Node> result = new ArrayList<>();
+    forEachDepthFirst(node -> {
+      if (node.nodeType == type) {
+        result.add(node);
+      }
+    });
+    return result;
+  }
+
+  private int indexOfChild(Node node) {
+    for (int i = 0; i < childCount; i++) {
+      if (node.equals(childArray[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void checkNotFrozen() {
+    if (isFrozen()) {
+      throw new IllegalStateException("The syntax tree is frozen: " + nodeType);
+    }
   }
 
   /**
@@ -119,4 +260,62 @@ public abstract class Node {
   public Optional<ProgramNode> getProgram() {
     return getNearestParentByType(NodeType.PROGRAM).map(ProgramNode.class::cast);
   }
+
+  /** An immutable view of the filled part of a children array */
+  private static final class ChildrenView extends AbstractList<Node> implements RandomAccess {
+    private final Node[] array;
+    private final int size;
+
+    private ChildrenView(Node[] array, int size) {
+      this.array = array;
+      this.size = size;
+    }
+
+    @Override
+    public Node get(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+      return array[index];
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+  /** Iterates the children lazily, so the list of children is read when its parent is returned */
+  private static final class DepthFirstIterator implements Iterator<Node> {
+    private final Deque<Iterator<Node>> stack = new ArrayDeque<>();
+    private Node next;
+
+    private DepthFirstIterator(Node root) {
+      next = root;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (next == null && !stack.isEmpty()) {
+        Iterator<Node> children = stack.peek();
+        if (children.hasNext()) {
+          next = children.next();
+        } else {
+          stack.pop();
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public Node next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Node result = next;
+      next = null;
+      stack.push(result.getChildren().iterator());
+      return result;
+    }
+  }
 }
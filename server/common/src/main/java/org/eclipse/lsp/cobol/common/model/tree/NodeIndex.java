@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.model.tree;
+
+import lombok.Value;
+import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.*;
+
+/**
+ * The index of the syntax tree nodes by their ranges. The nodes of each document are sorted by the
+ * range start and stored in an implicit interval tree, so finding the nodes that contain a position
+ * takes O(log n) plus the number of the found nodes. The index doesn't follow the changes of the
+ * tree, it should be built after the tree is complete.
+ *
+ * <p>{@link #findNodeByPosition(String, Position)} returns the same node as {@link
+ * org.eclipse.lsp.cobol.common.utils.RangeUtils#findNodeByPosition(Node, String, Position)}, i.e.
+ * the first node in the post-order that contains the position.
+ */
+public class NodeIndex {
+  private final Map<String, Intervals> documents = new HashMap<>();
+
+  public NodeIndex(Node root) {
+    this(Collections.singletonList(root));
+  }
+
+  public NodeIndex(Collection<Node> roots) {
+    Map<String, List<Interval>> intervals = new HashMap<>();
+    int order = 0;
+    for (Node root : roots) {
+      order = collect(root, order, intervals);
+    }
+    intervals.forEach((uri, list) -> documents.put(uri, new Intervals(list)));
+  }
+
+  /**
+   * Find the syntax tree node that contains the position
+   *
+   * @param uri the uri of the node locality
+   * @param position a cursor position
+   * @return the found node
+   */
+  public Optional<Node> findNodeByPosition(String uri, Position position) {
+    List<Interval> found = find(uri, position);
+    return found.stream().min(Comparator.comparingInt(Interval::getOrder)).map(Interval::getNode);
+  }
+
+  /**
+   * Find all the syntax tree nodes that contain the position
+   *
+   * @param uri the uri of the node locality
+   * @param position a cursor position
+   * @return the found nodes in the post-order, i.e. the nested nodes go before their parents
+   */
+  public List<Node> findNodesByPosition(String uri, Position position) {
+    List<Interval> found = find(uri, position);
+    found.sort(Comparator.comparingInt(Interval::getOrder));
+    List<Node> result = new ArrayList<>(found.size());
+    found.forEach(it -> result.add(it.getNode()));
+    return result;
+  }
+
+  private List<Interval> find(String uri, Position position) {
+    Intervals intervals = uri == null ? null : documents.get(uri);
+    List<Interval> found = new ArrayList<>();
+    if (intervals != null) {
+      intervals.find(0, intervals.sorted.length, toKey(position), found);
+    }
+    return found;
+  }
+
+  /** Walk the tree without recursion, so deep trees don't overflow the stack */
+  private static int collect(Node root, int startOrder, Map<String, List<Interval>> intervals) {
+    int order = startOrder;
+    Deque<Node> stack = new ArrayDeque<>();
+    Deque<Iterator<Node>> children = new ArrayDeque<>();
+    stack.push(root);
+    children.push(root.getChildren().iterator());
+    while (!stack.isEmpty()) {
+      Iterator<Node> iterator = children.peek();
+      if (iterator.hasNext()) {
+        Node child = iterator.next();
+        stack.push(child);
+        children.push(child.getChildren().iterator());
+        continue;
+      }
+      Node node = stack.pop();
+      children.pop();
+      Locality locality = node.getLocality();
+      if (locality != null && locality.getUri() != null && locality.getRange() != null) {
+        Range range = locality.getRange();
+        intervals.computeIfAbsent(locality.getUri(), uri -> new ArrayList<>())
+            .add(new Interval(toKey(range.getStart()), toKey(range.getEnd()), order, node));
+      }
+      order++;
+    }
+    return order;
+  }
+
+  /** Positions are compared by the line and then by the character, so one long keeps both */
+  private static long toKey(Position position) {
+    return ((long) position.getLine() << 32) + position.getCharacter();
+  }
+
+  /**
+   * The intervals sorted by the start. The middle element of each subrange is the root of the
+   * subtree, and maxEnd keeps the maximal end of the subtree to skip the subtrees that end before
+   * the position.
+   */
+  private static final class Intervals {
+    private final Interval[] sorted;
+    private final long[] maxEnd;
+
+    private Intervals(List<Interval> intervals) {
+      sorted = intervals.toArray(new Interval[0]);
+      Arrays.sort(sorted, Comparator.comparingLong(Interval::getStart));
+      maxEnd = new long[sorted.length];
+      computeMaxEnd(0, sorted.length);
+    }
+
+    private long computeMaxEnd(int from, int to) {
+      if (from >= to) {
+        return Long.MIN_VALUE;
+      }
+      int middle = (from + to) >>> 1;
+      maxEnd[middle] = Math.max(sorted[middle].getEnd(),
+          Math.max(computeMaxEnd(from, middle), computeMaxEnd(middle + 1, to)));
+      return maxEnd[middle];
+    }
+
+    private void find(int from, int to, long position, List<Interval> found) {
+      if (from >= to) {
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      if (maxEnd[middle] < position) {
+        return;
+      }
+      find(from, middle, position, found);
+      Interval interval = sorted[middle];
+      if (interval.getStart() > position) {
+        return;
+      }
+      if (interval.getEnd() >= position) {
+        found.add(interval);
+      }
+      find(middle + 1, to, position, found);
+    }
+  }
+
+  @Value
+  private static class Interval {
+    long start;
+    long end;
+    int order;
+    Node node;
+  }
+}
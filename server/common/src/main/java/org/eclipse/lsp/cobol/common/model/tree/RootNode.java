@@ -14,9 +14,17 @@
  */
 package org.eclipse.lsp.cobol.common.model.tree;
 
+import com.google.common.collect.ImmutableList;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp.cobol.common.model.NodeType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.eclipse.lsp.cobol.common.model.NodeType.ROOT;
 
@@ -27,6 +35,8 @@ import static org.eclipse.lsp.cobol.common.model.NodeType.ROOT;
 @ToString(callSuper = true)
 @Getter
 public class RootNode extends Node {
+  @Getter(AccessLevel.NONE) @ToString.Exclude private volatile Map<NodeType, List<Node>> nodesByType;
+
   public RootNode() {
     this(Locality.builder().build());
   }
@@ -34,4 +44,78 @@ public class RootNode extends Node {
   public RootNode(Locality locality) {
     super(locality, ROOT);
   }
+
+  /**
+   * Get the nodes of the specified type in the depth-first order. The nodes of a frozen tree are
+   * taken from the index built when it was frozen, and the tree that is still built is walked.
+   *
+   * @param type required node type.
+   * @return the list of the nodes
+   */
+  @Override
+  public List<Node> getNodesByType(NodeType type) {
+    Map<NodeType, List<Node>> index = nodesByType;
+    if (index == null) {
+      return super.getNodesByType(type);
+    }
+    return index.getOrDefault(type, ImmutableList.of());
+  }
+
+  /**
+   * Freeze the tree and index its nodes by type, so the LSP requests don't walk the tree. A root node
+   * nested in another tree is indexed by the top one.
+   */
+  @Override
+  public void freeze() {
+    super.freeze();
+    if (getParent() == null) {
+      nodesByType = buildIndex();
+    }
+  }
+
+  /**
+   * Get the indexed nodes of the specified type with the depth-first numbers in the given range
+   *
+   * @param type required node type.
+   * @param first the number of the first node
+   * @param last the number of the last node
+   * @return the list of the nodes
+   */
+  List<Node> getNodesByType(NodeType type, int first, int last) {
+    List<Node> nodes = getNodesByType(type);
+    return nodes.subList(lowerBound(nodes, first), lowerBound(nodes, last + 1));
+  }
+
+  private Map<NodeType, List<Node>> buildIndex() {
+    List<Node> nodes = new ArrayList<>();
+    Map<NodeType, ImmutableList.Builder<Node>> builders = new EnumMap<>(NodeType.class);
+    forEachDepthFirst(node -> {
+      node.firstIndex = nodes.size();
+      nodes.add(node);
+      builders.computeIfAbsent(node.getNodeType(), t -> ImmutableList.builder()).add(node);
+    });
+    // the children follow their parent, so the last nested node of each child is already known
+    for (int i = nodes.size() - 1; i >= 0; i--) {
+      Node node = nodes.get(i);
+      List<Node> children = node.getChildren();
+      node.lastIndex = children.isEmpty() ? node.firstIndex : children.get(children.size() - 1).lastIndex;
+    }
+    Map<NodeType, List<Node>> index = new EnumMap<>(NodeType.class);
+    builders.forEach((type, builder) -> index.put(type, builder.build()));
+    return index;
+  }
+
+  private static int lowerBound(List<Node> nodes, int number) {
+    int low = 0;
+    int high = nodes.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (nodes.get(middle).firstIndex < number) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.symbols;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp.cobol.common.model.NodeType;
+import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
+import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
+import org.eclipse.lsp.cobol.common.model.tree.variable.VariableNode;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * The names of the analysed document that the completion suggests: variables, paragraphs, sections
+ * and copybooks. The names are sorted ignoring case, so the names that start with a typed prefix
+ * are found with a binary search instead of a scan of all the symbols on every keystroke. The
+ * index is built once per analysis and never changes.
+ */
+public final class CompletionIndex {
+  private final Names<VariableNode> variables;
+  private final Names<String> paragraphs;
+  private final Names<String> sections;
+  private final Names<String> copybooks;
+
+  private CompletionIndex(Node rootNode, Map<String, SymbolTable> symbolTableMap) {
+    List<SymbolTable> tables = new ArrayList<>();
+    rootNode.getNodesByType(NodeType.PROGRAM).stream()
+        .map(ProgramNode.class::cast)
+        .map(SymbolTable::generateKey)
+        .map(symbolTableMap::get)
+        .filter(Objects::nonNull)
+        .forEach(tables::add);
+
+    List<VariableNode> variableList = new ArrayList<>();
+    List<String> paragraphList = new ArrayList<>();
+    List<String> sectionList = new ArrayList<>();
+    for (SymbolTable table : tables) {
+      variableList.addAll(table.getVariables().values());
+      paragraphList.addAll(table.getParagraphMap().keySet());
+      sectionList.addAll(table.getSectionMap().keySet());
+    }
+    List<String> copybookList = new ArrayList<>();
+    rootNode.getNodesByType(NodeType.COPY).forEach(it -> copybookList.add(((CopyNode) it).getName()));
+
+    variables = new Names<>(variableList, VariableNode::getName);
+    paragraphs = new Names<>(paragraphList, Function.identity());
+    sections = new Names<>(sectionList, Function.identity());
+    copybooks = new Names<>(copybookList, Function.identity());
+  }
+
+  /**
+   * Build the completion index of the analysed document
+   *
+   * @param rootNode the root node of the syntax tree
+   * @param symbolTableMap the symbol tables of the programs by {@link SymbolTable#generateKey}
+   * @return the index of the document names
+   */
+  public static CompletionIndex build(Node rootNode, Map<String, SymbolTable> symbolTableMap) {
+    return new CompletionIndex(rootNode, symbolTableMap);
+  }
+
+  /**
+   * Find the variables which names start with the prefix ignoring case
+   *
+   * @param prefix the typed prefix
+   * @return the variables sorted by name
+   */
+  public List<VariableNode> findVariables(String prefix) {
+    return variables.find(prefix);
+  }
+
+  /**
+   * Find the paragraphs which names start with the prefix ignoring case
+   *
+   * @param prefix the typed prefix
+   * @return the paragraph names sorted
+   */
+  public List<String> findParagraphs(String prefix) {
+    return paragraphs.find(prefix);
+  }
+
+  /**
+   * Find the sections which names start with the prefix ignoring case
+   *
+   * @param prefix the typed prefix
+   * @return the section names sorted
+   */
+  public List<String> findSections(String prefix) {
+    return sections.find(prefix);
+  }
+
+  /**
+   * Find the used copybooks which names start with the prefix ignoring case
+   *
+   * @param prefix the typed prefix
+   * @return the copybook names sorted
+   */
+  public List<String> findCopybooks(String prefix) {
+    return copybooks.find(prefix);
+  }
+
+  /** The values sorted by their names ignoring case. The sort is stable, so equal names keep the order */
+  private static final class Names<T> {
+    private final String[] names;
+    private final List<T> values;
+
+    private Names(List<T> unsorted, Function<T, String> toName) {
+      List<T> sorted = new ArrayList<>(unsorted);
+      sorted.sort(Comparator.comparing(toName, String.CASE_INSENSITIVE_ORDER));
+      values = ImmutableList.copyOf(sorted);
+      names = new String[sorted.size()];
+      for (int i = 0; i < names.length; i++) {
+        names[i] = toName.apply(sorted.get(i));
+      }
+    }
+
+    private List<T> find(String prefix) {
+      if (prefix.isEmpty()) {
+        return values;
+      }
+      int from = Arrays.binarySearch(names, prefix, String.CASE_INSENSITIVE_ORDER);
+      if (from < 0) {
+        from = -from - 1;
+      }
+      while (from > 0 && String.CASE_INSENSITIVE_ORDER.compare(names[from - 1], prefix) >= 0) {
+        from--;
+      }
+      int to = from;
+      while (to < names.length && names[to].regionMatches(true, 0, prefix, 0, prefix.length())) {
+        to++;
+      }
+      return values.subList(from, to);
+    }
+  }
+}
@@ -18,9 +18,11 @@ package org.eclipse.lsp.cobol.common.utils;
 import lombok.experimental.UtilityClass;
 import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.model.tree.NodeIndex;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 
+import java.util.List;
 import java.util.Optional;
 
 /** The utility class for work with document positions and ranges. */
@@ -53,6 +55,39 @@ public class RangeUtils {
     return candidate == null ? Optional.empty() : Optional.of(candidate);
   }
 
+  /**
+   * Add the nodes as children of the tree nodes that contain their start positions, or of the root
+   * if there are no such nodes. The result is the same as adding them one by one using {@link
+   * #findNodeByPosition(Node, String, Position)}, but the tree is indexed only once. Only a node
+   * that starts inside another added node is placed using the full tree walk.
+   *
+   * @param root a root node of the tree
+   * @param nodes the nodes to add
+   */
+  public void addNodesByPosition(Node root, List<Node> nodes) {
+    NodeIndex treeIndex = new NodeIndex(root);
+    NodeIndex addedIndex = new NodeIndex(nodes);
+    for (Node node : nodes) {
+      String uri = node.getLocality().getUri();
+      Position start = node.getLocality().getRange().getStart();
+      boolean insideAdded = addedIndex.findNodesByPosition(uri, start).stream()
+          .anyMatch(it -> !isDescendant(it, node));
+      Optional<Node> parent = insideAdded
+          ? findNodeByPosition(root, uri, start)
+          : treeIndex.findNodeByPosition(uri, start);
+      parent.orElse(root).addChild(node);
+    }
+  }
+
+  private boolean isDescendant(Node node, Node ancestor) {
+    for (Node current = node; current != null; current = current.getParent()) {
+      if (current == ancestor) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Test if one position is after the another position.
    *
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.utils;
+
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.message.MessageServiceProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Utility class to run ANTLR parsers in two stages. The first stage uses the fast SLL prediction and
+ * stops at the first syntax error. Only if it fails, the input is parsed again with the full LL
+ * prediction and the error strategy of the parser. SLL parsing without errors produces the same tree
+ * as LL parsing, so the result and the reported errors don't depend on the mode. Enabled by the
+ * <code>parser.two.stage</code> system property.
+ */
+@UtilityClass
+public class TwoStageParsingUtil {
+  public static final String TWO_STAGE_PARSING_PROPERTY = "parser.two.stage";
+
+  /**
+   * Check if the two-stage parsing is enabled
+   *
+   * @return true if the parsers should run in two stages
+   */
+  public boolean isEnabled() {
+    return Boolean.getBoolean(TWO_STAGE_PARSING_PROPERTY);
+  }
+
+  /**
+   * Run the given start rule of the parser from the beginning of the input. The parser should be
+   * fully configured, i.e. have the error listeners and the error strategy set. If the two-stage
+   * parsing is disabled, the rule runs as is.
+   *
+   * @param parser - the parser to run
+   * @param startRule - the start rule of the parser
+   * @param <T> - the type of the result context
+   * @return the parse tree
+   */
+  public <T extends ParserRuleContext> T parse(Parser parser, Supplier<T> startRule) {
+    if (!isEnabled()) {
+      return startRule.get();
+    }
+    ANTLRErrorStrategy errorStrategy = parser.getErrorHandler();
+    List<ANTLRErrorListener> listeners = new ArrayList<>(parser.getErrorListeners());
+    BufferingErrorListener buffer = new BufferingErrorListener();
+
+    parser.removeErrorListeners();
+    parser.addErrorListener(buffer);
+    parser.setErrorHandler(new BailStrategy(errorStrategy));
+    parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+    try {
+      T result = startRule.get();
+      restore(parser, errorStrategy, listeners);
+      buffer.replay(parser);
+      return result;
+    } catch (ParseCancellationException e) {
+      restore(parser, errorStrategy, listeners);
+      parser.reset();
+      return startRule.get();
+    }
+  }
+
+  private void restore(Parser parser, ANTLRErrorStrategy errorStrategy, List<ANTLRErrorListener> listeners) {
+    parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+    parser.setErrorHandler(errorStrategy);
+    parser.removeErrorListeners();
+    listeners.forEach(parser::addErrorListener);
+  }
+
+  /**
+   * Bail error strategy that keeps the access to the message service of the original strategy for
+   * the grammar actions.
+   */
+  private static class BailStrategy extends BailErrorStrategy implements MessageServiceProvider {
+    private final ANTLRErrorStrategy delegate;
+
+    BailStrategy(ANTLRErrorStrategy delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public MessageService getMessageService() {
+      return delegate instanceof MessageServiceProvider ? ((MessageServiceProvider) delegate).getMessageService() : null;
+    }
+  }
+
+  /**
+   * Collects the errors and warnings reported during the SLL stage. They are passed to the real
+   * listeners only when the stage succeeds.
+   */
+  private static class BufferingErrorListener extends BaseErrorListener {
+    private final List<SyntaxErrorEvent> events = new ArrayList<>();
+
+    @Override
+    public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine,
+                            String msg, RecognitionException e) {
+      events.add(new SyntaxErrorEvent((Token) offendingSymbol, line, charPositionInLine, msg, e));
+    }
+
+    void replay(Parser parser) {
+      events.forEach(event -> parser.getErrorListenerDispatch().syntaxError(parser, event.getOffendingSymbol(),
+          event.getLine(), event.getCharPositionInLine(), event.getMessage(), event.getException()));
+    }
+  }
+
+  @Value
+  private static class SyntaxErrorEvent {
+    Token offendingSymbol;
+    int line;
+    int charPositionInLine;
+    String message;
+    RecognitionException exception;
+  }
+}
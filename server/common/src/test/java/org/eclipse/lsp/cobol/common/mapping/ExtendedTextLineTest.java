@@ -100,4 +100,41 @@ class ExtendedTextLineTest {
     ExtendedTextLine subline = line.subline(2, 5);
     assertEquals("xt e", subline.toString());
   }
+
+  @Test
+  void testIndexOfAfterChanges() {
+    ExtendedTextLine line = new ExtendedTextLine("text end", 7, "uri");
+    ExtendedTextLine base = line.shadowCopy();
+    MappedCharacter character = base.getCharacterAt(5);
+
+    line.delete(1, 2);
+    line.insert(0, new ExtendedTextLine("new ", 11, "copybook"));
+
+    assertEquals("new tt end", line.toString());
+    assertEquals(7, line.indexOf(character));
+    assertEquals(-1, line.indexOf(base.getCharacterAt(1)));
+    assertEquals(line, base.getParent(5));
+  }
+
+  @Test
+  void testPaddingAndTrim() {
+    ExtendedTextLine line = new ExtendedTextLine("   text", 3, "uri");
+    line.trim();
+    line.addPadding(2);
+
+    assertEquals("  text", line.toString());
+    assertEquals(new Position(0, 0).toString(), line.getCharacterAt(1).getOriginalPosition().toString());
+    assertEquals(new Position(3, 4).toString(), line.getCharacterAt(3).getOriginalPosition().toString());
+  }
+
+  @Test
+  void testClearIsVisibleInShadowCopy() {
+    ExtendedTextLine line = new ExtendedTextLine("text end", 7, "uri");
+    ExtendedTextLine copy = line.shadowCopy();
+    line.clear(0, 3);
+    line.delete(4, 7);
+
+    assertEquals("    ", line.toString());
+    assertEquals("     end", copy.toString());
+  }
 }
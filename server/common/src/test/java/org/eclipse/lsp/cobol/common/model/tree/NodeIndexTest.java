@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.model.tree;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp.cobol.common.utils.RangeUtils;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Test for {@link NodeIndex} */
+class NodeIndexTest {
+  private static final String URI = "file:///c:/workspace/document.cbl";
+  private static final String COPYBOOK_URI = "file:///c:/workspace/.c4z/.copybooks/CPY.cpy";
+
+  @Test
+  void testFindsDeepestNode() {
+    RootNode root = node(URI, 0, 0, 20, 0);
+    RootNode program = node(URI, 1, 0, 19, 10);
+    RootNode statement = node(URI, 5, 7, 5, 30);
+    RootNode copybookContent = node(COPYBOOK_URI, 0, 0, 3, 10);
+    root.addChild(program);
+    program.addChild(statement);
+    program.addChild(copybookContent);
+    NodeIndex index = new NodeIndex(root);
+
+    assertSame(statement, index.findNodeByPosition(URI, new Position(5, 7)).orElse(null));
+    assertSame(program, index.findNodeByPosition(URI, new Position(5, 31)).orElse(null));
+    assertSame(copybookContent, index.findNodeByPosition(COPYBOOK_URI, new Position(1, 0)).orElse(null));
+    assertFalse(index.findNodeByPosition(URI, new Position(30, 0)).isPresent());
+    assertFalse(index.findNodeByPosition("file:///other.cbl", new Position(5, 7)).isPresent());
+    assertEquals(ImmutableList.of(statement, program, root), index.findNodesByPosition(URI, new Position(5, 10)));
+  }
+
+  @Test
+  void testSameResultAsTreeWalk() {
+    Random random = new Random(42);
+    RootNode root = node(URI, 0, 0, 100, 0);
+    ImmutableList.Builder<RootNode> nodes = ImmutableList.builder();
+    nodes.add(root);
+    for (int i = 0; i < 500; i++) {
+      ImmutableList<RootNode> existing = nodes.build();
+      RootNode parent = existing.get(random.nextInt(existing.size()));
+      int line = random.nextInt(100);
+      RootNode child = node(random.nextInt(4) == 0 ? COPYBOOK_URI : URI, line, random.nextInt(80),
+          line + random.nextInt(5), random.nextInt(80));
+      parent.addChild(child);
+      nodes.add(child);
+    }
+    NodeIndex index = new NodeIndex(root);
+
+    for (int line = 0; line < 105; line++) {
+      for (int character = 0; character < 80; character += 7) {
+        Position position = new Position(line, character);
+        for (String uri : ImmutableList.of(URI, COPYBOOK_URI)) {
+          Optional<Node> expected = RangeUtils.findNodeByPosition(root, uri, position);
+          assertSame(expected.orElse(null), index.findNodeByPosition(uri, position).orElse(null));
+        }
+      }
+    }
+  }
+
+  @Test
+  void testAddNodesByPosition() {
+    RootNode root = node(URI, 0, 0, 20, 0);
+    RootNode statement = node(URI, 5, 0, 5, 30);
+    root.addChild(statement);
+    RootNode execBlock = node(URI, 5, 10, 5, 20);
+    RootNode nestedBlock = node(URI, 5, 12, 5, 15);
+    RootNode outside = node(URI, 30, 0, 30, 10);
+
+    RangeUtils.addNodesByPosition(root, ImmutableList.of(execBlock, nestedBlock, outside));
+
+    assertSame(statement, execBlock.getParent());
+    assertSame(execBlock, nestedBlock.getParent());
+    assertSame(root, outside.getParent());
+  }
+
+  private static RootNode node(String uri, int startLine, int startCharacter, int endLine, int endCharacter) {
+    return new RootNode(Locality.builder()
+        .uri(uri)
+        .range(new Range(new Position(startLine, startCharacter), new Position(endLine, endCharacter)))
+        .build());
+  }
+}
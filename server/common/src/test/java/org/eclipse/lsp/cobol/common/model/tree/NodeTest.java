@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.model.tree;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp.cobol.common.model.Locality;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Test for the children of {@link Node} */
+class NodeTest {
+
+  @Test
+  void testChildrenCanChangeWhileIterated() {
+    RootNode root = new RootNode();
+    ProgramNode first = program("first");
+    ProgramNode second = program("second");
+    root.addChild(first);
+    List<Node> children = root.getChildren();
+
+    for (Node child : root.getChildren()) {
+      root.removeChild(child);
+      root.addChild(second);
+    }
+
+    assertEquals(ImmutableList.of(first), children);
+    assertEquals(ImmutableList.of(second), root.getChildren());
+    assertSame(root.getChildren(), root.getChildren());
+    assertThrows(UnsupportedOperationException.class, () -> root.getChildren().add(first));
+  }
+
+  @Test
+  void testEarlierChildrenListsDontChange() {
+    RootNode root = new RootNode();
+    ProgramNode first = program("first");
+    ProgramNode second = program("second");
+    ProgramNode third = program("third");
+    root.addChild(first);
+    List<Node> withFirst = root.getChildren();
+    root.addChild(second);
+    List<Node> withSecond = root.getChildren();
+
+    root.removeChild(first);
+    root.addChild(third);
+
+    assertEquals(ImmutableList.of(first), withFirst);
+    assertEquals(ImmutableList.of(first, second), withSecond);
+    assertEquals(ImmutableList.of(second, third), root.getChildren());
+    assertThrows(IndexOutOfBoundsException.class, () -> withFirst.get(1));
+  }
+
+  @Test
+  void testFrozenTreeRejectsChanges() {
+    RootNode root = new RootNode();
+    ProgramNode program = program("program");
+    root.addChild(program);
+
+    root.freeze();
+
+    assertTrue(root.isFrozen());
+    assertTrue(program.isFrozen());
+    assertEquals(ImmutableList.of(program), root.getChildren());
+    assertThrows(IllegalStateException.class, () -> program.addChild(program("nested")));
+    assertThrows(IllegalStateException.class, () -> root.removeChild(program));
+  }
+
+  private static ProgramNode program(String uri) {
+    return new ProgramNode(Locality.builder().uri(uri).build());
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.model.tree;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp.cobol.common.model.NodeType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Test for the node index of {@link RootNode} and the tree traversal of {@link Node} */
+class RootNodeTest {
+
+  @Test
+  void testNodesByTypeFollowTreeChanges() {
+    RootNode root = new RootNode();
+    ProgramNode first = program("first");
+    ProgramNode nested = program("nested");
+    ProgramNode second = program("second");
+    root.addChild(first);
+    first.addChild(nested);
+
+    assertEquals(ImmutableList.of(first, nested), root.getNodesByType(NodeType.PROGRAM));
+
+    root.addChild(second);
+    assertEquals(ImmutableList.of(first, nested, second), root.getNodesByType(NodeType.PROGRAM));
+
+    first.removeChild(nested);
+    assertEquals(ImmutableList.of(first, second), root.getNodesByType(NodeType.PROGRAM));
+    assertEquals(ImmutableList.of(root), root.getNodesByType(NodeType.ROOT));
+    assertEquals(ImmutableList.of(), root.getNodesByType(NodeType.COPY));
+  }
+
+  @Test
+  void testFrozenTreeIndexesSubtrees() {
+    RootNode root = new RootNode();
+    ProgramNode first = program("first");
+    ProgramNode nested = program("nested");
+    ProgramNode deepest = program("deepest");
+    ProgramNode second = program("second");
+    root.addChild(first);
+    first.addChild(nested);
+    nested.addChild(deepest);
+    root.addChild(second);
+
+    root.freeze();
+
+    assertEquals(ImmutableList.of(first, nested, deepest, second), root.getNodesByType(NodeType.PROGRAM));
+    assertEquals(ImmutableList.of(first, nested, deepest), first.getNodesByType(NodeType.PROGRAM));
+    assertEquals(ImmutableList.of(nested, deepest), nested.getNodesByType(NodeType.PROGRAM));
+    assertEquals(ImmutableList.of(second), second.getNodesByType(NodeType.PROGRAM));
+    assertEquals(ImmutableList.of(), second.getNodesByType(NodeType.ROOT));
+  }
+
+  @Test
+  void testDepthFirstOrder() {
+    RootNode root = new RootNode();
+    ProgramNode first = program("first");
+    ProgramNode nested = program("nested");
+    ProgramNode second = program("second");
+    root.addChild(first);
+    root.addChild(second);
+    first.addChild(nested);
+    List<Node> visited = new ArrayList<>();
+
+    root.forEachDepthFirst(visited::add);
+
+    assertEquals(ImmutableList.of(root, first, nested, second), visited);
+    assertEquals(visited, root.getDepthFirstStream().collect(toList()));
+  }
+
+  @Test
+  void testDeepTreeTraversal() {
+    Node node = new ProgramNode(Locality.builder().build());
+    for (int i = 0; i < 50_000; i++) {
+      Node parent = new ProgramNode(Locality.builder().build());
+      parent.addChild(node);
+      node = parent;
+    }
+    RootNode root = new RootNode();
+    root.addChild(node);
+
+    assertEquals(50_002, root.getDepthFirstStream().count());
+    assertEquals(50_001, root.getNodesByType(NodeType.PROGRAM).size());
+  }
+
+  private static ProgramNode program(String uri) {
+    return new ProgramNode(Locality.builder().uri(uri).build());
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.common.symbols;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
+import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
+import org.eclipse.lsp.cobol.common.model.tree.RootNode;
+import org.eclipse.lsp.cobol.common.model.tree.variable.VariableNode;
+import org.eclipse.lsp.cobol.common.model.tree.variables.MnemonicNameNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Test for {@link CompletionIndex} */
+class CompletionIndexTest {
+
+  @Test
+  void testFindsNamesByPrefixIgnoringCase() {
+    RootNode rootNode = new RootNode();
+    ProgramNode program = new ProgramNode(Locality.builder().uri("document").build());
+    rootNode.addChild(program);
+    SymbolTable table = new SymbolTable();
+    ImmutableList.of("VAR-B", "var-a", "OTHER", "VAR-A").forEach(name -> table.getVariables().put(name, variable(name)));
+    ImmutableList.of("PAR1", "PAR2", "MAIN").forEach(name -> table.getParagraphMap().put(name, new CodeBlockReference()));
+    table.getSectionMap().put("SEC1", new CodeBlockReference());
+    ImmutableList.of("CPYA", "BOOK").forEach(name ->
+        rootNode.addChild(new CopyNode(Locality.builder().build(), Locality.builder().build().toLocation(), name, "uri")));
+
+    CompletionIndex index = CompletionIndex.build(rootNode, ImmutableMap.of(SymbolTable.generateKey(program), table));
+
+    assertEquals(ImmutableList.of("VAR-A", "VAR-A", "VAR-B"), names(index.findVariables("Var-")));
+    assertEquals(ImmutableList.of("VAR-A", "VAR-A"), names(index.findVariables("var-a")));
+    assertEquals(ImmutableList.of(), index.findVariables("VAR-C"));
+    assertEquals(4, index.findVariables("").size());
+    assertEquals(ImmutableList.of("PAR1", "PAR2"), index.findParagraphs("pa"));
+    assertEquals(ImmutableList.of("SEC1"), index.findSections("s"));
+    assertEquals(ImmutableList.of("CPYA"), index.findCopybooks("cp"));
+  }
+
+  @Test
+  void testProgramsWithoutSymbolsAreSkipped() {
+    RootNode rootNode = new RootNode();
+    rootNode.addChild(new ProgramNode(Locality.builder().uri("document").build()));
+
+    CompletionIndex index = CompletionIndex.build(rootNode, ImmutableMap.of());
+
+    assertEquals(ImmutableList.of(), index.findVariables(""));
+    assertEquals(ImmutableList.of(), index.findParagraphs(""));
+  }
+
+  private static VariableNode variable(String name) {
+    return new MnemonicNameNode(Locality.builder().build(), "sys", name);
+  }
+
+  private static List<String> names(List<VariableNode> variables) {
+    return variables.stream().map(VariableNode::getName).map(String::toUpperCase).collect(toList());
+  }
+}
@@ -19,6 +19,7 @@ import com.google.common.collect.ImmutableSet;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.common.dialects.CobolDialect;
 import org.eclipse.lsp.cobol.common.dialects.DialectOutcome;
@@ -31,6 +32,7 @@ import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.common.processor.ProcessingPhase;
 import org.eclipse.lsp.cobol.common.processor.ProcessorDescription;
 import org.eclipse.lsp.cobol.common.utils.KeywordsUtils;
+import org.eclipse.lsp.cobol.common.utils.TwoStageParsingUtil;
 import org.eclipse.lsp.cobol.dialects.daco.nodes.DaCoCopyFromNode;
 import org.eclipse.lsp.cobol.dialects.daco.processors.DaCoCopyFromProcessor;
 import org.eclipse.lsp.cobol.dialects.daco.processors.implicit.DaCoImplicitCodeProcessor;
@@ -92,7 +94,7 @@ public final class DaCoDialect implements CobolDialect {
     parser.addErrorListener(listener);
     parser.setErrorHandler(new CobolErrorStrategy(messageService));
     DaCoVisitor visitor = new DaCoVisitor(context);
-    List<Node> nodes = visitor.visitStartRule(parser.startRule());
+    List<Node> nodes = visitor.visitStartRule(TwoStageParsingUtil.parse(parser, parser::startRule));
     nodes.addAll(maidOutcome.getDialectNodes());
 
     List<SyntaxError> parserErrors = new LinkedList<>();
@@ -129,6 +131,11 @@ public final class DaCoDialect implements CobolDialect {
     return ImmutableList.of();
   }
 
+  @Override
+  public List<CopybookName> findCopybooks(String text) {
+    return maidProcessor.findCopybooks(text);
+  }
+
   @Override
   public Set<String> runBefore() {
     return ImmutableSet.of(IDMS_DIALECT_NAME);
@@ -144,6 +144,25 @@ public class DaCoMaidProcessor {
         locality, prototypeName, newSuffix.orElse(""), Integer.parseInt(copyFrom.group("lvl")));
   }
 
+  /**
+   * Find the names of MAID copybooks used in the given text
+   *
+   * @param text the text to search COPY MAID statements in
+   * @return a list of copybook names
+   */
+  public List<CopybookName> findCopybooks(String text) {
+    List<CopybookName> result = new ArrayList<>();
+    for (String line : text.split("\n", -1)) {
+      Matcher matcher = copyMaidPattern.matcher(line);
+      if (matcher.find() && matcher.group("level") != null) {
+        result.add(new CopybookName(
+            makeCopybookFileName(Integer.parseInt(matcher.group("level")), matcher.group("layoutId"), matcher.group("layoutUsage")),
+            DaCoDialect.NAME));
+      }
+    }
+    return result;
+  }
+
   private void collectCopyMaid(
       String input,
       int lineNumber,
@@ -35,6 +35,7 @@ import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
+import org.eclipse.lsp.cobol.common.utils.TwoStageParsingUtil;
 
 /**
  * Class implements idms copybook processing
@@ -98,7 +99,7 @@ class IdmsCopybookService {
     IdmsCopybookVisitor visitor = new IdmsCopybookVisitor(copybookService, copybookProcessingMode, treeListener, messageService,
         programDocumentUri, copybookModel.getUri(), parentLevel, processedCopybooks);
 
-    ParserRuleContext node = parser.startRule();
+    ParserRuleContext node = TwoStageParsingUtil.parse(parser, parser::startRule);
     List<Node> nodes = visitor.visit(node);
 
     List<SyntaxError> errors = new LinkedList<>(listener.getErrors());
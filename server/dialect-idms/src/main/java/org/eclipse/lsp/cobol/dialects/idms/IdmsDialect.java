@@ -33,15 +33,23 @@ import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.common.utils.KeywordsUtils;
 import org.eclipse.lsp.cobol.common.utils.RangeUtils;
+import org.eclipse.lsp.cobol.common.utils.StringUtils;
+import org.eclipse.lsp.cobol.common.utils.TwoStageParsingUtil;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /** Process the text according to the IDMS rules */
 public final class IdmsDialect implements CobolDialect {
   public static final String NAME = "IDMS";
   private static final String IDMS_CPY_LOCAL_PATHS = "cpy-manager.idms.paths-local";
+  private static final Pattern COPY_IDMS_STATEMENT =
+      Pattern.compile("(?<![\\w-])COPY\\s+IDMS\\s+(?:(?:RECORD|FILE|MAP-CONTROL|MAP|MODULE)\\s+)?"
+          + "(?<name>[\\w-]+|\"[^\"\\n]*\"|'[^'\\n]*')",
+          Pattern.CASE_INSENSITIVE);
   private final CopybookService copybookService;
   private final MessageService messageService;
 
@@ -227,6 +235,17 @@ public final class IdmsDialect implements CobolDialect {
     return ImmutableList.of(IDMS_CPY_LOCAL_PATHS);
   }
 
+  @Override
+  public List<CopybookName> findCopybooks(String text) {
+    List<CopybookName> result = new ArrayList<>();
+    Matcher matcher = COPY_IDMS_STATEMENT.matcher(text);
+    while (matcher.find()) {
+      // the same name as IdmsCopybookVisitor resolves, so the prefetched copybook is found by its id
+      result.add(new CopybookName(StringUtils.trimQuotes(matcher.group("name").toUpperCase()), NAME));
+    }
+    return result;
+  }
+
   private IdmsCopyParser.StartRuleContext parseCopyIdms(String text, String programDocumentUri, List<SyntaxError> errors) {
     IdmsCopyLexer lexer = new IdmsCopyLexer(CharStreams.fromString(text));
     CommonTokenStream tokens = new CommonTokenStream(lexer);
@@ -238,7 +257,7 @@ public final class IdmsDialect implements CobolDialect {
     parser.addErrorListener(listener);
     parser.setErrorHandler(new CobolErrorStrategy(messageService));
 
-    IdmsCopyParser.StartRuleContext result = parser.startRule();
+    IdmsCopyParser.StartRuleContext result = TwoStageParsingUtil.parse(parser, parser::startRule);
     errors.addAll(listener.getErrors());
     return result;
   }
@@ -255,7 +274,7 @@ public final class IdmsDialect implements CobolDialect {
     parser.addErrorListener(listener);
     parser.setErrorHandler(new CobolErrorStrategy(messageService));
 
-    IdmsParser.StartRuleContext result = parser.startRule();
+    IdmsParser.StartRuleContext result = TwoStageParsingUtil.parse(parser, parser::startRule);
     errors.addAll(listener.getErrors());
     return result;
   }
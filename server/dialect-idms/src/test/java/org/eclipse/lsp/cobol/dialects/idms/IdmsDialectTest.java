@@ -14,6 +14,8 @@
  */
 package org.eclipse.lsp.cobol.dialects.idms;
 
+import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.junit.jupiter.api.Test;
@@ -33,4 +35,18 @@ class IdmsDialectTest {
     Map<String, String> result = dialect.getKeywords();
     assertEquals(46, result.size());
   }
+
+  @Test
+  void testFindCopybooksUsesResolvedNames() {
+    IdmsDialect dialect = new IdmsDialect(mock(CopybookService.class), mock(MessageService.class));
+    String text = "       COPY IDMS foo.\n"
+        + "       copy idms record 'bar-rec' version 1.\n"
+        + "       COPY IDMS MAP \"Map1\".\n";
+
+    assertEquals(ImmutableList.of(
+            new CopybookName("FOO", IdmsDialect.NAME),
+            new CopybookName("BAR-REC", IdmsDialect.NAME),
+            new CopybookName("MAP1", IdmsDialect.NAME)),
+        dialect.findCopybooks(text));
+  }
 }
@@ -21,6 +21,7 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.antlr.v4.runtime.tree.ParseTreeListener;
 import org.eclipse.lsp.cobol.common.*;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.common.error.ErrorSeverity;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.error.ErrorCodes;
@@ -30,12 +31,14 @@ import org.eclipse.lsp.cobol.common.mapping.ExtendedText;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.model.tree.NodeIndex;
 import org.eclipse.lsp.cobol.common.model.tree.RootNode;
 import org.eclipse.lsp.cobol.common.utils.ImplicitCodeUtils;
 import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
 import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
 import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
 import org.eclipse.lsp.cobol.core.engine.errors.ErrorFinalizerService;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
 import org.eclipse.lsp.cobol.core.engine.pipeline.Pipeline;
 import org.eclipse.lsp.cobol.core.engine.pipeline.stages.*;
 import org.eclipse.lsp.cobol.core.engine.pipeline.PipelineResult;
@@ -57,7 +60,6 @@ import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.lsp.cobol.common.error.ErrorSource.WORKSPACE_SETTINGS;
 import static org.eclipse.lsp.cobol.common.model.NodeType.COPY;
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
 
 /**
  * This class is responsible for run the syntax and semantic analysis of an input cobol document.
@@ -85,13 +87,16 @@ public class CobolLanguageEngine {
           DialectService dialectService,
           AstProcessor astProcessor,
           SymbolsRepository symbolsRepository,
-          ErrorFinalizerService errorFinalizerService) {
+          ErrorFinalizerService errorFinalizerService,
+          CopybookService copybookService,
+          MetricsRegistry metricsRegistry) {
     this.preprocessor = preprocessor;
     this.messageService = messageService;
     this.errorFinalizerService = errorFinalizerService;
 
-    this.pipeline = new Pipeline();
+    this.pipeline = new Pipeline(metricsRegistry);
     this.pipeline.add(new CompilerDirectivesStage(messageService));
+    this.pipeline.add(new CopybookPrefetchStage(dialectService, copybookService));
     this.pipeline.add(new DialectProcessingStage(dialectService));
     this.pipeline.add(new PreprocessorStage(grammarPreprocessor));
     this.pipeline.add(new ImplicitDialectProcessingStage(dialectService));
@@ -101,10 +106,11 @@ public class CobolLanguageEngine {
 
   private static AnalysisResult toAnalysisResult(ResultWithErrors<AnalysisResult> result, String uri) {
     Node rootNode = result.getResult().getRootNode();
+    rootNode.freeze();
 
     List<String> copyUriList = rootNode
-        .getDepthFirstStream()
-        .filter(hasType(COPY))
+        .getNodesByType(COPY)
+        .stream()
         .map(CopyNode.class::cast)
         .map(CopyNode::getDefinitions)
         .flatMap(Collection::stream)
@@ -121,6 +127,8 @@ public class CobolLanguageEngine {
                 copyUriList,
                 uri))
         .rootNode(rootNode)
+        .nodeIndex(new NodeIndex(rootNode))
+        .completionIndex(result.getResult().getCompletionIndex())
         .build();
   }
 
@@ -188,6 +196,7 @@ public class CobolLanguageEngine {
           AnalysisResult.builder()
               .rootNode(processingResult.getRootNode())
               .symbolTableMap(processingResult.getSymbolTableMap())
+              .completionIndex(processingResult.getCompletionIndex())
               .build(),
           ctx.getAccumulatedErrors().stream().map(errorFinalizerService::localizeErrorMessage).collect(toList())),
               documentUri);
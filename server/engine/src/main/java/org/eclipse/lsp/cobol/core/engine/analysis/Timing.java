@@ -14,12 +14,16 @@
  */
 package org.eclipse.lsp.cobol.core.engine.analysis;
 
-import java.util.ArrayList;
-import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 /**
- * The collection of timing data.
+ * The collection of timing data. Besides the time, it collects the bytes allocated by the measured
+ * code, if the JVM supports it.
  */
 public class Timing {
   Timer timer = new Timer();
@@ -50,8 +54,29 @@ public class Timing {
       timer.stop();
     }
   }
+
+  /**
+   * Get the total time of the measurements
+   * @return the time in milliseconds
+   */
   public long getTime() {
-    return  timer.getTotalTime();
+    return TimeUnit.NANOSECONDS.toMillis(timer.getTotalTime());
+  }
+
+  /**
+   * Get the total time of the measurements
+   * @return the time in nanoseconds
+   */
+  public long getNanoTime() {
+    return timer.getTotalTime();
+  }
+
+  /**
+   * Get the bytes allocated by the current thread during the measurements
+   * @return the allocated bytes or -1 if the JVM doesn't support the allocation measurement
+   */
+  public long getAllocatedBytes() {
+    return timer.getTotalAllocation();
   }
 }
 
@@ -59,25 +84,65 @@ public class Timing {
  * The stop watch timer.
  */
 class Timer {
-  private List<Long> measurements = new ArrayList<>();
+  private long totalTime = 0;
+  private long totalAllocation = 0;
   private long startTime = 0;
+  private long startAllocation = 0;
+  private boolean running = false;
 
   public void start() {
-    if (startTime != 0) {
+    if (running) {
       throw new IllegalStateException("The timer is running");
     }
-    startTime = System.currentTimeMillis();
+    running = true;
+    startAllocation = AllocationCounter.getAllocatedBytes();
+    startTime = System.nanoTime();
   }
 
   public void stop() {
-    if (startTime == 0) {
+    if (!running) {
       throw new IllegalStateException("The timer is not running");
     }
-    measurements.add(System.currentTimeMillis() - startTime);
-    startTime = 0;
+    totalTime += System.nanoTime() - startTime;
+    long allocation = AllocationCounter.getAllocatedBytes();
+    totalAllocation = allocation < 0 || totalAllocation < 0 ? -1 : totalAllocation + allocation - startAllocation;
+    running = false;
   }
 
   long getTotalTime() {
-      return measurements.stream().mapToLong(l -> l).sum();
+    return totalTime;
+  }
+
+  long getTotalAllocation() {
+    return totalAllocation;
+  }
+}
+
+/**
+ * Bytes allocated by the current thread, available on HotSpot based JVMs.
+ */
+@Slf4j
+final class AllocationCounter {
+  private static final com.sun.management.ThreadMXBean THREAD_BEAN = findThreadBean();
+
+  private AllocationCounter() {
+  }
+
+  static long getAllocatedBytes() {
+    return THREAD_BEAN == null ? -1 : THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private static com.sun.management.ThreadMXBean findThreadBean() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean
+        && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+      com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+      if (!threadBean.isThreadAllocatedMemoryEnabled()) {
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+      }
+      return threadBean;
+    }
+    LOG.debug("The allocation measurement is not supported by the JVM");
+    return null;
   }
 }
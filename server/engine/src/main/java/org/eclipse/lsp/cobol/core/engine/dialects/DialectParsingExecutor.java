@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.dialects;
+
+import com.google.inject.Singleton;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed pool of daemon threads sized to the number of cores to parse the embedded blocks of the
+ * implicit dialects concurrently. The parsing checks the thread interruption, so a cancelled future
+ * stops its parsing.
+ */
+@Singleton
+public class DialectParsingExecutor {
+  private final ExecutorService executor;
+
+  public DialectParsingExecutor() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  DialectParsingExecutor(int threads) {
+    AtomicInteger counter = new AtomicInteger();
+    executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(),
+        r -> {
+          Thread thread = new Thread(r, "Dialect parsing thread #" + counter.getAndIncrement());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /**
+   * Submit the parsing task to the pool
+   *
+   * @param task the parsing task
+   * @param <T> the type of the parsing result
+   * @return the future of the result that interrupts the parsing when cancelled
+   */
+  public <T> Future<T> submit(Callable<T> task) {
+    return executor.submit(task);
+  }
+}
@@ -15,12 +15,14 @@
 package org.eclipse.lsp.cobol.core.engine.dialects;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.gson.JsonElement;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.eclipse.lsp.cobol.common.AnalysisConfig;
 import org.eclipse.lsp.cobol.common.DialectRegistryItem;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
+import org.eclipse.lsp.cobol.common.UserInterruptException;
 import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.common.copybook.SQLBackend;
@@ -30,6 +32,7 @@ import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
 import org.eclipse.lsp.cobol.common.error.ErrorSeverity;
 import org.eclipse.lsp.cobol.common.error.ErrorSource;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedDocument;
 import org.eclipse.lsp.cobol.common.mapping.OriginalLocation;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.common.message.MessageTemplate;
@@ -38,12 +41,19 @@ import org.eclipse.lsp.cobol.common.processor.ProcessorDescription;
 import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
 import org.eclipse.lsp.cobol.implicitDialects.cics.CICSDialect;
 import org.eclipse.lsp.cobol.implicitDialects.sql.Db2SqlDialect;
+import org.eclipse.lsp.cobol.implicitDialects.utils.ExecBlockDialect;
+import org.eclipse.lsp.cobol.implicitDialects.utils.ExecBlockExtractor;
+import org.eclipse.lsp.cobol.implicitDialects.utils.ExecBlocks;
+import org.eclipse.lsp.cobol.implicitDialects.utils.ParsedExecBlocks;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -54,16 +64,19 @@ public class DialectService {
   private final DialectDiscoveryService discoveryService;
   private final CopybookService copybookService;
   private final MessageService messageService;
+  private final DialectParsingExecutor parsingExecutor;
 
   @Inject
   public DialectService(
       DialectDiscoveryService discoveryService,
       CopybookService copybookService,
-      MessageService messageService) {
+      MessageService messageService,
+      DialectParsingExecutor parsingExecutor) {
     this.dialectSuppliers = new HashMap<>();
     this.discoveryService = discoveryService;
     this.copybookService = copybookService;
     this.messageService = messageService;
+    this.parsingExecutor = parsingExecutor;
 
     List<CobolDialect> dialects = discoveryService.loadDialects(copybookService, messageService);
     dialects.forEach(dialect -> dialectSuppliers.put(dialect.getName(), dialect));
@@ -124,13 +137,61 @@ public class DialectService {
       List<SyntaxError> errors,
       DialectProcessingContext dialectProcessingContext) {
 
-    ResultWithErrors<DialectOutcome> acc =
-        new ResultWithErrors<>(new DialectOutcome(dialectProcessingContext), errors);
-    for (CobolDialect dialect : getActiveImplicitDialects(ctx.getConfig())) {
-      acc = processDialect(acc, dialect, dialectProcessingContext);
-      dialectProcessingContext.getExtendedDocument().commitTransformations();
+    List<CobolDialect> dialects = getActiveImplicitDialects(ctx.getConfig());
+    Map<CobolDialect, Future<ParsedExecBlocks>> parsedBlocks =
+        parseExecBlocks(dialects, dialectProcessingContext.getExtendedDocument());
+    try {
+      ResultWithErrors<DialectOutcome> acc =
+          new ResultWithErrors<>(new DialectOutcome(dialectProcessingContext), errors);
+      for (CobolDialect dialect : dialects) {
+        if (parsedBlocks.containsKey(dialect)) {
+          ParsedExecBlocks blocks = awaitParsedBlocks(parsedBlocks.get(dialect));
+          acc = processDialect(acc, context -> ((ExecBlockDialect) dialect).processText(context, blocks), dialectProcessingContext);
+        } else {
+          acc = processDialect(acc, dialect, dialectProcessingContext);
+        }
+        dialectProcessingContext.getExtendedDocument().commitTransformations();
+      }
+      return acc;
+    } finally {
+      // stop the parsing that is not needed anymore if the analysis was interrupted or failed
+      parsedBlocks.values().forEach(future -> future.cancel(true));
+    }
+  }
+
+  /**
+   * Extract the embedded blocks of the text once and parse them for all the dialects concurrently.
+   * The results are valid until a dialect changes the blocks of the next ones.
+   */
+  private Map<CobolDialect, Future<ParsedExecBlocks>> parseExecBlocks(
+      List<CobolDialect> dialects, ExtendedDocument document) {
+    Map<CobolDialect, Future<ParsedExecBlocks>> result = new HashMap<>();
+    List<ExecBlockDialect> execBlockDialects = dialects.stream()
+        .filter(ExecBlockDialect.class::isInstance)
+        .map(ExecBlockDialect.class::cast)
+        .collect(Collectors.toList());
+    if (execBlockDialects.isEmpty()) {
+      return result;
+    }
+    ExecBlocks blocks = ExecBlockExtractor.extract(document.toString());
+    for (ExecBlockDialect dialect : execBlockDialects) {
+      result.put(dialect, parsingExecutor.submit(() -> dialect.parse(blocks, document.getUri())));
+    }
+    return result;
+  }
+
+  private static ParsedExecBlocks awaitParsedBlocks(Future<ParsedExecBlocks> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new UserInterruptException("Parsing interrupted by user.");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new UncheckedExecutionException(e.getCause());
     }
-    return acc;
   }
 
   /**
@@ -272,11 +333,18 @@ public class DialectService {
       ResultWithErrors<DialectOutcome> previousResult,
       CobolDialect dialect,
       DialectProcessingContext context) {
+    return processDialect(previousResult, dialect::processText, context);
+  }
+
+  private static ResultWithErrors<DialectOutcome> processDialect(
+      ResultWithErrors<DialectOutcome> previousResult,
+      Function<DialectProcessingContext, ResultWithErrors<DialectOutcome>> processor,
+      DialectProcessingContext context) {
     List<Node> nodes = new ArrayList<>(previousResult.getResult().getDialectNodes());
 
     List<SyntaxError> errors = new ArrayList<>(previousResult.getErrors());
 
-    DialectOutcome result = dialect.processText(context).unwrap(errors::addAll);
+    DialectOutcome result = processor.apply(context).unwrap(errors::addAll);
     nodes.addAll(result.getDialectNodes());
     return new ResultWithErrors<>(new DialectOutcome(nodes, context), errors);
   }
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.metrics;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+import lombok.Value;
+
+/**
+ * Statistics of a cache: the number of entries, the estimated retained bytes and the hits, misses
+ * and evictions since the cache was created
+ */
+@Value
+public class CacheSnapshot {
+  long entries;
+  long retainedBytes;
+  long hits;
+  long misses;
+  double hitRate;
+  long evictions;
+
+  /**
+   * Collect the statistics of the cache. The cache must be built with the statistics recording.
+   *
+   * @param cache the cache
+   * @param weigher the weigher the cache is limited by
+   * @param <K> the type of the keys
+   * @param <V> the type of the values
+   * @return the cache statistics
+   */
+  public static <K, V> CacheSnapshot of(Cache<K, V> cache, Weigher<K, V> weigher) {
+    CacheStats stats = cache.stats();
+    long retainedBytes = cache.asMap().entrySet().stream()
+        .mapToLong(entry -> weigher.weigh(entry.getKey(), entry.getValue()))
+        .sum();
+    return new CacheSnapshot(cache.size(), retainedBytes, stats.hitCount(), stats.missCount(), stats.hitRate(),
+        stats.evictionCount());
+  }
+}
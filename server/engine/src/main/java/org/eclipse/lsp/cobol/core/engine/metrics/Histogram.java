@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Rolling histogram of the last recorded values. Only a fixed number of the latest samples is kept,
+ * so the percentiles reflect the current behavior of the server and the memory footprint stays
+ * constant however long the server runs. The total count covers all the recorded values.
+ */
+public class Histogram {
+  private final long[] samples;
+  private long count;
+
+  public Histogram(int windowSize) {
+    if (windowSize <= 0) {
+      throw new IllegalArgumentException("The window size must be positive: " + windowSize);
+    }
+    samples = new long[windowSize];
+  }
+
+  /**
+   * Record a value, replacing the oldest one if the window is full
+   *
+   * @param value the value to record
+   */
+  public synchronized void record(long value) {
+    samples[(int) (count % samples.length)] = value;
+    count++;
+  }
+
+  /**
+   * Calculate the statistics of the values in the window
+   *
+   * @return the histogram snapshot
+   */
+  public HistogramSnapshot snapshot() {
+    long[] window;
+    long total;
+    synchronized (this) {
+      total = count;
+      window = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+    }
+    if (window.length == 0) {
+      return new HistogramSnapshot(0, 0, 0, 0, 0, 0, 0);
+    }
+    Arrays.sort(window);
+    long sum = 0;
+    for (long value : window) {
+      sum += value;
+    }
+    return new HistogramSnapshot(total, window[0], window[window.length - 1], sum / window.length,
+        percentile(window, 50), percentile(window, 95), percentile(window, 99));
+  }
+
+  // nearest-rank percentile of the sorted values
+  private static long percentile(long[] sorted, int percent) {
+    int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+    return sorted[Math.max(rank, 1) - 1];
+  }
+}
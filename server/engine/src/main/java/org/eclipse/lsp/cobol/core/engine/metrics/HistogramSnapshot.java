@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.metrics;
+
+import lombok.Value;
+
+/**
+ * Statistics of the values kept by a {@link Histogram}. The count includes all the recorded
+ * values, the rest is calculated over the rolling window.
+ */
+@Value
+public class HistogramSnapshot {
+  long count;
+  long min;
+  long max;
+  long mean;
+  long p50;
+  long p95;
+  long p99;
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.metrics;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.Weigher;
+import com.google.gson.GsonBuilder;
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * In-process registry of the server metrics: rolling histograms of the measured values, such as the
+ * pipeline stage timings, monotonic counters, such as the copybook resolution outcomes, gauges of
+ * the current values, such as the analysis queue depth, and the statistics of the registered caches. Recording is cheap, so the metrics are always collected.
+ *
+ * <p>The metrics are returned by the <code>extended/metrics</code> request. If the
+ * <code>metrics.dump.path</code> system property is set, they are also written there as JSON when
+ * the server shuts down.
+ */
+@Slf4j
+@Singleton
+public class MetricsRegistry {
+  public static final String METRICS_DUMP_PATH = "metrics.dump.path";
+  private static final int WINDOW_SIZE = 1024;
+
+  private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+  private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+  private final Map<String, Supplier<CacheSnapshot>> caches = new ConcurrentHashMap<>();
+
+  /**
+   * Record a value of the histogram with the given name
+   *
+   * @param name the histogram name
+   * @param value the measured value
+   */
+  public void record(String name, long value) {
+    histograms.computeIfAbsent(name, it -> new Histogram(WINDOW_SIZE)).record(value);
+  }
+
+  /**
+   * Increment the counter with the given name
+   *
+   * @param name the counter name
+   */
+  public void increment(String name) {
+    counters.computeIfAbsent(name, it -> new LongAdder()).increment();
+  }
+
+  /**
+   * Register a gauge that reads its current value when the metrics are collected. A gauge registered
+   * with the same name replaces the previous one.
+   *
+   * @param name the gauge name
+   * @param gauge the supplier of the current value
+   */
+  public void registerGauge(String name, LongSupplier gauge) {
+    gauges.put(name, gauge);
+  }
+
+  /**
+   * Register a cache to report its statistics. The cache must be built with the statistics recording.
+   * A cache registered with the same name replaces the previous one.
+   *
+   * @param name the cache name
+   * @param cache the cache
+   * @param weigher the weigher to estimate the retained size of the entries
+   * @param <K> the type of the keys
+   * @param <V> the type of the values
+   */
+  public <K, V> void registerCache(String name, Cache<K, V> cache, Weigher<K, V> weigher) {
+    caches.put(name, () -> CacheSnapshot.of(cache, weigher));
+  }
+
+  /**
+   * Collect the current state of all the metrics, sorted by name
+   *
+   * @return the metrics snapshot
+   */
+  public MetricsSnapshot snapshot() {
+    Map<String, HistogramSnapshot> histogramSnapshots = new TreeMap<>();
+    histograms.forEach((name, histogram) -> histogramSnapshots.put(name, histogram.snapshot()));
+    Map<String, Long> counterValues = new TreeMap<>();
+    counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+    Map<String, Long> gaugeValues = new TreeMap<>();
+    gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.getAsLong()));
+    Map<String, CacheSnapshot> cacheSnapshots = new TreeMap<>();
+    caches.forEach((name, cache) -> cacheSnapshots.put(name, cache.get()));
+    return new MetricsSnapshot(histogramSnapshots, counterValues, gaugeValues, cacheSnapshots);
+  }
+
+  /**
+   * Write the metrics as JSON to the path from the <code>metrics.dump.path</code> system property,
+   * if it is set
+   */
+  public void dump() {
+    Optional.ofNullable(System.getProperty(METRICS_DUMP_PATH))
+        .map(Paths::get)
+        .ifPresent(this::dump);
+  }
+
+  /**
+   * Write the metrics as JSON to the given file
+   *
+   * @param path the file to write
+   */
+  public void dump(Path path) {
+    try {
+      LOG.info("Write metrics into: " + path);
+      Files.write(path, new GsonBuilder().setPrettyPrinting().create().toJson(snapshot())
+          .getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      LOG.warn("Cannot write metrics into " + path, e);
+    }
+  }
+}
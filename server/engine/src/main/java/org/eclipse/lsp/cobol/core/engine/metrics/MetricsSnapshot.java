@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.metrics;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * The state of all the metrics at some moment, returned by the <code>extended/metrics</code>
+ * request
+ */
+@Value
+public class MetricsSnapshot {
+  Map<String, HistogramSnapshot> histograms;
+  Map<String, Long> counters;
+  Map<String, Long> gauges;
+  Map<String, CacheSnapshot> caches;
+}
@@ -17,6 +17,7 @@ package org.eclipse.lsp.cobol.core.engine.pipeline;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
 import org.eclipse.lsp.cobol.core.engine.analysis.Timing;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -31,6 +32,11 @@ import java.util.*;
 public class Pipeline {
   private static final String PERFORMANCE_LOG_PATH = "performance.log.path";
   private final List<Stage<?, ?>> stages = new LinkedList<>();
+  private final MetricsRegistry metricsRegistry;
+
+  public Pipeline(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+  }
 
   /**
    * Adds a new stage to the pipeline
@@ -60,10 +66,27 @@ public class Pipeline {
       }
       return result;
     } finally {
+      recordMetrics(timing, context);
       logTiming(timing, context);
     }
   }
 
+  private void recordMetrics(Map<String, Timing> timing, AnalysisContext context) {
+    long total = 0;
+    for (Map.Entry<String, Timing> stage : timing.entrySet()) {
+      metricsRegistry.record("stage." + stage.getKey() + ".nanos", stage.getValue().getNanoTime());
+      if (stage.getValue().getAllocatedBytes() >= 0) {
+        metricsRegistry.record("stage." + stage.getKey() + ".bytes", stage.getValue().getAllocatedBytes());
+      }
+      total += stage.getValue().getNanoTime();
+    }
+    metricsRegistry.record("pipeline.nanos", total);
+    metricsRegistry.record("document.chars", context.getExtendedDocument().getOriginalText().length());
+    // the copybooks are known only if the preprocessor stage ran
+    Optional.ofNullable(context.getCopybooksRepository())
+        .ifPresent(copybooks -> metricsRegistry.record("document.copybooks", copybooks.getDefinitions().keySet().size()));
+  }
+
   private void logTiming(Map<String, Timing> timing, AnalysisContext context) {
     timing.forEach((key, value) -> LOG.debug("Timing for {}: {}", key, value.getTime()));
     Optional.ofNullable(System.getProperty(PERFORMANCE_LOG_PATH))
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.pipeline.stages;
+
+import lombok.RequiredArgsConstructor;
+import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.eclipse.lsp.cobol.common.dialects.CobolDialect;
+import org.eclipse.lsp.cobol.common.utils.StringUtils;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
+import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
+import org.eclipse.lsp.cobol.core.engine.pipeline.PipelineResult;
+import org.eclipse.lsp.cobol.core.engine.pipeline.Stage;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the copybooks used by the program before the preprocessing. The copy statements are found
+ * in the text without parsing, and all the copybooks of the same nesting level are requested at once.
+ * So the preprocessor takes the copybooks from the cache and the resolving takes one round trip per
+ * nesting level instead of one per copy statement.
+ */
+@RequiredArgsConstructor
+public class CopybookPrefetchStage implements Stage<Void, Void> {
+  private static final Pattern COPY_STATEMENT =
+      Pattern.compile(
+          "(?<![\\w-])(?:COPY|\\+\\+INCLUDE|EXEC\\s+SQL\\s+INCLUDE)\\s+(?<name>\"[^\"\\n]+\"|'[^'\\n]+'|[\\w-]+)"
+              + "(?=\\s*(?:\\.|;|SUPPRESS\\b|REPLACING\\b|END-EXEC\\b))",
+          Pattern.CASE_INSENSITIVE);
+
+  private final DialectService dialectService;
+  private final CopybookService copybookService;
+
+  @Override
+  public PipelineResult<Void> run(AnalysisContext context, PipelineResult<Void> prevPipelineResult) {
+    if (!context.getConfig().getCopybookProcessingMode().analyze) {
+      return new PipelineResult<>(null);
+    }
+    dialectService.updateDialects(context.getConfig().getDialectRegistry());
+    List<CobolDialect> dialects = context.getConfig().getDialects().stream()
+        .map(dialectService::getDialectByName)
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .collect(Collectors.toList());
+
+    String programUri = context.getExtendedDocument().getUri();
+    Set<CopybookName> processed = new HashSet<>();
+    List<CopybookName> wave = findCopybooks(context.getExtendedDocument().toString(), dialects, processed);
+    while (!wave.isEmpty()) {
+      List<CopybookName> nextWave = new ArrayList<>();
+      for (CopybookModel copybook : copybookService.prefetch(wave, programUri)) {
+        nextWave.addAll(findCopybooks(copybook.getContent(), dialects, processed));
+      }
+      wave = nextWave;
+    }
+    return new PipelineResult<>(null);
+  }
+
+  @Override
+  public String getName() {
+    return "Copybook prefetch";
+  }
+
+  private static List<CopybookName> findCopybooks(String text, List<CobolDialect> dialects, Set<CopybookName> processed) {
+    List<CopybookName> result = new ArrayList<>();
+    if (text == null) {
+      return result;
+    }
+    Matcher matcher = COPY_STATEMENT.matcher(text);
+    while (matcher.find()) {
+      CopybookName name = new CopybookName(StringUtils.trimQuotes(matcher.group("name")));
+      if (processed.add(name)) {
+        result.add(name);
+      }
+    }
+    for (CobolDialect dialect : dialects) {
+      dialect.findCopybooks(text).stream().filter(processed::add).forEach(result::add);
+    }
+    return result;
+  }
+}
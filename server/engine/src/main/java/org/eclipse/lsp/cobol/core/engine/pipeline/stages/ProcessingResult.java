@@ -16,6 +16,7 @@ package org.eclipse.lsp.cobol.core.engine.pipeline.stages;
 
 import lombok.Value;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
+import org.eclipse.lsp.cobol.common.symbols.CompletionIndex;
 import org.eclipse.lsp.cobol.common.symbols.SymbolTable;
 
 import java.util.Map;
@@ -27,4 +28,5 @@ import java.util.Map;
 public class ProcessingResult {
   Map<String, SymbolTable> symbolTableMap;
   Node rootNode;
+  CompletionIndex completionIndex;
 }
@@ -31,6 +31,7 @@ import org.eclipse.lsp.cobol.common.model.tree.statements.StatementNode;
 import org.eclipse.lsp.cobol.common.model.tree.variable.*;
 import org.eclipse.lsp.cobol.common.model.tree.variables.FileDescriptionNode;
 import org.eclipse.lsp.cobol.common.processor.*;
+import org.eclipse.lsp.cobol.common.symbols.CompletionIndex;
 import org.eclipse.lsp.cobol.common.utils.RangeUtils;
 import org.eclipse.lsp.cobol.core.CobolParser;
 import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
@@ -73,9 +74,10 @@ public class TransformTreeStage implements Stage<ProcessingResult, ParserStageRe
     SymbolAccumulatorService symbolAccumulatorService = new SymbolAccumulatorService();
     Node rootNode = processSyntaxTree(context.getConfig(), symbolAccumulatorService, context, syntaxTree);
 
-    symbolsRepository.updateSymbols(symbolAccumulatorService.getProgramSymbols());
+    symbolsRepository.updateSymbols(context.getExtendedDocument().getUri(), symbolAccumulatorService.getProgramSymbols());
 
-    return new PipelineResult<>(new ProcessingResult(symbolAccumulatorService.getProgramSymbols(), rootNode));
+    CompletionIndex completionIndex = CompletionIndex.build(rootNode, symbolAccumulatorService.getProgramSymbols());
+    return new PipelineResult<>(new ProcessingResult(symbolAccumulatorService.getProgramSymbols(), rootNode, completionIndex));
   }
 
   @Override
@@ -84,15 +86,7 @@ public class TransformTreeStage implements Stage<ProcessingResult, ParserStageRe
   }
 
   private void addDialectsNode(AnalysisContext context, Node rootNode) {
-    for (Node dialectNode : context.getDialectNodes()) {
-      Optional<Node> nodeByPosition =
-          RangeUtils.findNodeByPosition(
-              rootNode,
-              dialectNode.getLocality().getUri(),
-              dialectNode.getLocality().getRange().getStart());
-
-      nodeByPosition.orElse(rootNode).addChild(dialectNode);
-    }
+    RangeUtils.addNodesByPosition(rootNode, context.getDialectNodes());
   }
 
   private void addCopyNodes(AnalysisContext context, Node rootNode) {
@@ -118,15 +112,7 @@ public class TransformTreeStage implements Stage<ProcessingResult, ParserStageRe
   }
 
   private void addEmbeddedNodes(Node rootNode, List<Node> embeddedNodes) {
-    for (Node dialectNode : embeddedNodes) {
-      Optional<Node> nodeByPosition =
-          RangeUtils.findNodeByPosition(
-              rootNode,
-              dialectNode.getLocality().getUri(),
-              dialectNode.getLocality().getRange().getStart());
-
-      nodeByPosition.orElse(rootNode).addChild(dialectNode);
-    }
+    RangeUtils.addNodesByPosition(rootNode, embeddedNodes);
   }
 
   private Node processSyntaxTree(AnalysisConfig analysisConfig, SymbolAccumulatorService symbolAccumulatorService, AnalysisContext ctx, List<Node> syntaxTree) {
@@ -18,17 +18,22 @@ import org.eclipse.lsp.cobol.common.error.SyntaxError;
 import org.eclipse.lsp.cobol.common.model.tree.Node;
 import org.eclipse.lsp.cobol.common.processor.ProcessingContext;
 import org.eclipse.lsp.cobol.common.processor.ProcessingPhase;
-import org.eclipse.lsp.cobol.common.processor.Processor;
 import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 
 /**
  * AST processor. This class contains node type specific processors and handles abstract syntax tree
  * processing.
+ *
+ * <p>The processors that apply to a node class are resolved once for every set of the registered
+ * node classes, so the analyses with the same dialects share the dispatch tables, and processing a
+ * node doesn't check the class hierarchy or allocate anything.
  */
 public class AstProcessor {
+  private final Map<List<Class<? extends Node>>, ClassValue<int[]>> dispatchTables = new ConcurrentHashMap<>();
 
   /**
    * The entry point to AST processing
@@ -53,24 +58,48 @@ public class AstProcessor {
    */
   public void process(ProcessingPhase phase, Node node, ProcessingContext ctx) {
     ThreadInterruptionUtil.checkThreadInterrupted();
-    findProcessors(ctx, phase, node.getClass()).forEach(p -> ((Processor<Node>) p).accept(node, ctx));
-    node.getChildren().forEach(n -> process(phase, n, ctx));
+    Map<Class<? extends Node>, List<BiConsumer<? extends Node, ProcessingContext>>> registered =
+        ctx.getProcessors().get(phase);
+    if (registered == null || registered.isEmpty()) {
+      return;
+    }
+    List<Class<? extends Node>> nodeClasses = new ArrayList<>();
+    List<BiConsumer<Node, ProcessingContext>> processors = new ArrayList<>();
+    registered.forEach((nodeClass, list) -> list.forEach(processor -> {
+      nodeClasses.add(nodeClass);
+      processors.add((BiConsumer<Node, ProcessingContext>) processor);
+    }));
+    process(dispatchTables.computeIfAbsent(nodeClasses, AstProcessor::createDispatchTable), processors, node, ctx);
   }
 
-  private List<Processor<? extends Node>> findProcessors(ProcessingContext ctx,
-                                               ProcessingPhase phase, Class<? extends Node> nodeClass) {
-    List<Processor<? extends Node>> result = new ArrayList<>();
-    if (!ctx.getProcessors().containsKey(phase)) {
-      return result;
+  private void process(ClassValue<int[]> dispatchTable, List<BiConsumer<Node, ProcessingContext>> processors,
+                       Node node, ProcessingContext ctx) {
+    ThreadInterruptionUtil.checkThreadInterrupted();
+    for (int index : dispatchTable.get(node.getClass())) {
+      processors.get(index).accept(node, ctx);
+    }
+    for (Node child : node.getChildren()) {
+      process(dispatchTable, processors, child, ctx);
     }
-    ctx.getProcessors()
-        .get(phase)
-        .forEach(
-            (key, value) -> {
-              if (key.isAssignableFrom(nodeClass)) {
-                value.forEach(v -> result.add((Processor<? extends Node>) v));
-              }
-            });
-    return result;
+  }
+
+  /**
+   * Create the table that returns the indexes of the processors applicable to a node class in the
+   * registration order
+   */
+  private static ClassValue<int[]> createDispatchTable(List<Class<? extends Node>> nodeClasses) {
+    return new ClassValue<int[]>() {
+      @Override
+      protected int[] computeValue(Class<?> type) {
+        int[] indexes = new int[nodeClasses.size()];
+        int count = 0;
+        for (int i = 0; i < nodeClasses.size(); i++) {
+          if (nodeClasses.get(i).isAssignableFrom(type)) {
+            indexes[count++] = i;
+          }
+        }
+        return Arrays.copyOf(indexes, count);
+      }
+    };
   }
 }
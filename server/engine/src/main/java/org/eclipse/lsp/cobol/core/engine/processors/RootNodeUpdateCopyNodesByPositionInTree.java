@@ -38,15 +38,9 @@ public class RootNodeUpdateCopyNodesByPositionInTree implements Processor<RootNo
     List<Node> nodes =
         node.getChildren().stream().filter(Node.hasType(NodeType.COPY)).collect(toList());
     nodes.forEach(node::removeChild);
-    nodes.forEach(
-        it ->
-            RangeUtils.findNodeByPosition(
-                    node, it.getLocality().getUri(), it.getLocality().getRange().getStart())
-                .orElse(node)
-                .addChild(it));
-
-    List<CopyNode> copyNodes = node.getDepthFirstStream()
-        .filter(Node.hasType(NodeType.COPY))
+    RangeUtils.addNodesByPosition(node, nodes);
+
+    List<CopyNode> copyNodes = node.getNodesByType(NodeType.COPY).stream()
         .map(CopyNode.class::cast)
         .collect(toList());
 
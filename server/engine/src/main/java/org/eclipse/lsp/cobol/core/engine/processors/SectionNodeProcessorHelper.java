@@ -123,8 +123,8 @@ public class SectionNodeProcessorHelper {
 
     List<CopyNode> allCopybooks =
         copybooks.stream()
-            .flatMap(Node::getDepthFirstStream)
-            .filter(n -> n.getNodeType() == NodeType.COPY)
+            .map(copybook -> copybook.getNodesByType(NodeType.COPY))
+            .flatMap(List::stream)
             .map(CopyNode.class::cast)
             .collect(Collectors.toList());
 
@@ -563,8 +563,8 @@ public class SectionNodeProcessorHelper {
     List<SyntaxError> errors = new ArrayList<>();
     List<VariableNode> nodesForRenaming =
         group.getChildren().stream()
-            .flatMap(Node::getDepthFirstStream)
-            .filter(hasType(NodeType.VARIABLE))
+            .map(child -> child.getNodesByType(NodeType.VARIABLE))
+            .flatMap(List::stream)
             .map(VariableNode.class::cast)
             .collect(Collectors.toList());
     if (renames == null) return new ResultWithErrors<>(-1, errors);
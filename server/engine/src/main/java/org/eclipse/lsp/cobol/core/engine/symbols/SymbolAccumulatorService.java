@@ -41,8 +41,6 @@ import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
-
 /** Service to handle symbol information and dependencies */
 public class SymbolAccumulatorService implements VariableAccumulator {
   private final Map<String, SymbolTable> programSymbols;
@@ -71,8 +69,8 @@ public class SymbolAccumulatorService implements VariableAccumulator {
     // collect them
     List<VariableNode> variables =
         node.getChildren().stream()
-            .flatMap(Node::getDepthFirstStream)
-            .filter(hasType(NodeType.VARIABLE))
+            .map(child -> child.getNodesByType(NodeType.VARIABLE))
+            .flatMap(List::stream)
             .map(VariableNode.class::cast)
             .collect(Collectors.toList());
     node.getProgram()
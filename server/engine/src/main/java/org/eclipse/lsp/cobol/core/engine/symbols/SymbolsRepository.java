@@ -16,6 +16,7 @@ package org.eclipse.lsp.cobol.core.engine.symbols;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Multimap;
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.Synchronized;
 import lombok.Value;
@@ -28,6 +29,8 @@ import org.eclipse.lsp.cobol.common.symbols.CodeBlockReference;
 import org.eclipse.lsp.cobol.common.symbols.SymbolTable;
 import org.eclipse.lsp.cobol.common.utils.ImplicitCodeUtils;
 import org.eclipse.lsp.cobol.common.AnalysisResult;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
+import org.eclipse.lsp.cobol.service.utils.SizeEstimates;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 
@@ -35,31 +38,128 @@ import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import static org.eclipse.lsp.cobol.common.utils.RangeUtils.findNodeByPosition;
 
-/** This class is a repository for symbols */
+/**
+ * This class is a repository for symbols. The symbols are stored per document, and each analysis
+ * replaces all the symbols of the previous revision of the document. The symbols of the documents
+ * that are not opened, either closed or analyzed without opening, are kept until their estimated
+ * size exceeds the budget set by the {@value BUDGET_PROPERTY} system property in megabytes, then
+ * the least recently analyzed documents are evicted. The entry and document counts and the
+ * estimated size are reported to the {@link MetricsRegistry}.
+ */
 @Singleton
 @Slf4j
 public class SymbolsRepository {
+  public static final String BUDGET_PROPERTY = "symbols.repository.budget";
+  private static final long DEFAULT_BUDGET = 256;
+  // a location with its range and positions, the URI string is shared with the other locations
+  private static final long LOCATION_SIZE = 2 * SizeEstimates.ENTRY_OVERHEAD;
+
   private final Map<String, SymbolTable> programSymbols;
+  // in the order of the analyses, so the least recently analyzed documents are evicted first
+  private final Map<String, DocumentSymbols> documentSymbols = new LinkedHashMap<>();
+  private final Set<String> openedDocuments = new HashSet<>();
+  private final long budget;
+  private long revision;
+  private long estimatedSize;
+
+  @Inject
+  public SymbolsRepository(MetricsRegistry metricsRegistry) {
+    this(Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET) * 1024 * 1024, metricsRegistry);
+  }
 
-  public SymbolsRepository() {
-    programSymbols = Collections.synchronizedMap(new HashMap<>());
+  @VisibleForTesting
+  SymbolsRepository(long budget, MetricsRegistry metricsRegistry) {
+    programSymbols = new HashMap<>();
+    this.budget = budget;
+    metricsRegistry.registerGauge("symbols.entries", this::getEntryCount);
+    metricsRegistry.registerGauge("symbols.documents", this::getDocumentCount);
+    metricsRegistry.registerGauge("symbols.bytes", this::getEstimatedSize);
   }
 
   @VisibleForTesting
   public SymbolsRepository(Map<String, SymbolTable> symbols) {
     programSymbols = symbols;
+    budget = Long.MAX_VALUE;
   }
 
   /**
-   * Updates the symbol
+   * Replaces the symbols of the document with the result of its new analysis
    *
+   * @param uri the document uri
    * @param symbols updated symbols upon analysis
    */
   @Synchronized
-  public void updateSymbols(Map<String, SymbolTable> symbols) {
+  public void updateSymbols(String uri, Map<String, SymbolTable> symbols) {
+    removeDocument(uri);
+    DocumentSymbols document = new DocumentSymbols(++revision, new HashSet<>(symbols.keySet()), estimateSize(symbols));
+    documentSymbols.put(uri, document);
     programSymbols.putAll(symbols);
+    estimatedSize += document.getSize();
+    evict();
+  }
+
+  /**
+   * Marks the document as opened, so its symbols are not evicted
+   *
+   * @param uri the document uri
+   */
+  @Synchronized
+  public void openDocument(String uri) {
+    openedDocuments.add(uri);
+  }
+
+  /**
+   * Marks the document as closed, so its symbols may be evicted
+   *
+   * @param uri the document uri
+   */
+  @Synchronized
+  public void closeDocument(String uri) {
+    if (openedDocuments.remove(uri)) {
+      evict();
+    }
+  }
+
+  /**
+   * Returns the revision of the stored symbols of the document
+   *
+   * @param uri the document uri
+   * @return the revision, or empty if there are no symbols of the document
+   */
+  @Synchronized
+  public Optional<Long> getRevision(String uri) {
+    return Optional.ofNullable(documentSymbols.get(uri)).map(DocumentSymbols::getRevision);
+  }
+
+  /**
+   * Returns the number of the stored symbol tables
+   *
+   * @return the number of the program symbol tables
+   */
+  @Synchronized
+  public int getEntryCount() {
+    return programSymbols.size();
+  }
+
+  /**
+   * Returns the number of the documents with the stored symbols
+   *
+   * @return the number of the documents
+   */
+  @Synchronized
+  public int getDocumentCount() {
+    return documentSymbols.size();
+  }
+
+  /**
+   * Returns the estimated size of the stored symbols
+   *
+   * @return the size in bytes
+   */
+  @Synchronized
+  public long getEstimatedSize() {
+    return estimatedSize;
   }
 
   /**
@@ -103,7 +203,7 @@ public class SymbolsRepository {
     if (result == null || result.getRootNode() == null) {
       return Optional.empty();
     }
-    Optional<Node> node = findNodeByPosition(result.getRootNode(), uri, position);
+    Optional<Node> node = result.getNodeIndex().findNodeByPosition(uri, position);
 
     return node.filter(DefinedAndUsedStructure.class::isInstance)
         .map(DefinedAndUsedStructure.class::cast)
@@ -124,8 +224,66 @@ public class SymbolsRepository {
 
   @Synchronized
   private SymbolTable getSymbolTable(ProgramNode program) {
-    return programSymbols.computeIfAbsent(
-        SymbolTable.generateKey(program), p -> new SymbolTable());
+    // don't store the empty tables, they would not belong to any document
+    return programSymbols.getOrDefault(SymbolTable.generateKey(program), new SymbolTable());
+  }
+
+  private void removeDocument(String uri) {
+    DocumentSymbols document = documentSymbols.remove(uri);
+    if (document != null) {
+      programSymbols.keySet().removeAll(document.getKeys());
+      estimatedSize -= document.getSize();
+    }
+  }
+
+  private void evict() {
+    if (estimatedSize <= budget) {
+      return;
+    }
+    Iterator<String> candidates = documentSymbols.keySet().stream()
+        .filter(uri -> !openedDocuments.contains(uri))
+        .collect(Collectors.toList())
+        .iterator();
+    while (estimatedSize > budget && candidates.hasNext()) {
+      String uri = candidates.next();
+      LOG.debug("Evict symbols of {}", uri);
+      removeDocument(uri);
+    }
+  }
+
+  private static long estimateSize(Map<String, SymbolTable> symbols) {
+    long size = 0;
+    for (Map.Entry<String, SymbolTable> table : symbols.entrySet()) {
+      size += SizeEstimates.ENTRY_OVERHEAD + SizeEstimates.of(table.getKey());
+      for (Map.Entry<String, VariableNode> variable : table.getValue().getVariables().entries()) {
+        size += SizeEstimates.ENTRY_OVERHEAD + SizeEstimates.of(variable.getKey()) + estimateSize(variable.getValue());
+      }
+      size += estimateCodeBlocksSize(table.getValue().getParagraphMap());
+      size += estimateCodeBlocksSize(table.getValue().getSectionMap());
+    }
+    return size;
+  }
+
+  private static long estimateSize(VariableNode variable) {
+    // the child variables are the entries of the table themselves, so only the node is counted
+    return SizeEstimates.ENTRY_OVERHEAD + SizeEstimates.of(variable.getName())
+        + LOCATION_SIZE * (variable.getDefinitions().size() + variable.getUsages().size());
+  }
+
+  private static long estimateCodeBlocksSize(Map<String, CodeBlockReference> codeBlocks) {
+    long size = 0;
+    for (Map.Entry<String, CodeBlockReference> codeBlock : codeBlocks.entrySet()) {
+      size += SizeEstimates.ENTRY_OVERHEAD + SizeEstimates.of(codeBlock.getKey())
+          + LOCATION_SIZE * (codeBlock.getValue().getDefinitions().size() + codeBlock.getValue().getUsage().size());
+    }
+    return size;
+  }
+
+  @Value
+  private static class DocumentSymbols {
+    long revision;
+    Set<String> keys;
+    long size;
   }
 
   @Value
@@ -15,6 +15,9 @@
 
 package org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.AllArgsConstructor;
@@ -71,8 +74,13 @@ public class ReplacingServiceImpl implements ReplacingService {
 
   private static final String ERROR_REPLACING = "Error replacing on text: %s with the pattern: %s";
   private static final int INDIVIDUAL_WORD_VALID_LENGTH = 322;
+  private static final int PATTERN_CACHE_SIZE = 1000;
 
   private final MessageService messageService;
+  private final LoadingCache<String, Pattern> patternCache =
+      CacheBuilder.newBuilder()
+          .maximumSize(PATTERN_CACHE_SIZE)
+          .build(CacheLoader.from(regex -> Pattern.compile(regex, Pattern.CASE_INSENSITIVE)));
 
   @Inject
   public ReplacingServiceImpl(MessageService messageService) {
@@ -230,35 +238,54 @@ public class ReplacingServiceImpl implements ReplacingService {
   }
 
   private void replace(@NonNull ExtendedDocument extendedDocument, @NonNull Pair<String, String> pattern, @NonNull Range scope) {
-    if (StringUtils.isBlank(extendedDocument.toString())) {
+    String text = extendedDocument.toString();
+    if (StringUtils.isBlank(text)) {
       return;
     }
-    String text = extendedDocument.toString();
     try {
-      Matcher matcher = Pattern.compile(pattern.getLeft(), Pattern.CASE_INSENSITIVE).matcher(text);
+      Matcher matcher = patternCache.getUnchecked(pattern.getLeft()).matcher(text);
+      int[] lineStarts = null;
+      List<Range> ranges = new ArrayList<>();
       while (matcher.find()) {
-        Range range = getRange(text, matcher);
+        if (lineStarts == null) {
+          lineStarts = getLineStarts(text);
+        }
+        Range range = getRange(lineStarts, matcher);
         if (RangeUtils.isInside(range, scope)) {
-          extendedDocument.replace(range, pattern.getRight());
+          ranges.add(range);
         }
       }
+      extendedDocument.replaceAll(ranges, pattern.getRight());
       extendedDocument.commitTransformations();
     } catch (IndexOutOfBoundsException e) {
       LOG.error(format(ERROR_REPLACING, text, pattern), e);
     }
   }
 
-  private Range getRange(String text, Matcher matcher) {
-    Position start = getPosition(text, matcher.start());
-    Position end = getPosition(text, matcher.end());
+  private static Range getRange(int[] lineStarts, Matcher matcher) {
+    Position start = getPosition(lineStarts, matcher.start());
+    Position end = getPosition(lineStarts, matcher.end());
     return new Range(start, new Position(end.getLine(), end.getCharacter() - 1));
   }
 
-  private Position getPosition(String text, int positionInFile) {
-    String prefix = text.substring(0, positionInFile);
-    int character = positionInFile - prefix.lastIndexOf("\n") - 1;
-    int line = StringUtils.countMatches(prefix, "\n");
-    return new Position(line, character);
+  private static Position getPosition(int[] lineStarts, int positionInFile) {
+    int line = Arrays.binarySearch(lineStarts, positionInFile);
+    if (line < 0) {
+      line = -line - 2;
+    }
+    return new Position(line, positionInFile - lineStarts[line]);
+  }
+
+  private static int[] getLineStarts(String text) {
+    int[] lineStarts = new int[16];
+    int count = 1;
+    for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+      if (count == lineStarts.length) {
+        lineStarts = Arrays.copyOf(lineStarts, count * 2);
+      }
+      lineStarts[count++] = i + 1;
+    }
+    return Arrays.copyOf(lineStarts, count);
   }
 
   private Function<String, Boolean> checkContainWord(String check) {
@@ -17,10 +17,8 @@ package org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement;
 
 import com.google.common.collect.ImmutableList;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * ENUM class for different search patterns in replace clauses. Also, decides the matching pattern
@@ -56,7 +54,7 @@ public enum SearchPattern {
   };
 
   private static String adjustSpaces(String escapeSpecialCharacters) {
-    return String.join("\\s*", escapeSpecialCharacters.split("[\\r\\n]*\\s"));
+    return String.join("\\s*", SPACES.split(escapeSpecialCharacters));
   }
 
   private static boolean isQuotedString(String text) {
@@ -81,19 +79,17 @@ public enum SearchPattern {
   private static final List<String> COBOL_SEPARATORS_END =
       ImmutableList.of(";", ")", ":", ",");
   private static final String WORD_BOUNDARY = "\\b";
-  private static final List<String> META_CHARACTERS =
-      ImmutableList.of(
-          "\\", "^", "$", "{", "}", "[", "]", "(", ")", ".", "*", "+", "?", "|", "<", ">", "-", "&",
-          "%");
+  private static final String META_CHARACTERS = "\\^${}[]().*+?|<>-&%";
+  private static final Pattern SPACES = Pattern.compile("[\\r\\n]*\\s");
 
   private static String escapeSpecialCharacters(String trim) {
-    return Arrays.stream(trim.split(""))
-        .map(
-            c -> {
-              if (META_CHARACTERS.contains(c)) return "\\" + c;
-              else return c;
-            })
-        .collect(Collectors.joining());
+    StringBuilder result = new StringBuilder(trim.length() * 2);
+    for (int i = 0; i < trim.length(); i++) {
+      char c = trim.charAt(i);
+      if (META_CHARACTERS.indexOf(c) >= 0) result.append('\\');
+      result.append(c);
+    }
+    return result.toString();
   }
 
   /**
@@ -18,11 +18,19 @@ package org.eclipse.lsp.cobol.domain.modules;
 import com.google.inject.AbstractModule;
 import com.google.inject.name.Names;
 
-/** This module provides DI bindings with default values for databus parameters. */
+/**
+ * This module provides DI bindings with default values for databus parameters. The caches are limited
+ * by the estimated retained size; the limit of each cache is set by the {@value CACHE_BUDGET_PROPERTY}
+ * system property in megabytes.
+ */
 public class DatabusModule extends AbstractModule {
+  public static final String CACHE_BUDGET_PROPERTY = "cache.budget";
+  private static final long DEFAULT_CACHE_BUDGET = 64;
+
   @Override
   protected void configure() {
-    bindConstant().annotatedWith(Names.named("CACHE-MAX-SIZE")).to(1500);
+    bindConstant().annotatedWith(Names.named("CACHE-MAX-WEIGHT"))
+        .to(Long.getLong(CACHE_BUDGET_PROPERTY, DEFAULT_CACHE_BUDGET) * 1024 * 1024);
     bindConstant().annotatedWith(Names.named("CACHE-DURATION")).to(3);
     bindConstant().annotatedWith(Names.named("CACHE-TIME-UNIT")).to("HOURS");
     bindConstant().annotatedWith(Names.named("CORE-POOL-SIZE")).to(4);
@@ -21,7 +21,6 @@ import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
-import org.eclipse.lsp.cobol.common.dialects.CobolDialect;
 import org.eclipse.lsp.cobol.common.dialects.DialectOutcome;
 import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
@@ -31,17 +30,22 @@ import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.common.model.tree.SectionNode;
 import org.eclipse.lsp.cobol.common.processor.ProcessingPhase;
 import org.eclipse.lsp.cobol.common.processor.ProcessorDescription;
+import org.eclipse.lsp.cobol.common.utils.TwoStageParsingUtil;
 import org.eclipse.lsp.cobol.implicitDialects.cics.nodes.ExecCicsNode;
 import org.eclipse.lsp.cobol.implicitDialects.cics.processor.CICSExecBlockProcessor;
 import org.eclipse.lsp.cobol.implicitDialects.cics.processor.CICSImplicitVariablesProcessor;
 import org.eclipse.lsp.cobol.implicitDialects.cics.processor.CICSTranslateMandatorySectionProcess;
+import org.eclipse.lsp.cobol.implicitDialects.utils.ExecBlock;
+import org.eclipse.lsp.cobol.implicitDialects.utils.ExecBlockDialect;
+import org.eclipse.lsp.cobol.implicitDialects.utils.ExecBlockType;
+import org.eclipse.lsp.cobol.implicitDialects.utils.ParsedExecBlocks;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /** CICS dialect */
 @Slf4j
-public class CICSDialect implements CobolDialect {
+public class CICSDialect extends ExecBlockDialect {
 
   public static final String DIALECT_NAME = "cics";
   private final CopybookService copybookService;
@@ -58,20 +62,20 @@ public class CICSDialect implements CobolDialect {
   }
 
   @Override
-  public ResultWithErrors<DialectOutcome> processText(DialectProcessingContext context) {
-    CICSVisitor cicsVisitor = new CICSVisitor(context, messageService);
+  protected ExecBlockType getBlockType() {
+    return ExecBlockType.CICS;
+  }
 
-    List<SyntaxError> parseError = new ArrayList<>();
+  @Override
+  protected ResultWithErrors<DialectOutcome> process(
+      DialectProcessingContext context, ParsedExecBlocks parsedBlocks) {
+    CICSVisitor cicsVisitor = new CICSVisitor(context, messageService);
 
-    // parse the document text to get parseTree
-    CICSParser.StartRuleContext startRuleContext =
-        parseCICS(
-            context.getExtendedDocument().toString(),
-            context.getExtendedDocument().getUri(),
-            parseError);
+    List<SyntaxError> parseError = new ArrayList<>(parsedBlocks.getErrors());
 
-    // Traverse the parse tree to generate dialect specific nodes
-    List<Node> nodes = new ArrayList<>(cicsVisitor.visitStartRule(startRuleContext));
+    // Traverse the parse trees of the blocks to generate dialect specific nodes
+    List<Node> nodes = new ArrayList<>();
+    parsedBlocks.getTrees().forEach(tree -> nodes.addAll(cicsVisitor.visit(tree)));
 
     // Add nodes returned by extend method. Not needed here.
     nodes.addAll(context.getDialectNodes());
@@ -99,9 +103,12 @@ public class CICSDialect implements CobolDialect {
             new CICSExecBlockProcessor(messageService)));
   }
 
-  private CICSParser.StartRuleContext parseCICS(
-      String text, String programDocumentUri, List<SyntaxError> errors) {
-    CICSLexer lexer = new CICSLexer(CharStreams.fromString(text));
+  @Override
+  protected CICSParser.StartRuleContext parseBlock(
+      ExecBlock block, String programDocumentUri, List<SyntaxError> errors) {
+    CICSLexer lexer = new CICSLexer(CharStreams.fromString(block.getText()));
+    lexer.setLine(block.getLine() + 1);
+    lexer.setCharPositionInLine(block.getCharacter());
     CommonTokenStream tokens = new CommonTokenStream(lexer);
     CICSParser parser = new CICSParser(tokens);
     CICSErrorListener listener = new CICSErrorListener(programDocumentUri);
@@ -111,7 +118,7 @@ public class CICSDialect implements CobolDialect {
     parser.addErrorListener(listener);
     parser.setErrorHandler(new CICSErrorStrategy(messageService));
 
-    CICSParser.StartRuleContext result = parser.startRule();
+    CICSParser.StartRuleContext result = TwoStageParsingUtil.parse(parser, parser::startRule);
     errors.addAll(listener.getErrors());
     return result;
   }
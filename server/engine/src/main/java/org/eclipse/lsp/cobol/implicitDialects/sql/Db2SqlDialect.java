@@ -25,7 +25,6 @@ import org.antlr.v4.runtime.CommonTokenStream;
 import org.eclipse.lsp.cobol.common.AnalysisConfig;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
 import org.eclipse.lsp.cobol.common.copybook.*;
-import org.eclipse.lsp.cobol.common.dialects.CobolDialect;
 import org.eclipse.lsp.cobol.common.dialects.DialectOutcome;
 import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
 import org.eclipse.lsp.cobol.common.error.SyntaxError;
@@ -37,15 +36,20 @@ import org.eclipse.lsp.cobol.common.processor.ProcessingPhase;
 import org.eclipse.lsp.cobol.common.processor.ProcessorDescription;
 import org.eclipse.lsp.cobol.common.utils.ImplicitCodeUtils;
 import org.eclipse.lsp.cobol.common.utils.PredefinedCopybooks;
+import org.eclipse.lsp.cobol.common.utils.TwoStageParsingUtil;
 import org.eclipse.lsp.cobol.implicitDialects.sql.node.Db2DataAndProcedureDivisionNode;
 import org.eclipse.lsp.cobol.implicitDialects.sql.node.Db2DeclareVariableNode;
 import org.eclipse.lsp.cobol.implicitDialects.sql.node.Db2ProcedureDivisionNode;
 import org.eclipse.lsp.cobol.implicitDialects.sql.node.Db2WorkingAndLinkageSectionNode;
 import org.eclipse.lsp.cobol.implicitDialects.sql.processor.*;
+import org.eclipse.lsp.cobol.implicitDialects.utils.ExecBlock;
+import org.eclipse.lsp.cobol.implicitDialects.utils.ExecBlockDialect;
+import org.eclipse.lsp.cobol.implicitDialects.utils.ExecBlockType;
+import org.eclipse.lsp.cobol.implicitDialects.utils.ParsedExecBlocks;
 
 /** Db2 SQL dialect */
 @Slf4j
-public class Db2SqlDialect implements CobolDialect {
+public class Db2SqlDialect extends ExecBlockDialect {
   public static final String DIALECT_NAME = "db2";
   public static final String SQL_BACKEND_SETTING = "target-sql-backend";
 
@@ -63,20 +67,20 @@ public class Db2SqlDialect implements CobolDialect {
   }
 
   @Override
-  public ResultWithErrors<DialectOutcome> processText(DialectProcessingContext context) {
-    Db2SqlVisitor db2SqlVisitor = new Db2SqlVisitor(context, messageService);
+  protected ExecBlockType getBlockType() {
+    return ExecBlockType.SQL;
+  }
 
-    List<SyntaxError> parseError = new ArrayList<>();
+  @Override
+  protected ResultWithErrors<DialectOutcome> process(
+      DialectProcessingContext context, ParsedExecBlocks parsedBlocks) {
+    Db2SqlVisitor db2SqlVisitor = new Db2SqlVisitor(context, messageService);
 
-    // parse the document text to get parseTree
-    Db2SqlParser.StartRuleContext startRuleContext =
-        parseDB2(
-            context.getExtendedDocument().toString(),
-            context.getExtendedDocument().getUri(),
-            parseError);
+    List<SyntaxError> parseError = new ArrayList<>(parsedBlocks.getErrors());
 
-    // Traverse the parse tree to generate dialect specific nodes
-    List<Node> nodes = db2SqlVisitor.visitStartRule(startRuleContext);
+    // Traverse the parse trees of the blocks to generate dialect specific nodes
+    List<Node> nodes = new ArrayList<>();
+    parsedBlocks.getTrees().forEach(tree -> nodes.addAll(db2SqlVisitor.visit(tree)));
 
     // Add nodes returned by extend method. Not needed here.
     nodes.addAll(context.getDialectNodes());
@@ -129,9 +133,12 @@ public class Db2SqlDialect implements CobolDialect {
     return ImmutableList.of(SQL_BACKEND_SETTING);
   }
 
-  private Db2SqlParser.StartRuleContext parseDB2(
-      String text, String programDocumentUri, List<SyntaxError> errors) {
-    Db2SqlLexer lexer = new Db2SqlLexer(CharStreams.fromString(text));
+  @Override
+  protected Db2SqlParser.StartRuleContext parseBlock(
+      ExecBlock block, String programDocumentUri, List<SyntaxError> errors) {
+    Db2SqlLexer lexer = new Db2SqlLexer(CharStreams.fromString(block.getText()));
+    lexer.setLine(block.getLine() + 1);
+    lexer.setCharPositionInLine(block.getCharacter());
     CommonTokenStream tokens = new CommonTokenStream(lexer);
     Db2SqlParser parser = new Db2SqlParser(tokens);
     Db2ErrorListener listener = new Db2ErrorListener(programDocumentUri);
@@ -141,7 +148,7 @@ public class Db2SqlDialect implements CobolDialect {
     parser.addErrorListener(listener);
     parser.setErrorHandler(new Db2ErrorStrategy(messageService));
 
-    Db2SqlParser.StartRuleContext result = parser.startRule();
+    Db2SqlParser.StartRuleContext result = TwoStageParsingUtil.parse(parser, parser::startRule);
     errors.addAll(listener.getErrors());
     return result;
   }
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.implicitDialects.utils;
+
+import lombok.Value;
+
+/**
+ * A fragment of the document text that an implicit dialect parses. The line and the character are
+ * zero-based and set as the initial position of the lexer, so the tokens have the document
+ * positions.
+ */
+@Value
+public class ExecBlock {
+  int offset;
+  int line;
+  int character;
+  String text;
+}
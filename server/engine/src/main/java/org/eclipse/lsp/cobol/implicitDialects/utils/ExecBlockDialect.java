@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.implicitDialects.utils;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.eclipse.lsp.cobol.common.ResultWithErrors;
+import org.eclipse.lsp.cobol.common.dialects.CobolDialect;
+import org.eclipse.lsp.cobol.common.dialects.DialectOutcome;
+import org.eclipse.lsp.cobol.common.dialects.DialectProcessingContext;
+import org.eclipse.lsp.cobol.common.error.SyntaxError;
+import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class for the implicit dialects that parse only the embedded blocks of the document found by
+ * {@link ExecBlockExtractor}. Parsing doesn't touch the extended document, so the blocks of several
+ * dialects may be parsed concurrently, and then the trees are processed in the regular order.
+ */
+public abstract class ExecBlockDialect implements CobolDialect {
+
+  /**
+   * Parse the blocks of this dialect. The parsing stops between the blocks if the thread is
+   * interrupted.
+   *
+   * @param blocks - the blocks of the document text
+   * @param programDocumentUri - the URI of the document to report the errors
+   * @return the parse trees of the blocks with the errors
+   */
+  public ParsedExecBlocks parse(ExecBlocks blocks, String programDocumentUri) {
+    List<ExecBlock> dialectBlocks = blocks.getBlocks(getBlockType());
+    List<ParserRuleContext> trees = new ArrayList<>(dialectBlocks.size());
+    List<SyntaxError> errors = new ArrayList<>();
+    for (ExecBlock block : dialectBlocks) {
+      ThreadInterruptionUtil.checkThreadInterrupted();
+      trees.add(parseBlock(block, programDocumentUri, errors));
+    }
+    return new ParsedExecBlocks(blocks.getText().length(), dialectBlocks, trees, errors);
+  }
+
+  @Override
+  public ResultWithErrors<DialectOutcome> processText(DialectProcessingContext context) {
+    String text = context.getExtendedDocument().toString();
+    return process(context, parse(ExecBlockExtractor.extract(text), context.getExtendedDocument().getUri()));
+  }
+
+  /**
+   * Process the document using the blocks parsed in advance. If the previous dialects changed the
+   * blocks, they are parsed again.
+   *
+   * @param context - the dialect processing context
+   * @param parsedBlocks - the blocks parsed in advance
+   * @return the dialect outcome with the errors
+   */
+  public ResultWithErrors<DialectOutcome> processText(
+      DialectProcessingContext context, ParsedExecBlocks parsedBlocks) {
+    if (!parsedBlocks.isActual(context.getExtendedDocument().toString())) {
+      return processText(context);
+    }
+    return process(context, parsedBlocks);
+  }
+
+  /**
+   * Returns the type of blocks this dialect parses
+   *
+   * @return the block type
+   */
+  protected abstract ExecBlockType getBlockType();
+
+  /**
+   * Parse one block. The lexer starts at the block position, so the tokens and the errors have the
+   * document positions.
+   *
+   * @param block - the block to parse
+   * @param programDocumentUri - the URI of the document to report the errors
+   * @param errors - the list to collect the errors
+   * @return the parse tree
+   */
+  protected abstract ParserRuleContext parseBlock(
+      ExecBlock block, String programDocumentUri, List<SyntaxError> errors);
+
+  /**
+   * Visit the parse trees of the blocks to create the dialect nodes and update the document
+   *
+   * @param context - the dialect processing context
+   * @param parsedBlocks - the parse trees of the blocks
+   * @return the dialect outcome with the errors
+   */
+  protected abstract ResultWithErrors<DialectOutcome> process(
+      DialectProcessingContext context, ParsedExecBlocks parsedBlocks);
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.implicitDialects.utils;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.*;
+
+import static org.eclipse.lsp.cobol.implicitDialects.utils.ExecBlockType.CICS;
+import static org.eclipse.lsp.cobol.implicitDialects.utils.ExecBlockType.SQL;
+
+/**
+ * Finds the regions of a document that the implicit dialects process: EXEC CICS and EXEC SQL blocks
+ * up to END-EXEC and the following period, and DFHRESP/DFHVALUE literals. The text is scanned once
+ * for all the dialects.
+ *
+ * <p>The scanner follows the lexer rules that define the block boundaries: string literals, line
+ * comments and words. If the dialect lexer may split the text differently, e.g. there is a keyword
+ * in a comment or a block without END-EXEC, the dialects get the whole text as a single block, so
+ * the result is always the same as of parsing the whole text.
+ */
+public final class ExecBlockExtractor {
+  private static final String EXEC = "EXEC";
+  private static final String END_EXEC = "END-EXEC";
+  private static final String XOPTS = "XOPTS";
+  private static final Set<String> LITERALS = ImmutableSet.of("DFHRESP", "DFHVALUE");
+  private static final List<String> KEYWORDS = ImmutableList.of(EXEC, XOPTS, "DFHRESP", "DFHVALUE");
+  private static final Set<String> BOUNDARY_WORDS =
+      ImmutableSet.of(EXEC, END_EXEC, XOPTS, "DFHRESP", "DFHVALUE", "CICS", "SQL", "SQLIMS");
+
+  private final String text;
+  private final Map<ExecBlockType, List<ExecBlock>> blocks = new EnumMap<>(ExecBlockType.class);
+  private int index;
+  private int wordStart;
+  private int parentheses;
+  private int lineOffset;
+  private int line;
+  private int lineStart;
+
+  private ExecBlockExtractor(String text) {
+    this.text = text;
+    blocks.put(CICS, new ArrayList<>());
+    blocks.put(SQL, new ArrayList<>());
+  }
+
+  /**
+   * Find the blocks of all the implicit dialects in the given text
+   *
+   * @param text - the document text
+   * @return the found blocks
+   */
+  public static ExecBlocks extract(String text) {
+    ExecBlockExtractor extractor = new ExecBlockExtractor(text);
+    extractor.scan();
+    return new ExecBlocks(text, extractor.blocks);
+  }
+
+  private void scan() {
+    String word = nextWord();
+    while (word != null && !blocks.isEmpty()) {
+      if (EXEC.equals(word)) {
+        scanExecBlock();
+      } else if (XOPTS.equals(word)) {
+        // compiler options are matched only before the first block, leave them to the full parsing
+        blocks.remove(CICS);
+      } else if (LITERALS.contains(word)) {
+        scanLiteral();
+      }
+      word = nextWord();
+    }
+  }
+
+  private void scanExecBlock() {
+    int start = wordStart;
+    int next = skipWhitespace(index);
+    if (isCommentStart(next)) {
+      fallBack();
+      return;
+    }
+    if (next == text.length() || !isWordChar(text.charAt(next))) {
+      return;
+    }
+    index = next;
+    ExecBlockType type = getBlockType(nextWord());
+    if (type == null) {
+      // not an embedded block, the word may start another one
+      index = wordStart;
+      return;
+    }
+    moveTo(start);
+    int startLine = line;
+    int startCharacter = text.codePointCount(lineStart, start);
+    if (findEndExec(type)) {
+      int end = findBlockEnd();
+      if (end >= 0) {
+        addBlock(type, new ExecBlock(start, startLine, startCharacter, text.substring(start, end)));
+        index = end;
+      }
+    }
+  }
+
+  private boolean findEndExec(ExecBlockType type) {
+    parentheses = 0;
+    String word = nextWord();
+    while (word != null && !blocks.isEmpty()) {
+      if (END_EXEC.equals(word)) {
+        if (parentheses != 0) {
+          fallBack();
+        }
+        return parentheses == 0;
+      }
+      if (EXEC.equals(word)) {
+        fallBack();
+      } else if (XOPTS.equals(word)) {
+        blocks.remove(CICS);
+      } else if (type == SQL && LITERALS.contains(word)) {
+        scanLiteral();
+      }
+      word = nextWord();
+    }
+    fallBack();
+    return false;
+  }
+
+  private int findBlockEnd() {
+    int next = skipWhitespace(index);
+    if (isCommentStart(next)) {
+      fallBack();
+      return -1;
+    }
+    if (next == text.length() || text.charAt(next) != '.') {
+      return index;
+    }
+    int end = next + 1;
+    if (end < text.length() && isWordChar(text.charAt(end))) {
+      fallBack();
+      return -1;
+    }
+    // keep the separator after the period, so the period is not the last token of the block
+    if (text.startsWith("\r\n", end)) {
+      return end + 2;
+    }
+    return end < text.length() && isWhitespace(text.charAt(end)) ? end + 1 : end;
+  }
+
+  private void scanLiteral() {
+    int start = wordStart;
+    int next = skipWhitespace(index);
+    if (isCommentStart(next)) {
+      fallBack();
+      return;
+    }
+    if (next == text.length() || text.charAt(next) != '(') {
+      return;
+    }
+    int depth = 0;
+    int end = next;
+    do {
+      char c = text.charAt(end);
+      if (c == '\'' || c == '"') {
+        end = skipString(end);
+        continue;
+      }
+      if (c == '\n' || c == '\r' || isCommentStart(end)) {
+        fallBack();
+        return;
+      }
+      if (c == '(') {
+        depth++;
+      } else if (c == ')') {
+        depth--;
+      }
+      end++;
+    } while (depth > 0 && end < text.length());
+    String literal = text.substring(start, end);
+    if (depth > 0 || literal.toUpperCase(Locale.ROOT).indexOf(EXEC) >= 0) {
+      fallBack();
+      return;
+    }
+    moveTo(start);
+    addBlock(CICS, new ExecBlock(start, line, text.codePointCount(lineStart, start), literal));
+    index = end;
+  }
+
+  private String nextWord() {
+    while (index < text.length()) {
+      char c = text.charAt(index);
+      if (c == '\'' || c == '"') {
+        index = skipString(index);
+      } else if (isCommentStart(index)) {
+        skipComment();
+      } else if (isWordChar(c)) {
+        return readWord();
+      } else {
+        if (c == '(') {
+          parentheses++;
+        } else if (c == ')') {
+          parentheses--;
+        }
+        index++;
+      }
+    }
+    return null;
+  }
+
+  private String readWord() {
+    wordStart = index;
+    while (index < text.length() && isWordChar(text.charAt(index))) {
+      index++;
+    }
+    String word = text.substring(wordStart, index).toUpperCase(Locale.ROOT);
+    if (isAmbiguous(word)) {
+      fallBack();
+    }
+    return word;
+  }
+
+  /**
+   * Check if the lexers may split the word differently, so it may be a keyword for them, or if a
+   * keyword may be a part of a longer token, like a file name
+   */
+  private boolean isAmbiguous(String word) {
+    char first = word.charAt(0);
+    if (first == '-' || first == '_' || word.indexOf('#') >= 0 || word.indexOf('@') >= 0 || word.indexOf('$') >= 0) {
+      return containsKeyword(word);
+    }
+    if (!BOUNDARY_WORDS.contains(word)) {
+      return false;
+    }
+    boolean periodBefore = wordStart > 0 && text.charAt(wordStart - 1) == '.';
+    boolean periodAfter = index + 1 < text.length() && text.charAt(index) == '.' && isWordChar(text.charAt(index + 1));
+    return periodBefore || periodAfter;
+  }
+
+  private void skipComment() {
+    int end = index;
+    while (end < text.length() && text.charAt(end) != '\n' && text.charAt(end) != '\r') {
+      end++;
+    }
+    // the comment is a regular text for the other dialect
+    if (containsKeyword(text.substring(index, end).toUpperCase(Locale.ROOT))) {
+      fallBack();
+    }
+    index = end;
+  }
+
+  private int skipString(int start) {
+    char quote = text.charAt(start);
+    int end = start + 1;
+    while (end < text.length()) {
+      char c = text.charAt(end);
+      if (c == '\n' || c == '\r') {
+        return end;
+      }
+      end++;
+      if (c == quote) {
+        return end;
+      }
+    }
+    return end;
+  }
+
+  private int skipWhitespace(int start) {
+    int end = start;
+    while (end < text.length()) {
+      char c = text.charAt(end);
+      if (c != '\r' && isWhitespace(c)) {
+        end++;
+      } else if (text.startsWith("\r\n", end)) {
+        end += 2;
+      } else {
+        break;
+      }
+    }
+    return end;
+  }
+
+  private boolean isCommentStart(int position) {
+    return text.startsWith("*>", position)
+        || text.startsWith(">>", position)
+        || (text.startsWith("--", position) && (position == 0 || !isWordChar(text.charAt(position - 1))));
+  }
+
+  private void moveTo(int offset) {
+    for (; lineOffset < offset; lineOffset++) {
+      if (text.charAt(lineOffset) == '\n') {
+        line++;
+        lineStart = lineOffset + 1;
+      }
+    }
+  }
+
+  private void addBlock(ExecBlockType type, ExecBlock block) {
+    Optional.ofNullable(blocks.get(type)).ifPresent(it -> it.add(block));
+  }
+
+  private void fallBack() {
+    blocks.clear();
+  }
+
+  private static ExecBlockType getBlockType(String word) {
+    if ("CICS".equals(word)) {
+      return CICS;
+    }
+    if ("SQL".equals(word) || "SQLIMS".equals(word)) {
+      return SQL;
+    }
+    return null;
+  }
+
+  private static boolean containsKeyword(String text) {
+    return KEYWORDS.stream().anyMatch(text::contains);
+  }
+
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\f' || c == '\n' || c == '\r';
+  }
+
+  private static boolean isWordChar(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+        || c == '-' || c == '_' || c == '#' || c == '@' || c == '$';
+  }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.implicitDialects.utils;
+
+/** The implicit dialect an embedded block belongs to */
+public enum ExecBlockType {
+  /** EXEC CICS blocks, DFHRESP and DFHVALUE literals */
+  CICS,
+  /** EXEC SQL and EXEC SQLIMS blocks */
+  SQL
+}
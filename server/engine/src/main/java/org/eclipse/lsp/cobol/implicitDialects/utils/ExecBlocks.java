@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.implicitDialects.utils;
+
+import com.google.common.collect.ImmutableList;
+import lombok.Getter;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The embedded blocks found in a document text by {@link ExecBlockExtractor}. If the text of a
+ * dialect can't be split reliably, the only block of the dialect is the whole text.
+ */
+public class ExecBlocks {
+  @Getter private final String text;
+  private final Map<ExecBlockType, List<ExecBlock>> blocks = new EnumMap<>(ExecBlockType.class);
+
+  ExecBlocks(String text, Map<ExecBlockType, List<ExecBlock>> blocks) {
+    this.text = text;
+    this.blocks.putAll(blocks);
+  }
+
+  /**
+   * Returns the blocks to parse for the given dialect
+   *
+   * @param type - the dialect of the blocks
+   * @return the list of blocks in the order of the text
+   */
+  public List<ExecBlock> getBlocks(ExecBlockType type) {
+    return blocks.getOrDefault(type, ImmutableList.of(new ExecBlock(0, 0, 0, text)));
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.implicitDialects.utils;
+
+import lombok.Value;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.eclipse.lsp.cobol.common.error.SyntaxError;
+
+import java.util.List;
+
+/** The parse trees of the embedded blocks of one dialect and the errors found while parsing them */
+@Value
+public class ParsedExecBlocks {
+  int textLength;
+  List<ExecBlock> blocks;
+  List<ParserRuleContext> trees;
+  List<SyntaxError> errors;
+
+  /**
+   * Check if the trees are valid for the given text, i.e. the previous dialects didn't change the
+   * blocks or move them to other positions
+   *
+   * @param text - the current document text
+   * @return true if all the blocks have the same text and positions
+   */
+  public boolean isActual(String text) {
+    if (text.length() != textLength) {
+      return false;
+    }
+    int offset = 0;
+    int line = 0;
+    int lineStart = 0;
+    for (ExecBlock block : blocks) {
+      if (!text.startsWith(block.getText(), block.getOffset())) {
+        return false;
+      }
+      for (; offset < block.getOffset(); offset++) {
+        if (text.charAt(offset) == '\n') {
+          line++;
+          lineStart = offset + 1;
+        }
+      }
+      if (line != block.getLine() || text.codePointCount(lineStart, offset) != block.getCharacter()) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
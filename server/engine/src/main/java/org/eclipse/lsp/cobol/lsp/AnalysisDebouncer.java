@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.lsp;
+
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Delays the analyses of the changed documents until the user stops typing. Only the latest change
+ * of a document waiting for the quiet period is analyzed, and the futures of the replaced ones
+ * complete with null.
+ *
+ * <p>The quiet period is a half of the last analysis duration of the document, limited by the
+ * {@value MIN_DELAY_PROPERTY} and {@value MAX_DELAY_PROPERTY} system properties in milliseconds. A
+ * zero maximum turns the debounce off.
+ */
+@Slf4j
+@Singleton
+public class AnalysisDebouncer {
+  public static final String MIN_DELAY_PROPERTY = "analysis.debounce.min";
+  public static final String MAX_DELAY_PROPERTY = "analysis.debounce.max";
+  private static final long DEFAULT_MIN_DELAY = 100;
+  private static final long DEFAULT_MAX_DELAY = 1000;
+
+  private final long minDelay;
+  private final long maxDelay;
+  private final Map<String, Pending<?>> pendingAnalyses = new HashMap<>();
+  private final Map<String, Long> analysisDurations = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "Analysis debounce");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public AnalysisDebouncer() {
+    this(Long.getLong(MIN_DELAY_PROPERTY, DEFAULT_MIN_DELAY), Long.getLong(MAX_DELAY_PROPERTY, DEFAULT_MAX_DELAY));
+  }
+
+  AnalysisDebouncer(long minDelay, long maxDelay) {
+    this.minDelay = Math.min(minDelay, maxDelay);
+    this.maxDelay = maxDelay;
+  }
+
+  /**
+   * Start the analysis after the quiet period of the document, unless a newer one replaces it
+   *
+   * @param uri      the document URI
+   * @param analysis the action that schedules the analysis
+   * @param <T>      the type of the analysis result
+   * @return the future of the analysis result
+   */
+  public synchronized <T> CompletableFuture<T> debounce(String uri, Supplier<CompletableFuture<T>> analysis) {
+    drop(uri).ifPresent(it -> it.result.complete(null));
+    long delay = getQuietPeriod(uri);
+    if (delay <= 0) {
+      return analysis.get();
+    }
+    Pending<T> pending = new Pending<>(analysis);
+    pendingAnalyses.put(uri, pending);
+    pending.timer = timer.schedule(() -> start(uri, pending), delay, TimeUnit.MILLISECONDS);
+    return pending.result;
+  }
+
+  /**
+   * Start the waiting analysis of the document without waiting for the quiet period, e.g. when a
+   * request needs the latest analysis result
+   *
+   * @param uri the document URI
+   */
+  public synchronized void flush(String uri) {
+    Pending<?> pending = pendingAnalyses.get(uri);
+    if (pending != null) {
+      LOG.debug("[debounce] flush the analysis of {}", uri);
+      start(uri, pending);
+    }
+  }
+
+  /**
+   * Drop the waiting analysis of the document and forget its statistics, e.g. when it is closed
+   *
+   * @param uri the document URI
+   */
+  public synchronized void cancel(String uri) {
+    drop(uri).ifPresent(it -> it.result.cancel(true));
+    analysisDurations.remove(uri);
+  }
+
+  /**
+   * Store the duration of the last analysis to adapt the quiet period of the document
+   *
+   * @param uri      the document URI
+   * @param duration the analysis duration in milliseconds
+   */
+  public void recordAnalysisDuration(String uri, long duration) {
+    analysisDurations.put(uri, duration);
+  }
+
+  /**
+   * Returns the quiet period the next change of the document will wait for
+   *
+   * @param uri the document URI
+   * @return the quiet period in milliseconds
+   */
+  public long getQuietPeriod(String uri) {
+    long duration = analysisDurations.getOrDefault(uri, 0L);
+    return Math.max(minDelay, Math.min(maxDelay, duration / 2));
+  }
+
+  private Optional<Pending<?>> drop(String uri) {
+    Pending<?> pending = pendingAnalyses.remove(uri);
+    if (pending != null) {
+      pending.timer.cancel(false);
+    }
+    return Optional.ofNullable(pending);
+  }
+
+  /** The analysis starts under the lock, so the analyses of a document are scheduled in order */
+  private synchronized <T> void start(String uri, Pending<T> pending) {
+    if (pendingAnalyses.get(uri) != pending) {
+      return;
+    }
+    drop(uri);
+    try {
+      Optional.ofNullable(pending.analysis.get())
+          .orElseGet(() -> CompletableFuture.completedFuture(null))
+          .whenComplete((result, error) -> {
+            if (error == null) {
+              pending.result.complete(result);
+            } else {
+              pending.result.completeExceptionally(error);
+            }
+          });
+    } catch (RuntimeException e) {
+      LOG.error("Cannot start the analysis of " + uri, e);
+      pending.result.completeExceptionally(e);
+    }
+  }
+
+  private static final class Pending<T> {
+    private final Supplier<CompletableFuture<T>> analysis;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private ScheduledFuture<?> timer;
+
+    private Pending(Supplier<CompletableFuture<T>> analysis) {
+      this.analysis = analysis;
+    }
+  }
+}
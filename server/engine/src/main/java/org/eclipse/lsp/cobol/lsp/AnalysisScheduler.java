@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.lsp;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the document analyses on a fixed pool of worker threads sized to the number of cores.
+ *
+ * <p>The analyses of one document never run concurrently. While a document waits for a worker, only
+ * its latest scheduled analysis is kept, and the replaced ones complete with null. Analyses of the
+ * documents the user works with run before the background reanalysis, and the most recently
+ * scheduled ones run first. The background reanalyses run in the order they were scheduled, the
+ * same order in which the idle workers pick them up, so the callers schedule the most important
+ * documents first. The queue depth, the number of the running analyses and the wait times
+ * are reported to the {@link MetricsRegistry}.
+ */
+@Slf4j
+@Singleton
+public class AnalysisScheduler {
+  private static final Comparator<Runnable> ORDER =
+      Comparator.comparing((Runnable r) -> ((Task<?>) r).priority)
+          .thenComparingLong(r -> ((Task<?>) r).priority == Priority.INTERACTIVE
+              ? -((Task<?>) r).sequence : ((Task<?>) r).sequence);
+
+  private final ThreadPoolExecutor executor;
+  private final MetricsRegistry metricsRegistry;
+  private final Map<String, Task<?>> waitingTasks = new HashMap<>();
+  private final Map<String, Task<?>> runningTasks = new HashMap<>();
+  private long sequence;
+
+  @Inject
+  public AnalysisScheduler(MetricsRegistry metricsRegistry) {
+    this(Runtime.getRuntime().availableProcessors(), metricsRegistry);
+  }
+
+  AnalysisScheduler(int threads, MetricsRegistry metricsRegistry) {
+    AtomicInteger counter = new AtomicInteger();
+    executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new PriorityBlockingQueue<>(11, ORDER),
+        r -> new Thread(r, "Analysis thread #" + counter.getAndIncrement()));
+    this.metricsRegistry = metricsRegistry;
+    metricsRegistry.registerGauge("analysis.queue.depth", this::getQueueDepth);
+    metricsRegistry.registerGauge("analysis.running", this::getRunningCount);
+  }
+
+  /**
+   * Schedule an analysis of the document. The previous analysis of the document that didn't start
+   * yet is dropped, and its future completes with null. The new analysis keeps the higher priority
+   * of the two, so a background reanalysis doesn't delay the document the user works with.
+   *
+   * @param uri      the document URI
+   * @param priority the priority of the analysis
+   * @param analysis the analysis to run
+   * @param <T>      the type of the analysis result
+   * @return the future of the analysis result
+   */
+  public synchronized <T> CompletableFuture<T> schedule(String uri, Priority priority, Supplier<T> analysis) {
+    Task<?> replaced = waitingTasks.remove(uri);
+    if (replaced != null) {
+      executor.remove(replaced);
+      replaced.future.complete(null);
+      if (replaced.priority.compareTo(priority) < 0) {
+        priority = replaced.priority;
+      }
+    }
+    Task<T> task = new Task<>(uri, priority, sequence++, analysis);
+    waitingTasks.put(uri, task);
+    if (!runningTasks.containsKey(uri)) {
+      executor.execute(task);
+    }
+    return task.future;
+  }
+
+  /**
+   * Drop the waiting analysis of the document and interrupt the running one. Waits for the running
+   * analysis to stop, but not longer than the given timeout.
+   *
+   * @param uri     the document URI
+   * @param timeout the maximum time to wait
+   * @param unit    the time unit of the timeout
+   * @throws InterruptedException if the current thread was interrupted while waiting
+   */
+  public void cancel(String uri, long timeout, TimeUnit unit) throws InterruptedException {
+    Task<?> running;
+    synchronized (this) {
+      Task<?> waiting = waitingTasks.remove(uri);
+      if (waiting != null) {
+        executor.remove(waiting);
+        waiting.future.cancel(true);
+      }
+      running = runningTasks.get(uri);
+      if (running != null) {
+        running.thread.interrupt();
+      }
+    }
+    if (running != null) {
+      try {
+        running.future.get(timeout, unit);
+      } catch (ExecutionException | CancellationException | TimeoutException e) {
+        LOG.debug("[cancel] analysis of {} stopped: {}", uri, e.toString());
+      }
+    }
+  }
+
+  /**
+   * Returns the number of the analyses waiting for a worker
+   *
+   * @return the queue depth
+   */
+  public synchronized int getQueueDepth() {
+    return waitingTasks.size();
+  }
+
+  /**
+   * Returns the number of the analyses running now
+   *
+   * @return the number of the busy workers
+   */
+  public synchronized int getRunningCount() {
+    return runningTasks.size();
+  }
+
+  private synchronized boolean start(Task<?> task) {
+    if (waitingTasks.get(task.uri) != task) {
+      return false;
+    }
+    waitingTasks.remove(task.uri);
+    runningTasks.put(task.uri, task);
+    task.thread = Thread.currentThread();
+    long waitTime = System.nanoTime() - task.scheduledAt;
+    metricsRegistry.record("analysis.wait.nanos", waitTime);
+    LOG.debug("[schedule] start analysis of {} after {} ms, queue depth: {}",
+        task.uri, TimeUnit.NANOSECONDS.toMillis(waitTime), waitingTasks.size());
+    return true;
+  }
+
+  private synchronized void finish(Task<?> task) {
+    runningTasks.remove(task.uri);
+    // the interruption of a cancelled analysis must not affect the next task of this worker
+    Thread.interrupted();
+    Task<?> next = waitingTasks.get(task.uri);
+    if (next != null) {
+      executor.execute(next);
+    }
+  }
+
+  /** The priority of an analysis */
+  public enum Priority {
+    /** The analysis of a document the user opened or changed */
+    INTERACTIVE,
+    /** The reanalysis caused by a change of the configuration or dependencies, run in the scheduling order */
+    BACKGROUND
+  }
+
+  private final class Task<T> implements Runnable {
+    private final String uri;
+    private final Priority priority;
+    private final long sequence;
+    private final long scheduledAt = System.nanoTime();
+    private final Supplier<T> analysis;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private volatile Thread thread;
+
+    private Task(String uri, Priority priority, long sequence, Supplier<T> analysis) {
+      this.uri = uri;
+      this.priority = priority;
+      this.sequence = sequence;
+      this.analysis = analysis;
+    }
+
+    @Override
+    public void run() {
+      if (!start(this)) {
+        return;
+      }
+      try {
+        future.complete(analysis.get());
+      } catch (Throwable e) {
+        future.completeExceptionally(e);
+      } finally {
+        finish(this);
+      }
+    }
+  }
+}
@@ -18,13 +18,18 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.common.SubroutineService;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
 import org.eclipse.lsp.cobol.service.AnalysisService;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
+import org.eclipse.lsp.cobol.service.DiagnosticsPublisher;
 import org.eclipse.lsp.cobol.service.DocumentModelService;
 import org.eclipse.lsp.cobol.service.delegates.communications.Communications;
+import org.eclipse.lsp.cobol.service.settings.ConfigurationService;
+
+import static java.util.stream.Collectors.toList;
 
 /**
  * Asynchronous analysis
@@ -40,27 +45,31 @@ public class AsyncAnalysisService {
 
   private final Map<String, CompletableFuture<CobolDocumentModel>> analysisResults = Collections.synchronizedMap(new HashMap<>());
   private final Map<String, Integer> analysisResultsRevisions = Collections.synchronizedMap(new HashMap<>());
-  private final Map<String, ExecutorService> analysisExecutors = Collections.synchronizedMap(new HashMap<>());
-
-  private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
-    private int counter = 0;
-
-    public Thread newThread(Runnable r) {
-      return new Thread(r, "Analysis thread #" + counter++);
-    }
-  };
-
+  private final Map<String, Long> lastActivity = new ConcurrentHashMap<>();
+  private final AtomicLong activitySequence = new AtomicLong();
+  private final AtomicLong reanalysisSequence = new AtomicLong();
+  private final AnalysisScheduler analysisScheduler;
+  private final AnalysisDebouncer analysisDebouncer;
+  private final DiagnosticsPublisher diagnosticsPublisher;
+  private final ConfigurationService configurationService;
 
   @Inject
   public AsyncAnalysisService(DocumentModelService documentModelService,
                               AnalysisService analysisService,
                               CopybookService copybookService,
-                              SubroutineService subroutineService, Communications communications) {
+                              SubroutineService subroutineService, Communications communications,
+                              AnalysisScheduler analysisScheduler, AnalysisDebouncer analysisDebouncer,
+                              DiagnosticsPublisher diagnosticsPublisher,
+                              ConfigurationService configurationService) {
     this.documentModelService = documentModelService;
     this.analysisService = analysisService;
     this.copybookService = copybookService;
     this.subroutineService = subroutineService;
     this.communications = communications;
+    this.analysisScheduler = analysisScheduler;
+    this.analysisDebouncer = analysisDebouncer;
+    this.diagnosticsPublisher = diagnosticsPublisher;
+    this.configurationService = configurationService;
   }
 
   /**
@@ -88,6 +97,22 @@ public class AsyncAnalysisService {
     return scheduleAnalysis(uri, text, currentRevision, open, false);
   }
 
+  /**
+   * Schedule an analysis of the changed document after the quiet period. The following changes
+   * replace the waiting analysis, so only the latest revision of a typing burst is analyzed. The
+   * text is taken from the document model when the quiet period ends, so a change doesn't build
+   * the full text.
+   *
+   * @param uri             source URI
+   * @param currentRevision the document currentRevision
+   * @return document model with analysis result or null if a newer change replaced the analysis
+   */
+  public CompletableFuture<CobolDocumentModel> scheduleChangeAnalysis(String uri, Integer currentRevision) {
+    return analysisDebouncer.debounce(uri, () -> Optional.ofNullable(documentModelService.get(uri))
+        .map(document -> scheduleAnalysis(uri, document.getText(), currentRevision, false))
+        .orElseGet(() -> CompletableFuture.completedFuture(null)));
+  }
+
   /**
    * Schedule an analysis
    *
@@ -99,13 +124,22 @@ public class AsyncAnalysisService {
    * @return document model with analysis result
    */
   public synchronized CompletableFuture<CobolDocumentModel> scheduleAnalysis(String uri, String text, Integer currentRevision, boolean open, boolean force) {
+    return scheduleAnalysis(uri, text, currentRevision, open, force, null);
+  }
+
+  private synchronized CompletableFuture<CobolDocumentModel> scheduleAnalysis(String uri, String text, Integer currentRevision,
+                                                                             boolean open, boolean force, ReanalysisProgress progress) {
+    if (!force) {
+      markActive(uri);
+    }
     String id = makeId(uri, currentRevision);
     Integer prevId = analysisResultsRevisions.put(uri, currentRevision);
     if (currentRevision.equals(prevId) && !force) {
-      return analysisResults.get(id);
+      return Optional.ofNullable(analysisResults.get(id))
+          .orElseGet(() -> CompletableFuture.completedFuture(documentModelService.get(uri)));
     }
-    Executor analysisExecutor = getExecutor(uri);
-    CompletableFuture<CobolDocumentModel> value = CompletableFuture.supplyAsync(() -> {
+    AnalysisScheduler.Priority priority = force ? AnalysisScheduler.Priority.BACKGROUND : AnalysisScheduler.Priority.INTERACTIVE;
+    CompletableFuture<CobolDocumentModel> value = analysisScheduler.schedule(uri, priority, () -> {
       if (currentRevision < analysisResultsRevisions.get(uri) && !force) {
         LOG.debug("[scheduleAnalysis] skip revision: " + currentRevision + " latest: " + analysisResultsRevisions.get(uri));
         return null;
@@ -113,36 +147,35 @@ public class AsyncAnalysisService {
       LOG.debug("[scheduleAnalysis] Start analysis: " + uri);
 
       try {
-        communications.notifyProgressBegin(uri);
-        analysisService.analyzeDocument(uri, text, open);
-        CobolDocumentModel documentModel = documentModelService.get(uri);
-        analysisResults.remove(id).complete(documentModel);
-        return documentModel;
+        if (progress == null) {
+          communications.notifyProgressBegin(uri);
+        }
+        long start = System.currentTimeMillis();
+        List<CobolDocumentModel> affectedPrograms = analysisService.analyzeDocument(uri, text, open);
+        analysisDebouncer.recordAnalysisDuration(uri, System.currentTimeMillis() - start);
+        reanalyse(affectedPrograms);
+        return documentModelService.get(uri);
       } finally {
         if (Objects.equals(analysisResultsRevisions.get(uri), currentRevision) || force) {
-          communications.publishDiagnostics(documentModelService.getOpenedDiagnostic());
+          diagnosticsPublisher.publish(uri);
+        }
+        if (progress == null) {
+          communications.notifyProgressEnd(uri);
         }
-        communications.notifyProgressEnd(uri);
       }
-    }, analysisExecutor);
+    });
     analysisResults.put(id, value);
+    // the analysis may be replaced, skipped, failed or cancelled, so its entry is dropped in any case
+    value.whenComplete((result, error) -> analysisResults.remove(id, value));
+    if (progress != null) {
+      value.whenComplete((result, error) -> progress.analyzed());
+    }
     if (prevId != null && !force) {
       Optional.ofNullable(analysisResults.get(makeId(uri, prevId))).ifPresent(cf -> cf.cancel(true));
     }
     return value;
   }
 
-  private Executor getExecutor(String uri) {
-    synchronized (analysisExecutors) {
-      ExecutorService analysisExecutor = analysisExecutors.computeIfAbsent(uri, u -> Executors.newSingleThreadExecutor(THREAD_FACTORY));
-      if (analysisExecutor.isShutdown()) {
-        analysisExecutor = Executors.newSingleThreadExecutor(THREAD_FACTORY);
-        analysisExecutors.put(uri, analysisExecutor);
-      }
-      return analysisExecutor;
-    }
-  }
-
   private static String makeId(String uri, Integer revision) {
     return revision + "#" + uri;
   }
@@ -153,46 +186,84 @@ public class AsyncAnalysisService {
   public void reanalyseOpenedPrograms() {
     copybookService.invalidateCache();
     subroutineService.invalidateCache();
+    configurationService.invalidateCache();
+    configurationService.prefetch(null);
     LOG.info("Cache invalidated");
-    documentModelService.getAllOpened()
-            .stream().filter(d -> !analysisService.isCopybook(d.getUri(), d.getText()))
-            .forEach(doc -> scheduleAnalysis(doc.getUri(), doc.getText(), analysisResultsRevisions.get(doc.getUri()), false, true));
+    List<CobolDocumentModel> programs = documentModelService.getAllOpened().stream()
+        .filter(d -> !analysisService.isCopybook(d))
+        .collect(toList());
+    // the configuration is looked up per document, so send one request per program now, and the
+    // requests run while the analyses wait in the queue
+    programs.forEach(doc -> configurationService.prefetch(doc.getUri()));
+    reanalyse(programs);
+  }
+
+  /**
+   * Schedule the background reanalysis of the programs on the analysis workers. The scheduler runs
+   * the background analyses in the scheduling order, so the opened documents the user worked with
+   * last are scheduled first. The progress of all the analyses is reported as one.
+   *
+   * @param programs the programs to reanalyse
+   */
+  private void reanalyse(List<CobolDocumentModel> programs) {
+    if (programs.isEmpty()) {
+      return;
+    }
+    ReanalysisProgress progress = new ReanalysisProgress(programs.size());
+    programs.stream()
+        .sorted(Comparator.comparing(CobolDocumentModel::isOpened)
+            .thenComparing(doc -> lastActivity.getOrDefault(doc.getUri(), 0L))
+            .reversed())
+        .forEach(doc -> scheduleAnalysis(doc.getUri(), doc.getText(),
+            analysisResultsRevisions.getOrDefault(doc.getUri(), 0), false, true, progress));
+  }
+
+  private void markActive(String uri) {
+    lastActivity.put(uri, activitySequence.incrementAndGet());
   }
 
   /**
-   * Stop code analysis.
+   * Stop code analysis and drop the configuration of the closed document.
    *
    * @param uri source URI
    */
   public void cancelAnalysis(String uri) throws InterruptedException {
+    analysisDebouncer.cancel(uri);
     analysisResultsRevisions.remove(uri);
-    synchronized (analysisExecutors) {
-      ExecutorService service = analysisExecutors.remove(uri);
-      if (service != null) {
-        service.shutdownNow();
-        service.awaitTermination(1, TimeUnit.SECONDS);
-      }
-    }
-    LOG.debug("[stopAnalysis] Document " + uri + " publish diagnostic: " + documentModelService.getOpenedDiagnostic());
-    communications.publishDiagnostics(documentModelService.getOpenedDiagnostic());
+    lastActivity.remove(uri);
+    analysisScheduler.cancel(uri, 1, TimeUnit.SECONDS);
+    configurationService.evict(uri);
+    LOG.debug("[stopAnalysis] Document {} publish diagnostic", uri);
+    diagnosticsPublisher.publish(uri);
   }
 
   /**
-   * Creates LSP Event dependency
+   * Creates LSP Event dependency. The waiting analysis of the changed document starts immediately,
+   * since the event needs its result.
    *
    * @param uri url of document to wait
    * @return LspEventDependency object
    */
   public LspEventDependency createDependencyOn(String uri) {
-    return () -> {
-      CobolDocumentModel doc = documentModelService.get(uri);
-      if (doc == null) {
-        return false;
+    analysisDebouncer.flush(uri);
+    markActive(uri);
+    return new LspEventDependency() {
+      @Override
+      public boolean isSatisfied() {
+        CobolDocumentModel doc = documentModelService.get(uri);
+        if (doc == null) {
+          return false;
+        }
+        if (analysisService.isCopybook(doc)) {
+          return true;
+        }
+        return doc.getLastAnalysisResult() != null;
       }
-      if (analysisService.isCopybook(uri, doc.getText())) {
-        return true;
+
+      @Override
+      public Optional<CompletableFuture<?>> getChangeSignal() {
+        return Optional.of(documentModelService.onDocumentUpdate(uri));
       }
-      return doc.getLastAnalysisResult() != null;
     };
   }
 
@@ -213,12 +284,35 @@ public class AsyncAnalysisService {
   }
 
   /**
-   * Mark document as opened
+   * Mark document as opened and start fetching its configuration, so the first analysis doesn't
+   * wait for the client
    *
    * @param uri  of document
    * @param text content od document.
    */
   public void openDocument(String uri, String text) {
+    configurationService.prefetch(uri);
     documentModelService.openDocument(uri, text);
   }
+
+  /** The aggregated progress of a reanalysis of several programs */
+  private final class ReanalysisProgress {
+    private final String token = "reanalysis#" + reanalysisSequence.incrementAndGet();
+    private final int documents;
+    private int analyzed;
+
+    private ReanalysisProgress(int documents) {
+      this.documents = documents;
+      communications.notifyReanalysisBegin(token, documents);
+    }
+
+    private synchronized void analyzed() {
+      analyzed++;
+      if (analyzed < documents) {
+        communications.notifyReanalysisReport(token, analyzed, documents);
+      } else {
+        communications.notifyReanalysisEnd(token);
+      }
+    }
+  }
 }
@@ -20,8 +20,10 @@ import com.google.inject.Singleton;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsSnapshot;
 import org.eclipse.lsp.cobol.core.model.extendedapi.ExtendedApiResult;
 import org.eclipse.lsp.cobol.lsp.handlers.extended.AnalysisHandler;
+import org.eclipse.lsp.cobol.lsp.handlers.extended.MetricsHandler;
 import org.eclipse.lsp.cobol.lsp.handlers.text.*;
 import org.eclipse.lsp.cobol.lsp.jrpc.ExtendedApi;
 import org.eclipse.lsp.cobol.service.delegates.communications.Communications;
@@ -60,6 +62,7 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   private final ReferencesHandler referencesHandler;
   private final HoverHandler hoverHandler;
   private final FoldingRangeHandler foldingRangeHandler;
+  private final MetricsHandler metricsHandler;
 
   @Inject
   public CobolTextDocumentService(
@@ -76,7 +79,8 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
           DocumentHighlightHandler documentHighlightHandler,
           ReferencesHandler referencesHandler,
           HoverHandler hoverHandler,
-          FoldingRangeHandler foldingRangeHandler) {
+          FoldingRangeHandler foldingRangeHandler,
+          MetricsHandler metricsHandler) {
     this.lspMessageDispatcher = lspMessageDispatcher;
     this.completionHandler = completionHandler;
     this.codeActionHandler = codeActionHandler;
@@ -91,6 +95,7 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
     this.referencesHandler = referencesHandler;
     this.hoverHandler = hoverHandler;
     this.foldingRangeHandler = foldingRangeHandler;
+    this.metricsHandler = metricsHandler;
   }
 
   @Override
@@ -99,6 +104,11 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
     return lspMessageDispatcher.publish(completionHandler.createEvent(params));
   }
 
+  @Override
+  public CompletableFuture<CompletionItem> resolveCompletionItem(CompletionItem unresolved) {
+    return lspMessageDispatcher.publish(completionHandler.createResolveEvent(unresolved));
+  }
+
   @Override
   public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>>
   definition(DefinitionParams params) {
@@ -164,6 +174,11 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
     return lspMessageDispatcher.publish(analysisHandler.createEvent(json));
   }
 
+  @Override
+  public CompletableFuture<MetricsSnapshot> metrics() {
+    return lspMessageDispatcher.publish(metricsHandler::metrics);
+  }
+
   @Override
   public CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>> documentSymbol(
           DocumentSymbolParams params) {
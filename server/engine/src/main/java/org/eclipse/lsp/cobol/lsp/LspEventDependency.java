@@ -14,6 +14,9 @@
  */
 package org.eclipse.lsp.cobol.lsp;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Contains event handler execution precondition.
  */
@@ -24,4 +27,13 @@ public interface LspEventDependency {
    * @return false is execution should be postponed.
    */
   boolean isSatisfied();
+
+  /**
+   * Returns the signal that completes when the dependency may become satisfied, so the waiting event
+   * is checked again. Without a signal the dependency is checked again after a short delay.
+   * @return the change signal if any
+   */
+  default Optional<CompletableFuture<?>> getChangeSignal() {
+    return Optional.empty();
+  }
 }
@@ -15,33 +15,41 @@
 package org.eclipse.lsp.cobol.lsp;
 
 import com.google.inject.Singleton;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Queue LSP messages and handle the order of messages execution.
+ * Queue LSP messages and handle the order of messages execution. An event with unsatisfied
+ * dependencies is parked until one of them signals a change, so it doesn't block the other events.
  */
 @Slf4j
 @Singleton
 public class LspMessageDispatcher {
   private static final LspEvent<Void> POISON_PILL = () -> null;
+  private static final long RETRY_DELAY = 100;
 
   private final BlockingDeque<LspEvent<?>> eventQueue = new LinkedBlockingDeque<>();
   private final Map<LspEvent<?>, CompletableFuture<?>> eventResults = Collections.synchronizedMap(new HashMap<>());
+  private final Set<LspEvent<?>> parkedEvents = ConcurrentHashMap.newKeySet();
 
   private final ExecutorService singleThreadExecutor =
           Executors.newSingleThreadExecutor(r -> new Thread(r, "LSP Event Loop"));
+  private final ScheduledExecutorService retryTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "LSP Event Retry");
+    thread.setDaemon(true);
+    return thread;
+  });
 
 
   /**
-   * Return queue size
+   * Return queue size including the events waiting for their dependencies
    * @return queue size
    */
   public int queueSize() {
-    return eventQueue.size();
+    return eventQueue.size() + parkedEvents.size();
   }
 
   /**
@@ -50,7 +58,8 @@ public class LspMessageDispatcher {
    * @return queue size
    */
   public int queueSizeForType(Class<?> clazz) {
-      return (int) eventQueue.stream().filter(next -> next.getClass().equals(clazz)).count();
+      return (int) Stream.concat(eventQueue.stream(), parkedEvents.stream())
+          .filter(next -> next.getClass().equals(clazz)).count();
   }
 
   /**
@@ -66,6 +75,7 @@ public class LspMessageDispatcher {
         throw new RuntimeException(e);
       } finally {
         singleThreadExecutor.shutdown();
+        retryTimer.shutdownNow();
       }
       return null;
     }, singleThreadExecutor);
@@ -77,13 +87,20 @@ public class LspMessageDispatcher {
       return;
     }
     try {
-      if (!nextEvent.getDependencies().stream().allMatch(LspEventDependency::isSatisfied)) {
+      // subscribe before the check, so a change between the check and the parking is not missed
+      Map<LspEventDependency, CompletableFuture<?>> signals = new LinkedHashMap<>();
+      nextEvent.getDependencies().forEach(dependency -> signals.put(dependency, getChangeSignal(dependency)));
+      List<CompletableFuture<?>> unsatisfied = signals.entrySet().stream()
+          .filter(entry -> !entry.getKey().isSatisfied())
+          .map(Map.Entry::getValue)
+          .collect(Collectors.toList());
+      if (!unsatisfied.isEmpty()) {
         boolean isCanceled = nextEvent.getCancelConditions().stream().anyMatch(LspEventCancelCondition::shouldBeCanceled);
         if (isCanceled) {
           LOG.debug("cancel event: " + nextEvent);
           future.cancel(true);
         } else {
-          putBack(nextEvent, future);
+          park(nextEvent, future, unsatisfied);
         }
         return;
       }
@@ -107,14 +124,24 @@ public class LspMessageDispatcher {
     }
   }
 
-  private void putBack(LspEvent<?> nextEven, CompletableFuture<Object> future) throws InterruptedException {
-    eventResults.put(nextEven, future);
-    LOG.debug("putBack: " + nextEven);
-    if (!eventQueue.offer(nextEven)) {
-      LOG.warn("Event " + nextEven + " dropped");
-    }
-    // save the CPU
-    TimeUnit.MILLISECONDS.sleep(100);
+  private CompletableFuture<?> getChangeSignal(LspEventDependency dependency) {
+    return dependency.getChangeSignal().orElseGet(() -> {
+      CompletableFuture<Void> retry = new CompletableFuture<>();
+      retryTimer.schedule(() -> retry.complete(null), RETRY_DELAY, TimeUnit.MILLISECONDS);
+      return retry;
+    });
+  }
+
+  private void park(LspEvent<?> event, CompletableFuture<Object> future, List<CompletableFuture<?>> signals) {
+    eventResults.put(event, future);
+    parkedEvents.add(event);
+    LOG.debug("park: " + event);
+    CompletableFuture.anyOf(signals.toArray(new CompletableFuture[0])).whenComplete((result, error) -> {
+      parkedEvents.remove(event);
+      if (!eventQueue.offer(event)) {
+        LOG.warn("Event " + event + " dropped");
+      }
+    });
   }
 
   /**
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.lsp.handlers.extended;
+
+import com.google.inject.Inject;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsSnapshot;
+
+/**
+ * Our Extension to LSP Metrics Handler
+ */
+public class MetricsHandler {
+  private final MetricsRegistry metricsRegistry;
+
+  @Inject
+  public MetricsHandler(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+  }
+
+  /**
+   * Handle metrics request from our LSP extension
+   *
+   * @return the current state of the server metrics
+   */
+  public MetricsSnapshot metrics() {
+    return metricsRegistry.snapshot();
+  }
+}
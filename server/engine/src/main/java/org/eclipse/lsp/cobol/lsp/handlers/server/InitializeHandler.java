@@ -25,7 +25,7 @@ import java.util.Optional;
 
 import static java.lang.Boolean.TRUE;
 import static java.util.Collections.emptyList;
-import static org.eclipse.lsp4j.TextDocumentSyncKind.Full;
+import static org.eclipse.lsp4j.TextDocumentSyncKind.Incremental;
 
 /**
  * LSP Initialize Handler
@@ -50,8 +50,8 @@ public class InitializeHandler {
 
     ServerCapabilities capabilities = new ServerCapabilities();
 
-    capabilities.setTextDocumentSync(Full);
-    capabilities.setCompletionProvider(new CompletionOptions(false, emptyList()));
+    capabilities.setTextDocumentSync(Incremental);
+    capabilities.setCompletionProvider(new CompletionOptions(true, emptyList()));
     capabilities.setDefinitionProvider(TRUE);
     capabilities.setReferencesProvider(TRUE);
     capabilities.setDocumentFormattingProvider(TRUE);
@@ -22,6 +22,7 @@ import org.eclipse.lsp.cobol.service.AnalysisService;
 import org.eclipse.lsp.cobol.service.WatcherService;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookNameService;
 import org.eclipse.lsp.cobol.service.delegates.completions.Keywords;
+import org.eclipse.lsp.cobol.service.settings.ConfigurationService;
 import org.eclipse.lsp.cobol.service.settings.SettingsService;
 import org.eclipse.lsp4j.InitializedParams;
 
@@ -40,6 +41,7 @@ public class InitializedHandler {
   private final LocaleStore localeStore;
   private final AnalysisService analysisService;
   private final MessageService messageService;
+  private final ConfigurationService configurationService;
 
   @Inject
   public InitializedHandler(WatcherService watchingService,
@@ -48,7 +50,8 @@ public class InitializedHandler {
                             SettingsService settingsService,
                             LocaleStore localeStore,
                             AnalysisService analysisService,
-                            MessageService messageService) {
+                            MessageService messageService,
+                            ConfigurationService configurationService) {
     this.watchingService = watchingService;
     this.copybookNameService = copybookNameService;
     this.keywords = keywords;
@@ -56,6 +59,7 @@ public class InitializedHandler {
     this.localeStore = localeStore;
     this.analysisService = analysisService;
     this.messageService = messageService;
+    this.configurationService = configurationService;
   }
 
   /**
@@ -70,6 +74,7 @@ public class InitializedHandler {
     keywords.updateStorage();
     messageService.reloadMessages();
     notifyConfiguredCopybookExtensions();
+    configurationService.prefetch(null);
   }
   private void getLocaleFromClient() {
     settingsService.fetchConfiguration(LOCALE.label).thenAccept(localeStore.notifyLocaleStore());
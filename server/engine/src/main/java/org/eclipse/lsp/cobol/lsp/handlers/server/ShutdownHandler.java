@@ -17,6 +17,7 @@ package org.eclipse.lsp.cobol.lsp.handlers.server;
 import com.google.inject.Inject;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
 import org.eclipse.lsp.cobol.lsp.DisposableLSPStateService;
 import org.eclipse.lsp.cobol.lsp.LspMessageDispatcher;
 
@@ -27,11 +28,14 @@ import org.eclipse.lsp.cobol.lsp.LspMessageDispatcher;
 public class ShutdownHandler {
   private final DisposableLSPStateService disposableLSPStateService;
   private final LspMessageDispatcher lspMessageDispatcher;
+  private final MetricsRegistry metricsRegistry;
 
   @Inject
-  public ShutdownHandler(DisposableLSPStateService disposableLSPStateService, LspMessageDispatcher lspMessageDispatcher) {
+  public ShutdownHandler(DisposableLSPStateService disposableLSPStateService, LspMessageDispatcher lspMessageDispatcher,
+                         MetricsRegistry metricsRegistry) {
     this.disposableLSPStateService = disposableLSPStateService;
     this.lspMessageDispatcher = lspMessageDispatcher;
+    this.metricsRegistry = metricsRegistry;
   }
 
   /**
@@ -40,6 +44,7 @@ public class ShutdownHandler {
    */
   public ShutdownResponse shutdown() {
     LOG.info("COBOL LS received shutdown request");
+    metricsRegistry.dump();
     try {
       disposableLSPStateService.shutdown();
       lspMessageDispatcher.stop();
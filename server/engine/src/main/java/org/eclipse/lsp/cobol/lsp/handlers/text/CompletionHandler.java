@@ -21,6 +21,7 @@ import org.eclipse.lsp.cobol.lsp.AsyncAnalysisService;
 import org.eclipse.lsp.cobol.lsp.LspEvent;
 import org.eclipse.lsp.cobol.lsp.LspEventDependency;
 import org.eclipse.lsp.cobol.service.DocumentModelService;
+import org.eclipse.lsp.cobol.service.delegates.completions.CompletionData;
 import org.eclipse.lsp.cobol.service.delegates.completions.Completions;
 import org.eclipse.lsp.cobol.service.utils.UriHelper;
 import org.eclipse.lsp4j.CompletionItem;
@@ -60,6 +61,29 @@ public class CompletionHandler {
     return Either.forRight(completions.collectFor(documentModelService.get(uri), params));
   }
 
+  /**
+   * Handle completionItem/resolve LSP request. The documentation is taken from the last analysis
+   * result of the document, so the request doesn't wait for the running analysis.
+   *
+   * @param item the completion item to resolve.
+   * @return the completion item with the documentation.
+   */
+  public CompletionItem resolveCompletionItem(CompletionItem item) {
+    return CompletionData.from(item)
+        .map(data -> completions.resolve(documentModelService.get(data.getUri()), item))
+        .orElse(item);
+  }
+
+  /**
+   * Create completionItem/resolve LSP event.
+   *
+   * @param item the completion item to resolve.
+   * @return LspEvent.
+   */
+  public LspEvent<CompletionItem> createResolveEvent(CompletionItem item) {
+    return () -> resolveCompletionItem(item);
+  }
+
   /**
    * Handle completion LSP request.
    * @param params CompletionParams.
@@ -18,6 +18,7 @@ import com.google.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.lsp.AsyncAnalysisService;
 import org.eclipse.lsp.cobol.lsp.handlers.HandlerUtility;
+import org.eclipse.lsp.cobol.service.DocumentModelService;
 import org.eclipse.lsp.cobol.service.utils.UriHelper;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 
@@ -27,14 +28,17 @@ import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 @Slf4j
 public class DidChangeHandler {
   private final AsyncAnalysisService asyncAnalysisService;
+  private final DocumentModelService documentModelService;
 
   @Inject
-  public DidChangeHandler(AsyncAnalysisService asyncAnalysisService) {
+  public DidChangeHandler(AsyncAnalysisService asyncAnalysisService, DocumentModelService documentModelService) {
     this.asyncAnalysisService = asyncAnalysisService;
+    this.documentModelService = documentModelService;
   }
 
   /**
-   * Handle LSP didChange event.
+   * Handle LSP didChange event. The changes are applied to the stored document text, and the
+   * analysis runs on the resulting text when the user stops typing.
    * @param params DidChangeTextDocumentParams.
    */
   public void didChange(DidChangeTextDocumentParams params) {
@@ -42,7 +46,10 @@ public class DidChangeHandler {
     if (!HandlerUtility.isUriSupported(uri)) {
       return;
     }
-    String text = params.getContentChanges().get(0).getText();
-    asyncAnalysisService.scheduleAnalysis(uri, text, params.getTextDocument().getVersion(), false);
+    documentModelService.applyChanges(uri, params.getContentChanges());
+    if (documentModelService.get(uri) == null) {
+      return;
+    }
+    asyncAnalysisService.scheduleChangeAnalysis(uri, params.getTextDocument().getVersion());
   }
 }
@@ -16,6 +16,7 @@ package org.eclipse.lsp.cobol.lsp.handlers.text;
 
 import com.google.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.core.engine.symbols.SymbolsRepository;
 import org.eclipse.lsp.cobol.lsp.AsyncAnalysisService;
 import org.eclipse.lsp.cobol.lsp.DisposableLSPStateService;
 import org.eclipse.lsp.cobol.service.DocumentModelService;
@@ -34,14 +35,17 @@ public class DidCloseHandler {
   private final AsyncAnalysisService asyncAnalysisService;
   private final DocumentModelService documentModelService;
   private final WatcherService watcherService;
+  private final SymbolsRepository symbolsRepository;
 
   @Inject
   public DidCloseHandler(DisposableLSPStateService disposableLSPStateService,
-                         AsyncAnalysisService asyncAnalysisService, DocumentModelService documentModelService, WatcherService watcherService) {
+                         AsyncAnalysisService asyncAnalysisService, DocumentModelService documentModelService, WatcherService watcherService,
+                         SymbolsRepository symbolsRepository) {
     this.disposableLSPStateService = disposableLSPStateService;
     this.asyncAnalysisService = asyncAnalysisService;
     this.documentModelService = documentModelService;
     this.watcherService = watcherService;
+    this.symbolsRepository = symbolsRepository;
   }
 
   /**
@@ -57,5 +61,6 @@ public class DidCloseHandler {
     watcherService.removeRuntimeWatchers(uri);
     documentModelService.closeDocument(uri);
     asyncAnalysisService.cancelAnalysis(uri);
+    symbolsRepository.closeDocument(uri);
   }
 }
@@ -16,6 +16,7 @@ package org.eclipse.lsp.cobol.lsp.handlers.text;
 
 import com.google.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.core.engine.symbols.SymbolsRepository;
 import org.eclipse.lsp.cobol.lsp.AsyncAnalysisService;
 import org.eclipse.lsp.cobol.lsp.LspEvent;
 import org.eclipse.lsp.cobol.lsp.handlers.HandlerUtility;
@@ -31,11 +32,14 @@ public class DidOpenHandler {
 
   private final AsyncAnalysisService asyncAnalysisService;
   private final WatcherService watcherService;
+  private final SymbolsRepository symbolsRepository;
 
   @Inject
-  public DidOpenHandler(AsyncAnalysisService asyncAnalysisService, WatcherService watcherService) {
+  public DidOpenHandler(AsyncAnalysisService asyncAnalysisService, WatcherService watcherService,
+                        SymbolsRepository symbolsRepository) {
     this.asyncAnalysisService = asyncAnalysisService;
     this.watcherService = watcherService;
+    this.symbolsRepository = symbolsRepository;
   }
 
   /**
@@ -49,6 +53,7 @@ public class DidOpenHandler {
       return;
     }
     watcherService.addRuntimeWatchers(uri);
+    symbolsRepository.openDocument(uri);
     asyncAnalysisService.openDocument(uri, params.getTextDocument().getText());
     asyncAnalysisService.scheduleAnalysis(uri, params.getTextDocument().getText(), params.getTextDocument().getVersion(), true);
   }
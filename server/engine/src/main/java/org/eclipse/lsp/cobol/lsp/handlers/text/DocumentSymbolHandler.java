@@ -78,7 +78,7 @@ public class DocumentSymbolHandler {
               asyncAnalysisService.createDependencyOn(uri),
               () -> documentModelService.get(uri) != null && ((documentModelService.get(uri).getOutlineResult() != null
                       && !documentModelService.get(uri).getOutlineResult().isEmpty())
-                      || analysisService.isCopybook(uri, documentModelService.get(uri).getText())));
+                      || analysisService.isCopybook(documentModelService.get(uri))));
       final List<LspEventCancelCondition> cancelConditions = ImmutableList.of(
               asyncAnalysisService.createCancelConditionOnClose(uri));
 
@@ -24,6 +24,7 @@ import org.eclipse.lsp.cobol.lsp.DisposableLSPStateService;
 import org.eclipse.lsp.cobol.service.WatcherService;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookNameService;
 import org.eclipse.lsp.cobol.service.delegates.completions.Keywords;
+import org.eclipse.lsp.cobol.service.settings.ConfigurationService;
 import org.eclipse.lsp.cobol.service.settings.SettingsService;
 import org.eclipse.lsp4j.DidChangeConfigurationParams;
 
@@ -46,6 +47,7 @@ public class DidChangeConfigurationHandler {
   private final Keywords keywords;
   private final MessageService messageService;
   private final AsyncAnalysisService asyncAnalysisService;
+  private final ConfigurationService configurationService;
 
   @Inject
   public DidChangeConfigurationHandler(DisposableLSPStateService disposableLSPStateService,
@@ -55,7 +57,8 @@ public class DidChangeConfigurationHandler {
                                        LocaleStore localeStore,
                                        Keywords keywords,
                                        MessageService messageService,
-                                       AsyncAnalysisService asyncAnalysisService) {
+                                       AsyncAnalysisService asyncAnalysisService,
+                                       ConfigurationService configurationService) {
     this.disposableLSPStateService = disposableLSPStateService;
     this.settingsService = settingsService;
     this.copybookNameService = copybookNameService;
@@ -64,6 +67,7 @@ public class DidChangeConfigurationHandler {
     this.keywords = keywords;
     this.messageService = messageService;
     this.asyncAnalysisService = asyncAnalysisService;
+    this.configurationService = configurationService;
   }
 
   /**
@@ -75,6 +79,7 @@ public class DidChangeConfigurationHandler {
       return;
     }
 
+    configurationService.invalidateCache();
     messageService.reloadMessages();
     copybookNameService.copybookLocalFolders(null).thenAccept(this::acceptSettingsChange);
 
@@ -17,6 +17,7 @@ package org.eclipse.lsp.cobol.lsp.jrpc;
 
 import com.google.gson.JsonObject;
 import lombok.NonNull;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsSnapshot;
 import org.eclipse.lsp.cobol.core.model.extendedapi.ExtendedApiResult;
 import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
 import org.eclipse.lsp4j.jsonrpc.services.JsonSegment;
@@ -36,4 +37,12 @@ public interface ExtendedApi {
   */
   @JsonRequest
   CompletableFuture<ExtendedApiResult> analysis(@NonNull JsonObject json);
+
+  /**
+   * Returns the server metrics: the pipeline stage timings and allocations, the document sizes, the
+   * copybook resolution counters and the cache statistics
+   * @return Future object with the metrics snapshot
+   */
+  @JsonRequest
+  CompletableFuture<MetricsSnapshot> metrics();
 }
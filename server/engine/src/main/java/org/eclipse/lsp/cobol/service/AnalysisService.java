@@ -34,6 +34,7 @@ import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 
 /** Provides async document analysis functionality */
 @Slf4j
@@ -82,6 +83,24 @@ public class AnalysisService {
     return copybookIdentificationService.isCopybook(uri, text, copybookExtensions);
   }
 
+  /**
+   * Check if given document is copybook or not. The result is stored in the document until its text
+   * or the copybook extensions change, so repeated checks don't scan the text again.
+   *
+   * @param document - the document model
+   * @return true for copybook and false otherwise
+   */
+  @SneakyThrows
+  public boolean isCopybook(CobolDocumentModel document) {
+    if (waitConfig.getCount() > 0) {
+      LOG.info("Waiting for extension config..");
+    }
+    waitConfig.await();
+    List<String> extensions = copybookExtensions;
+    return document.isCopybook(extensions,
+        text -> copybookIdentificationService.isCopybook(document.getUri(), text, extensions));
+  }
+
   /**
    * Set extension config
    *
@@ -93,40 +112,52 @@ public class AnalysisService {
   }
 
   /**
-   * Analyze document
+   * Analyze document. The programs that use a changed copybook are not analyzed here, they are
+   * returned so the caller can schedule their reanalysis.
    *
    * @param uri Source URI
    * @param text Content
    * @param isNew Is document just opened, or it's reanalyse request.
+   * @return the opened programs affected by the changed copybook, or an empty list for a program
    */
-  public void analyzeDocument(String uri, String text, boolean isNew) {
+  public List<CobolDocumentModel> analyzeDocument(String uri, String text, boolean isNew) {
     contentCache.store(uri, text);
     if (!isNew) {
-      documentService.updateDocument(uri, text);
+      documentService.invalidateAnalysis(uri);
     }
 
     String logPrefix = isNew ? "[analyzeDocument] Document " : "[reanalyzeDocument] Document ";
     LOG.debug(logPrefix + uri + " opened");
 
+    CobolDocumentModel document = documentService.get(uri);
+    if (document != null) {
+      LOG.debug(logPrefix + uri + " changed lines: " + document.getChangedLines());
+      // the changes made from now on are recorded for the next analysis
+      document.resetChangedLines();
+    }
+    // the model may already hold a newer revision than the analyzed text, so classify the text itself
     if (!isCopybook(uri, text)) {
       LOG.debug(logPrefix + uri + " treated as a program, start analyzing");
       analyzeDocumentWithCopybooks(uri, text);
-      return;
+      return Collections.emptyList();
     }
 
     LOG.debug(logPrefix + uri + " treated as a copy");
     if (isNew) {
-      return;
+      return Collections.emptyList();
     }
 
     Set<String> affectedOpenedPrograms =
         documentService.findAffectedDocumentsForCopybook(
-            uri, d -> !isCopybook(d.getUri(), d.getText()));
-
-    documentService.getAll(affectedOpenedPrograms).stream()
-        .filter(d -> !isCopybook(d.getUri(), d.getText()))
-        .forEach(doc -> analyzeDocumentWithCopybooks(doc.getUri(), doc.getText()));
+            uri, d -> !isCopybook(d));
 
+    List<CobolDocumentModel> programs = documentService.getAll(affectedOpenedPrograms).stream()
+        .filter(d -> !isCopybook(d))
+        .collect(toList());
+    if (!programs.isEmpty()) {
+      copybookService.preprocess(uri, text);
+    }
+    return programs;
   }
 
   /**
@@ -19,41 +19,42 @@ import org.eclipse.lsp.cobol.common.AnalysisResult;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp4j.DocumentSymbol;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * This class stores a COBOL program text to be processed. Provides a list of lines and text tokens
- * by position.
+ * by position. The text is kept line by line, so incremental changes only touch the edited lines.
  */
-@RequiredArgsConstructor
 @Slf4j
 public class CobolDocumentModel {
   private static final String DELIMITER = "[ .\\[\\]()<>,*\"']+";
-  @Getter private final List<Line> lines = new CopyOnWriteArrayList<>();
-  @Getter private String text;
+  private final TextDocumentBuffer buffer;
   @Getter private final String uri;
   @Getter @Setter private boolean opened = true;
   @Getter private AnalysisResult analysisResult;
   @Getter private AnalysisResult lastAnalysisResult;
   @Getter @Setter private List<DocumentSymbol> outlineResult;
+  private int revision;
+  private int classifiedRevision = -1;
+  private Object classifiedFor;
+  private boolean copybook;
 
   public CobolDocumentModel(String uri, String text, AnalysisResult analysisResult) {
     this.uri = uri;
-    this.text = text;
+    this.buffer = new TextDocumentBuffer(text);
     this.analysisResult = analysisResult;
     this.lastAnalysisResult = analysisResult;
-    parse(text);
   }
 
   public CobolDocumentModel(String uri, String text) {
-    this.text = text;
     this.uri = uri;
-    parse(text);
+    this.buffer = new TextDocumentBuffer(text);
   }
 
   public boolean isDocumentSynced() {
@@ -61,8 +62,52 @@ public class CobolDocumentModel {
   }
 
 
+  /**
+   * Returns the full text of the document
+   *
+   * @return the document text
+   */
+  @Synchronized
+  public String getText() {
+    return buffer.getText();
+  }
+
+  /**
+   * Returns a snapshot of the document lines. A line terminator at the end of the text doesn't start
+   * a new line.
+   *
+   * @return the list of lines
+   */
+  @Synchronized
+  public List<Line> getLines() {
+    int count = getLineCount();
+    List<Line> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      result.add(new Line(i, buffer.getLine(i)));
+    }
+    return result;
+  }
+
+  @Synchronized
   Line getLine(int number) {
-    return lines.stream().filter(line -> line.getNumber() == number).findFirst().orElse(null);
+    return number >= 0 && number < getLineCount() ? new Line(number, buffer.getLine(number)) : null;
+  }
+
+  /**
+   * Returns the range of lines changed since the last {@link #resetChangedLines()} call, i.e. since
+   * the last analysis of the document started
+   *
+   * @return the range of whole changed lines or empty if the text didn't change
+   */
+  @Synchronized
+  public Optional<Range> getChangedLines() {
+    return buffer.getChangedLines();
+  }
+
+  /** Forgets the changed lines of the document */
+  @Synchronized
+  public void resetChangedLines() {
+    buffer.resetChangedLines();
   }
 
   /**
@@ -79,6 +124,24 @@ public class CobolDocumentModel {
     return retrieveTokenBeginning(position, route);
   }
 
+  /**
+   * Returns if the document is a copybook. The classification runs once per text revision and
+   * classification settings, the following calls return the stored result.
+   *
+   * @param settings - the settings the classification depends on, compared by identity
+   * @param classification - the check of the document text
+   * @return true if the document is a copybook
+   */
+  @Synchronized
+  public boolean isCopybook(Object settings, Predicate<String> classification) {
+    if (classifiedRevision != revision || classifiedFor != settings) {
+      copybook = classification.test(buffer.getText());
+      classifiedRevision = revision;
+      classifiedFor = settings;
+    }
+    return copybook;
+  }
+
   /**
    * Assign analysis result to the document.
    * @param analysisResult the analysis result.
@@ -95,9 +158,35 @@ public class CobolDocumentModel {
    * Update CobolDocumentModel with a new text
    * @param text - the new document text
    */
+  @Synchronized
   public void update(String text) {
-    this.text = text;
-    parse(text);
+    buffer.setText(text);
+    revision++;
+    analysisResult = null;
+  }
+
+  /**
+   * Apply the content changes of a didChange notification in the given order. A change without a
+   * range replaces the whole text.
+   *
+   * @param changes - the list of content changes
+   */
+  @Synchronized
+  public void applyChanges(List<TextDocumentContentChangeEvent> changes) {
+    for (TextDocumentContentChangeEvent change : changes) {
+      if (change.getRange() == null) {
+        buffer.setText(change.getText());
+      } else {
+        buffer.replace(change.getRange(), change.getText());
+      }
+    }
+    revision++;
+    analysisResult = null;
+  }
+
+  /** Clean up the analysis result to show that the document is being analyzed again */
+  @Synchronized
+  public void invalidateAnalysis() {
     analysisResult = null;
   }
 
@@ -109,19 +198,9 @@ public class CobolDocumentModel {
     return retrieveToken(position, route);
   }
 
-  private void parse(String text) {
-    lines.clear();
-    try (BufferedReader reader = new BufferedReader(new StringReader(text))) {
-      String lineText;
-      int lineNumber = 0;
-
-      while ((lineText = reader.readLine()) != null) {
-        lines.add(new Line(lineNumber, lineText));
-        lineNumber++;
-      }
-    } catch (IOException e) {
-      LOG.error(e.getMessage());
-    }
+  private int getLineCount() {
+    int count = buffer.getLineCount();
+    return buffer.getLine(count - 1).isEmpty() ? count - 1 : count;
   }
 
   private String retrieveToken(Position position, Line route) {
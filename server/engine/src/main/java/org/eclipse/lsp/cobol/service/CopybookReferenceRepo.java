@@ -14,18 +14,30 @@
  */
 package org.eclipse.lsp.cobol.service;
 
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
 import com.google.inject.Singleton;
+import lombok.Synchronized;
+import lombok.Value;
 
 import java.io.File;
 import java.util.*;
 
 /**
  * Provides API to search for COBOL programs that refers a copybooks file.
+ *
+ * <p>The references form a graph from the copybooks to the documents that use them, including the
+ * nested ones. The URIs are normalized the same way as {@link File#equals(Object)} compares paths,
+ * so a lookup doesn't compare all the stored URIs. Each analysis replaces the references its
+ * previous run reported, so the graph follows the removed COPY statements too, and closing a
+ * document drops them.
  */
 @Singleton
 class CopybookReferenceRepo {
+  private static final boolean CASE_INSENSITIVE = new File("A").equals(new File("a"));
 
-  private final Map<String, Set<String>> copybookRef = new HashMap<>();
+  private final Map<String, Set<Reference>> referencesByAnalysis = new HashMap<>();
+  private final Map<String, Multiset<String>> usages = new HashMap<>();
 
   /**
    * Gives all the usage references of a copybook URI.
@@ -33,40 +45,88 @@ class CopybookReferenceRepo {
    * @param copybookUri is a URI of a copybook
    * @return a set of all reference of passed copybook URI
    */
+  @Synchronized
   public Set<String> getCopybookUsageReference(String copybookUri) {
     Set<String> result = new HashSet<>();
-    getReferences(copybookUri, result);
+    Deque<String> queue = new ArrayDeque<>();
+    queue.add(copybookUri);
+    while (!queue.isEmpty()) {
+      Multiset<String> documents = usages.get(normalize(queue.poll()));
+      if (documents == null) {
+        continue;
+      }
+      for (String document : documents.elementSet()) {
+        if (result.add(document)) {
+          queue.add(document);
+        }
+      }
+    }
     return result;
   }
 
   /** Clears all copybook references. */
+  @Synchronized
   public void clearReferences() {
-    this.copybookRef.clear();
+    referencesByAnalysis.clear();
+    usages.clear();
+  }
+
+  /**
+   * Replaces the references that the previous analysis of the document reported. The references
+   * include the ones of the nested copybooks, i.e. their document is a copybook.
+   *
+   * @param analyzedUri the analyzed document
+   * @param references the pairs of the document with a COPY statement and the copybook it refers
+   */
+  @Synchronized
+  public void updateReferences(String analyzedUri, Collection<? extends Map.Entry<String, String>> references) {
+    removeReferences(analyzedUri);
+    Set<Reference> stored = new HashSet<>();
+    references.stream()
+        .filter(it -> it.getKey() != null && it.getValue() != null)
+        .map(it -> new Reference(it.getKey(), it.getValue()))
+        .filter(stored::add)
+        .forEach(this::add);
+    if (!stored.isEmpty()) {
+      referencesByAnalysis.put(analyzedUri, stored);
+    }
   }
 
   /**
-   * Stores the references of cobol programs which refers a copybook.
+   * Removes the references that the analysis of the document reported.
    *
-   * @param documentUri Cobol document (program or copybook) that refers the copybook
-   * @param copybookUri copybook uri
+   * @param analyzedUri the analyzed document
    */
-  public void storeCopybookUsageReference(String documentUri, String copybookUri) {
-    Set<String> copybookUsageRef =
-        copybookRef.computeIfAbsent(copybookUri, k -> new HashSet<>());
-    copybookUsageRef.add(documentUri);
-    copybookRef.put(copybookUri, copybookUsageRef);
+  @Synchronized
+  public void removeReferences(String analyzedUri) {
+    Optional.ofNullable(referencesByAnalysis.remove(analyzedUri))
+        .ifPresent(it -> it.forEach(this::remove));
+  }
+
+  private void add(Reference reference) {
+    usages.computeIfAbsent(normalize(reference.copybookUri), k -> HashMultiset.create())
+        .add(reference.documentUri);
+  }
+
+  private void remove(Reference reference) {
+    String copybookUri = normalize(reference.copybookUri);
+    Multiset<String> documents = usages.get(copybookUri);
+    if (documents != null && documents.remove(reference.documentUri) && documents.isEmpty()) {
+      usages.remove(copybookUri);
+    }
+  }
+
+  private static String normalize(String uri) {
+    if (uri == null) {
+      return null;
+    }
+    String path = new File(uri).getPath();
+    return CASE_INSENSITIVE ? path.toLowerCase(Locale.ROOT) : path;
   }
 
-  private void getReferences(String copybookUri, Set<String> result) {
-    copybookRef.entrySet().stream()
-        .filter(entry -> Objects.nonNull(entry.getKey()))
-        .filter(entry -> new File(entry.getKey()).equals(new File(copybookUri)))
-        .map(Map.Entry::getValue)
-        .flatMap(Collection::stream)
-        .filter(d -> !result.contains(d))
-        .forEach(d -> {
-          result.add(d);
-          getReferences(d, result);
-        });
+  @Value
+  private static class Reference {
+    String documentUri;
+    String copybookUri;
   }
 }
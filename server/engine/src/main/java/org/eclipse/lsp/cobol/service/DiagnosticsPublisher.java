@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.service.delegates.communications.Communications;
+import org.eclipse.lsp4j.Diagnostic;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Publishes the diagnostics of the analyzed documents. Only the documents whose diagnostics differ
+ * from the last published ones are sent to the client: the analyzed program and the copybooks it
+ * reports errors for now or reported before. The notifications are sent in batches from a separate
+ * thread, so the analysis doesn't wait for them, and a burst of analyses results in one batch.
+ */
+@Slf4j
+@Singleton
+public class DiagnosticsPublisher {
+  private final DocumentModelService documentModelService;
+  private final Communications communications;
+  private final Executor executor;
+
+  private final Map<String, List<Diagnostic>> publishedDiagnostics = new HashMap<>();
+  private final Map<String, Set<String>> relatedUris = new HashMap<>();
+  private final Set<String> dirtyUris = new LinkedHashSet<>();
+  private boolean flushScheduled;
+
+  @Inject
+  public DiagnosticsPublisher(DocumentModelService documentModelService, Communications communications) {
+    this(documentModelService, communications, Executors.newSingleThreadExecutor(r -> {
+      Thread thread = new Thread(r, "Diagnostics publisher");
+      thread.setDaemon(true);
+      return thread;
+    }));
+  }
+
+  DiagnosticsPublisher(DocumentModelService documentModelService, Communications communications, Executor executor) {
+    this.documentModelService = documentModelService;
+    this.communications = communications;
+    this.executor = executor;
+  }
+
+  /**
+   * Schedule publishing of the diagnostics of the document and the copybooks related to it
+   *
+   * @param uri - the URI of the analyzed or closed document
+   */
+  public void publish(String uri) {
+    Set<String> related = documentModelService.getDiagnosticUris(uri);
+    synchronized (this) {
+      dirtyUris.add(uri);
+      Optional.ofNullable(relatedUris.put(uri, related)).ifPresent(dirtyUris::addAll);
+      dirtyUris.addAll(related);
+      if (flushScheduled) {
+        return;
+      }
+      flushScheduled = true;
+    }
+    executor.execute(this::flush);
+  }
+
+  /**
+   * Returns the number of documents with the published non-empty diagnostics
+   *
+   * @return the number of documents
+   */
+  public synchronized int getPublishedCount() {
+    return publishedDiagnostics.size();
+  }
+
+  private void flush() {
+    Set<String> uris;
+    synchronized (this) {
+      uris = new LinkedHashSet<>(dirtyUris);
+      dirtyUris.clear();
+      flushScheduled = false;
+    }
+    Map<String, List<Diagnostic>> diagnostics = documentModelService.getOpenedDiagnostic(uris);
+    Map<String, List<Diagnostic>> changed = new LinkedHashMap<>();
+    synchronized (this) {
+      diagnostics.forEach((uri, list) -> {
+        if (!list.equals(publishedDiagnostics.getOrDefault(uri, ImmutableList.of()))) {
+          changed.put(uri, list);
+          if (list.isEmpty()) {
+            publishedDiagnostics.remove(uri);
+          } else {
+            publishedDiagnostics.put(uri, new ArrayList<>(list));
+          }
+        }
+      });
+    }
+    LOG.debug("[publishDiagnostics] {} of {} documents changed", changed.size(), uris.size());
+    if (!changed.isEmpty()) {
+      try {
+        communications.publishDiagnostics(changed);
+      } catch (RuntimeException e) {
+        LOG.error("Cannot publish diagnostics", e);
+      }
+    }
+  }
+}
@@ -16,32 +16,43 @@ package org.eclipse.lsp.cobol.service;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 import lombok.NonNull;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
+import org.eclipse.lsp.cobol.service.utils.SizeEstimates;
 
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Document content cache organized by document uri
+ * Document content cache organized by document uri. The cache is limited by the estimated size of
+ * the content.
  */
 @Singleton
 public class DocumentContentCache {
+  private static final Weigher<String, Optional<String>> WEIGHER = (uri, text) -> SizeEstimates.toWeight(
+      SizeEstimates.ENTRY_OVERHEAD + SizeEstimates.of(uri) + SizeEstimates.of(text.orElse(null)));
+
   private final Cache<String, Optional<String>> cache;
 
   @Inject
   public DocumentContentCache(
-      @Named("CACHE-MAX-SIZE") int cacheSize,
+      @Named("CACHE-MAX-WEIGHT") long maxWeight,
       @Named("CACHE-DURATION") int duration,
-      @Named("CACHE-TIME-UNIT") String timeUnitName) {
+      @Named("CACHE-TIME-UNIT") String timeUnitName,
+      MetricsRegistry metricsRegistry) {
     cache =
         CacheBuilder.newBuilder()
             .expireAfterWrite(duration, TimeUnit.valueOf(timeUnitName))
-            .maximumSize(cacheSize)
+            .maximumWeight(maxWeight)
+            .weigher(WEIGHER)
+            .recordStats()
             .build();
+    metricsRegistry.registerCache("documentContent", cache, WEIGHER);
   }
 
   /**
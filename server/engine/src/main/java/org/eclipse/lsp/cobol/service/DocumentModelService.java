@@ -24,8 +24,10 @@ import org.eclipse.lsp.cobol.common.model.NodeType;
 import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
 import org.eclipse.lsp.cobol.service.utils.BuildOutlineTreeFromSyntaxTree;
 import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -37,6 +39,7 @@ import java.util.stream.Collectors;
 public class DocumentModelService {
   private final Map<String, CobolDocumentModel> docs = new HashMap<>();
   private final Map<String, List<Diagnostic>> diagnosticRepo = Collections.synchronizedMap(new HashMap<>());
+  private final Map<String, CompletableFuture<Void>> updateSignals = new HashMap<>();
   private final CopybookReferenceRepo copybookReferenceRepo;
 
   @Inject
@@ -52,7 +55,16 @@ public class DocumentModelService {
    */
   @Synchronized
   public void openDocument(String uri, String text) {
-    docs.computeIfAbsent(uri, u -> new CobolDocumentModel(uri, text)).setOpened(true);
+    CobolDocumentModel document = docs.get(uri);
+    if (document == null) {
+      docs.put(uri, new CobolDocumentModel(uri, text));
+    } else {
+      if (!document.getText().equals(text)) {
+        document.update(text);
+      }
+      document.setOpened(true);
+    }
+    signalUpdate(uri);
   }
 
   /**
@@ -82,17 +94,33 @@ public class DocumentModelService {
     removeAllRelatedDiagnostics(document);
     updateDiagnosticRepo(uri, analysisResult.getDiagnostics());
     document.setOutlineResult(BuildOutlineTreeFromSyntaxTree.convert(analysisResult.getRootNode(), uri));
-    analysisResult
-            .getRootNode()
-            .getDepthFirstStream()
-            .filter(n -> n.getNodeType() == NodeType.COPY)
-            .filter(CopyNode.class::isInstance)
-            .map(CopyNode.class::cast)
-            .forEach(
-                    n ->
-                            copybookReferenceRepo.storeCopybookUsageReference(
-                                    n.getNameLocation().getUri(), n.getUri()));
+    copybookReferenceRepo.updateReferences(uri,
+            analysisResult
+                    .getRootNode()
+                    .getNodesByType(NodeType.COPY)
+                    .stream()
+                    .filter(CopyNode.class::isInstance)
+                    .map(CopyNode.class::cast)
+                    .map(n -> new AbstractMap.SimpleImmutableEntry<>(n.getNameLocation().getUri(), n.getUri()))
+                    .collect(Collectors.toList()));
     document.setAnalysisResult(analysisResult);
+    signalUpdate(uri);
+  }
+
+  /**
+   * Returns the signal that completes on the next update of the document: it is opened, closed,
+   * removed or gets a new analysis result
+   *
+   * @param uri - document uri
+   * @return the future that completes on the update
+   */
+  @Synchronized
+  public CompletableFuture<Void> onDocumentUpdate(String uri) {
+    return updateSignals.computeIfAbsent(uri, u -> new CompletableFuture<>());
+  }
+
+  private void signalUpdate(String uri) {
+    Optional.ofNullable(updateSignals.remove(uri)).ifPresent(signal -> signal.complete(null));
   }
 
   private void updateDiagnosticRepo(String currentUri, Map<String, List<Diagnostic>> diagnostics) {
@@ -112,7 +140,8 @@ public class DocumentModelService {
   }
 
   /**
-   * Mark the document as closed
+   * Mark the document as closed and drop the copybook references its analysis reported, so the
+   * copybook changes don't trigger its analysis any more
    *
    * @param uri - document uri
    */
@@ -123,7 +152,9 @@ public class DocumentModelService {
                     d -> {
                       d.setOpened(false);
                       removeAllRelatedDiagnostics(d);
+                      copybookReferenceRepo.removeReferences(uri);
                     });
+    signalUpdate(uri);
   }
 
   private void removeAllRelatedDiagnostics(CobolDocumentModel documentModel) {
@@ -157,7 +188,9 @@ public class DocumentModelService {
                     d -> {
                       diagnosticRepo.remove(uri);
                       docs.remove(uri);
+                      copybookReferenceRepo.removeReferences(uri);
                     });
+    signalUpdate(uri);
   }
 
   /**
@@ -208,13 +241,68 @@ public class DocumentModelService {
   }
 
   /**
-   * Updates document with a new text.
+   * Returns the diagnostics of the given documents. The documents that are not opened have empty
+   * diagnostics.
+   *
+   * @param uris - the document uris
+   * @return map of diagnostics where the key is a document uri and a value is a list of diagnostics
+   * for this document
+   */
+  @Synchronized
+  public Map<String, List<Diagnostic>> getOpenedDiagnostic(Collection<String> uris) {
+    Map<String, List<Diagnostic>> result = new LinkedHashMap<>();
+    for (String uri : uris) {
+      CobolDocumentModel document = docs.get(uri);
+      List<Diagnostic> diagnostics = diagnosticRepo.get(uri);
+      if (diagnostics != null && document != null && document.isOpened()) {
+        result.put(uri, diagnostics);
+      } else {
+        result.put(uri, ImmutableList.of());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the URIs of the documents the last analysis of the given document reported diagnostics
+   * for, e.g. the copybooks it uses
+   *
+   * @param uri - document uri
+   * @return the set of document uris
+   */
+  @Synchronized
+  public Set<String> getDiagnosticUris(String uri) {
+    return Optional.ofNullable(docs.get(uri))
+            .map(CobolDocumentModel::getAnalysisResult)
+            .map(AnalysisResult::getDiagnostics)
+            .<Set<String>>map(diagnostics -> new HashSet<>(diagnostics.keySet()))
+            .orElseGet(Collections::emptySet);
+  }
+
+  /**
+   * Apply the content changes of a didChange notification to the document text.
+   *
+   * @param uri     - document uri.
+   * @param changes - the content changes in the order of the notification.
+   */
+  @Synchronized
+  public void applyChanges(String uri, List<TextDocumentContentChangeEvent> changes) {
+    CobolDocumentModel d = docs.get(uri);
+    if (d == null) {
+      LOG.warn("Trying to change missing document: " + uri);
+      return;
+    }
+    d.applyChanges(changes);
+  }
+
+  /**
+   * Removes the analysis result and the diagnostics of the document before the reanalysis. The text
+   * of the document is maintained by the open and change notifications.
    *
    * @param uri  - document uri.
-   * @param text - content of the document.
    */
   @Synchronized
-  public void updateDocument(String uri, String text) {
+  public void invalidateAnalysis(String uri) {
     diagnosticRepo.remove(uri);
     CobolDocumentModel d = docs.get(uri);
     if (d == null) {
@@ -222,7 +310,7 @@ public class DocumentModelService {
       return;
     }
     removeAllRelatedDiagnostics(d);
-    d.update(text);
+    d.invalidateAnalysis();
   }
 
   /**
@@ -27,7 +27,6 @@ import java.util.List;
 
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.lsp.cobol.common.model.NodeType.COPY;
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
 
 /**
  * FoldingRange helper
@@ -63,8 +62,8 @@ public class DocumentServiceHelper {
   public List<String> extractCopybookUris(AnalysisResult result) {
     return result
         .getRootNode()
-        .getDepthFirstStream()
-        .filter(hasType(COPY))
+        .getNodesByType(COPY)
+        .stream()
         .map(CopyNode.class::cast)
         .map(CopyNode::getUri)
         .filter(def -> !StringUtils.isEmpty(def))
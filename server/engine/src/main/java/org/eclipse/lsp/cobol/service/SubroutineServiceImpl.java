@@ -15,10 +15,13 @@
 package org.eclipse.lsp.cobol.service;
 
 import org.eclipse.lsp.cobol.common.SubroutineService;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
 import org.eclipse.lsp.cobol.lsp.jrpc.CobolLanguageClient;
+import org.eclipse.lsp.cobol.service.utils.SizeEstimates;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.Weigher;
 import com.google.common.util.concurrent.ExecutionError;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.inject.Inject;
@@ -39,23 +42,30 @@ import java.util.stream.Collectors;
  */
 @Singleton
 public class SubroutineServiceImpl implements SubroutineService {
+  private static final Weigher<String, Optional<String>> WEIGHER = (name, uri) -> SizeEstimates.toWeight(
+      SizeEstimates.ENTRY_OVERHEAD + SizeEstimates.of(name) + SizeEstimates.of(uri.orElse(null)));
+
   private final LoadingCache<String, Optional<String>> cache;
 
   @Inject
   public SubroutineServiceImpl(
       Provider<CobolLanguageClient> clientProvider,
-      @Named("CACHE-MAX-SIZE") int cacheSize,
+      @Named("CACHE-MAX-WEIGHT") long maxWeight,
       @Named("CACHE-DURATION") int duration,
-      @Named("CACHE-TIME-UNIT") String timeUnitName) {
+      @Named("CACHE-TIME-UNIT") String timeUnitName,
+      MetricsRegistry metricsRegistry) {
     cache = CacheBuilder.newBuilder()
         .expireAfterWrite(duration, TimeUnit.valueOf(timeUnitName))
-        .maximumSize(cacheSize)
+        .maximumWeight(maxWeight)
+        .weigher(WEIGHER)
+        .recordStats()
         .build(new CacheLoader<String, Optional<String>>() {
           @Override
           public Optional<String> load(String key) throws Exception {
             return Optional.ofNullable(clientProvider.get().resolveSubroutine(key).get());
           }
         });
+    metricsRegistry.registerCache("subroutines", cache, WEIGHER);
   }
 
   @Override
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Line based buffer of a document text. Each line is stored with its line terminator, so the text is
+ * restored exactly. A range edit replaces only the affected lines, and the full text is built on
+ * demand. The buffer also records the range of lines changed since the last reset.
+ */
+class TextDocumentBuffer {
+  private final List<String> lines = new ArrayList<>();
+  private String text;
+  private int firstChangedLine = -1;
+  private int lastChangedLine = -1;
+
+  TextDocumentBuffer(String text) {
+    setText(text);
+  }
+
+  /**
+   * Replaces the whole text of the buffer
+   *
+   * @param newText - the new text
+   */
+  void setText(String newText) {
+    lines.clear();
+    lines.addAll(split(newText));
+    text = newText;
+    firstChangedLine = 0;
+    lastChangedLine = lines.size() - 1;
+  }
+
+  /**
+   * Replaces the given range of the text. Positions out of the text are moved to the nearest valid
+   * position.
+   *
+   * @param range - the range to replace
+   * @param newText - the new text for the range
+   */
+  void replace(Range range, String newText) {
+    int startLine = Math.max(0, Math.min(range.getStart().getLine(), lines.size() - 1));
+    int endLine = Math.max(startLine, Math.min(range.getEnd().getLine(), lines.size() - 1));
+    String prefix = lines.get(startLine).substring(0, getOffset(range.getStart(), startLine));
+    String suffix = lines.get(endLine).substring(getOffset(range.getEnd(), endLine));
+
+    List<String> newLines = split(prefix + newText + suffix);
+    if (endLine < lines.size() - 1) {
+      // the suffix ends with a line terminator, so the last piece is the beginning of the next line
+      newLines.remove(newLines.size() - 1);
+    }
+    lines.subList(startLine, endLine + 1).clear();
+    lines.addAll(startLine, newLines);
+    text = null;
+    recordChange(startLine, endLine, newLines.size());
+  }
+
+  /**
+   * Returns the full text of the buffer
+   *
+   * @return the text
+   */
+  String getText() {
+    if (text == null) {
+      StringBuilder builder = new StringBuilder();
+      lines.forEach(builder::append);
+      text = builder.toString();
+    }
+    return text;
+  }
+
+  /**
+   * Returns the number of lines in the buffer. A text that ends with a line terminator has an empty
+   * last line.
+   *
+   * @return the number of lines
+   */
+  int getLineCount() {
+    return lines.size();
+  }
+
+  /**
+   * Returns the text of the line without the line terminator
+   *
+   * @param number - the line number
+   * @return the line text
+   */
+  String getLine(int number) {
+    String line = lines.get(number);
+    return line.substring(0, getContentLength(line));
+  }
+
+  /**
+   * Returns the range of lines changed since the last reset
+   *
+   * @return the range of whole changed lines or empty if nothing changed
+   */
+  Optional<Range> getChangedLines() {
+    if (firstChangedLine < 0) {
+      return Optional.empty();
+    }
+    return Optional.of(new Range(new Position(firstChangedLine, 0),
+        new Position(lastChangedLine, getContentLength(lines.get(lastChangedLine)))));
+  }
+
+  /**
+   * Forgets the changed lines
+   */
+  void resetChangedLines() {
+    firstChangedLine = -1;
+    lastChangedLine = -1;
+  }
+
+  private void recordChange(int startLine, int endLine, int insertedLines) {
+    int delta = insertedLines - (endLine - startLine + 1);
+    int lastInsertedLine = startLine + insertedLines - 1;
+    if (firstChangedLine < 0) {
+      firstChangedLine = startLine;
+      lastChangedLine = lastInsertedLine;
+      return;
+    }
+    if (firstChangedLine > endLine) {
+      firstChangedLine += delta;
+    }
+    if (lastChangedLine > endLine) {
+      lastChangedLine += delta;
+    }
+    firstChangedLine = Math.min(firstChangedLine, startLine);
+    lastChangedLine = Math.max(lastChangedLine, lastInsertedLine);
+  }
+
+  private int getOffset(Position position, int lineNumber) {
+    int length = getContentLength(lines.get(lineNumber));
+    if (position.getLine() > lineNumber) {
+      return length;
+    }
+    if (position.getLine() < lineNumber) {
+      return 0;
+    }
+    return Math.max(0, Math.min(position.getCharacter(), length));
+  }
+
+  private static int getContentLength(String line) {
+    int length = line.length();
+    if (length > 0 && line.charAt(length - 1) == '\n') {
+      length--;
+    }
+    if (length > 0 && line.charAt(length - 1) == '\r') {
+      length--;
+    }
+    return length;
+  }
+
+  private static List<String> split(String text) {
+    List<String> result = new ArrayList<>();
+    int start = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '\n' || (c == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n'))) {
+        result.add(text.substring(start, i + 1));
+        start = i + 1;
+      }
+    }
+    result.add(text.substring(start));
+    return result;
+  }
+}
@@ -16,34 +16,45 @@ package org.eclipse.lsp.cobol.service.copybooks;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 import org.eclipse.lsp.cobol.common.copybook.CopybookId;
 import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
+import org.eclipse.lsp.cobol.service.utils.SizeEstimates;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Implements copybook cache functionality
+ * Implements copybook cache functionality. The cache is limited by the estimated size of the copybook
+ * content, so a large copybook takes more of the cache than a small one.
  */
 @Singleton
 public class CopybookCache {
+  private static final Weigher<CopybookId, CopybookModel> WEIGHER = (id, model) -> SizeEstimates.toWeight(
+      SizeEstimates.ENTRY_OVERHEAD + SizeEstimates.of(id.toString()) + SizeEstimates.of(model.getUri())
+          + SizeEstimates.of(model.getContent()));
 
   private final Cache<CopybookId, CopybookModel> cache;
 
   @Inject
   public CopybookCache(
-      @Named("CACHE-MAX-SIZE") int cacheSize,
+      @Named("CACHE-MAX-WEIGHT") long maxWeight,
       @Named("CACHE-DURATION") int duration,
-      @Named("CACHE-TIME-UNIT") String timeUnitName) {
+      @Named("CACHE-TIME-UNIT") String timeUnitName,
+      MetricsRegistry metricsRegistry) {
     cache =
         CacheBuilder.newBuilder()
             .expireAfterWrite(duration, TimeUnit.valueOf(timeUnitName))
-            .maximumSize(cacheSize)
+            .maximumWeight(maxWeight)
+            .weigher(WEIGHER)
+            .recordStats()
             .build();
+    metricsRegistry.registerCache("copybooks", cache, WEIGHER);
   }
 
   /**
@@ -64,6 +75,15 @@ public class CopybookCache {
     return cache.get(copybookId, callable);
   }
 
+  /**
+   * Checks if the copybook model is in the cache
+   * @param copybookId copybook id
+   * @return true if the cache contains the copybook model
+   */
+  public boolean contains(CopybookId copybookId) {
+    return cache.asMap().containsKey(copybookId);
+  }
+
   /**
    * Store copybook model to cache
    * @param copybookModel to store
@@ -17,24 +17,27 @@ package org.eclipse.lsp.cobol.service.copybooks;
 import com.google.common.collect.ImmutableList;
 import com.google.inject.Singleton;
 
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-/** Identifies a copybook based on the content. */
+/**
+ * Identifies a copybook based on the content. The text is scanned line by line, and the scan stops at
+ * the first line that starts a program. Only the lines that contain "ID" can start a program, so the
+ * patterns are matched against them only.
+ */
 @Singleton
 public class CopybookIdentificationServiceBasedOnContent implements CopybookIdentificationService {
+  private static final List<String> COMMENT_INDICATORS = ImmutableList.of("*", "/");
+
+  private final List<Pattern> patterns = ImmutableList.of(
+      Pattern.compile(
+          "(?i)^(?<sequence>.{0,6})(?<indicator>.?)\\h*(PROGRAM-ID)\\s*\\.?\\s*(?<programName>.{1,30})\\s*\\.?$",
+          Pattern.MULTILINE | Pattern.CASE_INSENSITIVE),
+      Pattern.compile("(?i)^(?<sequence>.{0,6})(?<indicator>.?)\\s*((IDENTIFICATION|ID)\\s+DIVISION)\\s*\\.",
+          Pattern.MULTILINE | Pattern.CASE_INSENSITIVE));
 
-  private final List<Pattern> patterns = new LinkedList<>();
-  public CopybookIdentificationServiceBasedOnContent() {
-    patterns.add(Pattern.compile(
-        "(?i)^(?<sequence>.{0,6})(?<indicator>.?)\\h*(PROGRAM-ID)\\s*\\.?\\s*(?<programName>.{1,30})\\s*\\.?$",
-        Pattern.MULTILINE | Pattern.CASE_INSENSITIVE));
-    patterns.add(Pattern.compile("(?i)^(?<sequence>.{0,6})(?<indicator>.?)\\s*((IDENTIFICATION|ID)\\s+DIVISION)\\s*\\.",
-        Pattern.MULTILINE | Pattern.CASE_INSENSITIVE));
-  }
   /**
    * Identifies a copybook based on the content. If the text contains a valid program-id, we detect
    * it as a cobol program, else it's a copybook.
@@ -46,15 +49,44 @@ public class CopybookIdentificationServiceBasedOnContent implements CopybookIden
    */
   @Override
   public boolean isCopybook(String uri, String text, List<String> config) throws UndeterminedDocumentException {
-    String copybookContent = Optional.ofNullable(text).orElse("");
-    for (Pattern pattern : patterns) {
-      Matcher matcher = pattern.matcher(copybookContent);
-      while (matcher.find()) {
-        if (!ImmutableList.of("*", "/").contains(matcher.group("indicator"))) {
-          return false;
-        }
+    String content = Optional.ofNullable(text).orElse("");
+    int lineStart = 0;
+    while (lineStart < content.length()) {
+      int lineEnd = findLineEnd(content, lineStart);
+      if (containsId(content, lineStart, lineEnd) && startsProgram(content, lineStart)) {
+        return false;
       }
+      lineStart = lineEnd + 1;
     }
     return true;
   }
+
+  private boolean startsProgram(String content, int lineStart) {
+    for (Pattern pattern : patterns) {
+      Matcher matcher = pattern.matcher(content).region(lineStart, content.length());
+      if (matcher.lookingAt() && !COMMENT_INDICATORS.contains(matcher.group("indicator"))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int findLineEnd(String content, int from) {
+    for (int i = from; i < content.length(); i++) {
+      char c = content.charAt(i);
+      if (c == '\n' || c == '\r') {
+        return i;
+      }
+    }
+    return content.length();
+  }
+
+  private static boolean containsId(String content, int lineStart, int lineEnd) {
+    for (int i = lineStart; i < lineEnd - 1; i++) {
+      if (content.regionMatches(true, i, "ID", 0, 2)) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
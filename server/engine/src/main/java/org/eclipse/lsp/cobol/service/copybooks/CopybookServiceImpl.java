@@ -39,10 +39,12 @@ import org.eclipse.lsp.cobol.common.mapping.ExtendedText;
 import org.eclipse.lsp.cobol.common.mapping.OriginalLocation;
 import org.eclipse.lsp.cobol.common.utils.ImplicitCodeUtils;
 import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
 import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
 import org.eclipse.lsp.cobol.core.semantics.CopybooksRepository;
 import org.eclipse.lsp.cobol.lsp.jrpc.CobolLanguageClient;
 import org.eclipse.lsp.cobol.service.DocumentContentCache;
+import org.eclipse.lsp.cobol.service.copybooks.PreprocessedCopybookCache.PreprocessedCopybook;
 
 /**
  * This service processes copybook requests and returns content by its name. The service also caches
@@ -63,19 +65,25 @@ public class CopybookServiceImpl implements CopybookService {
       new ConcurrentHashMap<>(8, 0.9f, 1);
 
   private final CopybookCache copybookCache;
+  private final PreprocessedCopybookCache preprocessedCopybookCache;
   private final DocumentContentCache contentCache;
+  private final MetricsRegistry metricsRegistry;
 
   @Inject
   public CopybookServiceImpl(Provider<CobolLanguageClient> clientProvider,
       FileSystemService files,
       TextPreprocessor preprocessor,
       CopybookCache copybookCache,
-      DocumentContentCache contentCache) {
+      PreprocessedCopybookCache preprocessedCopybookCache,
+      DocumentContentCache contentCache,
+      MetricsRegistry metricsRegistry) {
     this.files = files;
     this.clientProvider = clientProvider;
     this.preprocessor = preprocessor;
     this.copybookCache = copybookCache;
+    this.preprocessedCopybookCache = preprocessedCopybookCache;
     this.contentCache = contentCache;
+    this.metricsRegistry = metricsRegistry;
   }
 
   @Override
@@ -145,7 +153,9 @@ public class CopybookServiceImpl implements CopybookService {
 
   private CopybookModel getFromCache(String programDocumentUri, CopybookId copybookId,
                                      CopybookName copybookName, boolean preprocess) throws ExecutionException {
-    return copybookCache.get(copybookId, () -> {
+    boolean[] loaded = {false};
+    CopybookModel result = copybookCache.get(copybookId, () -> {
+      loaded[0] = true;
       CopybookModel copybookModel = resolveSync(copybookName, programDocumentUri);
       if (preprocess && copybookModel.getUri() != null) {
         ResultWithErrors<CopybookModel> copybookModelResultWithErrors = cleanupCopybook(copybookModel);
@@ -154,6 +164,8 @@ public class CopybookServiceImpl implements CopybookService {
       }
       return copybookModel;
     });
+    metricsRegistry.increment(loaded[0] ? "copybook.cache.misses" : "copybook.cache.hits");
+    return result;
   }
 
   @Override
@@ -171,6 +183,46 @@ public class CopybookServiceImpl implements CopybookService {
     store(copybookModel);
   }
 
+  @Override
+  public void preprocess(@NonNull String copybookUri, @NonNull String content) {
+    preprocessedCopybookCache.get(copybookUri, content, () -> cleanUp(copybookUri, content));
+  }
+
+  /**
+   * Resolve the given copybooks in advance. The client is asked for all the copybook URIs at once, so
+   * the resolving takes one round trip instead of one per copybook. The copybooks that are already
+   * cached or are not found in the workspace are skipped, the regular resolving handles them later.
+   *
+   * @param copybookNames - the names of the copybooks to be resolved
+   * @param programDocumentUri - the currently processing program document
+   * @return a list of resolved copybooks with preprocessed content
+   */
+  @Override
+  public List<CopybookModel> prefetch(@NonNull Collection<CopybookName> copybookNames, @NonNull String programDocumentUri) {
+    Map<CopybookName, CompletableFuture<String>> requests = new LinkedHashMap<>();
+    copybookNames.stream()
+        .filter(name -> !copybookCache.contains(name.toCopybookId(programDocumentUri)))
+        .forEach(name -> requests.computeIfAbsent(name, it -> requestCopybookUri(it, programDocumentUri)));
+    LOG.debug("Prefetching copybooks {} for {}", requests.keySet(), programDocumentUri);
+
+    List<CopybookModel> result = new ArrayList<>();
+    requests.forEach((copybookName, future) -> {
+      ThreadInterruptionUtil.checkThreadInterrupted();
+      awaitCopybookUri(future)
+          .filter(uri -> files.fileExists(files.getPathFromURI(uri)))
+          .map(uri -> new CopybookModel(copybookName.toCopybookId(programDocumentUri), copybookName, uri,
+              files.getContentByPath(Objects.requireNonNull(files.getPathFromURI(uri)))))
+          .map(this::cleanupCopybook)
+          .ifPresent(cleanCopybook -> {
+            CopybookModel copybookModel = cleanCopybook.getResult();
+            preprocessCopybookErrors.put(copybookModel.getUri(), cleanCopybook.getErrors());
+            copybookCache.store(copybookModel);
+            result.add(copybookModel);
+          });
+    });
+    return result;
+  }
+
   private CopybookModel resolveSync(
       @NonNull CopybookName copybookName,
       @NonNull String programUri) {
@@ -199,10 +251,17 @@ public class CopybookServiceImpl implements CopybookService {
   }
 
   private ResultWithErrors<CopybookModel> cleanupCopybook(CopybookModel dirtyCopybook) {
-    ResultWithErrors<ExtendedText> textTransformationsResultWithErrors = preprocessor.cleanUpCode(dirtyCopybook.getUri(), dirtyCopybook.getContent());
+    PreprocessedCopybook preprocessedCopybook = preprocessedCopybookCache.get(dirtyCopybook.getUri(),
+        dirtyCopybook.getContent(), () -> cleanUp(dirtyCopybook.getUri(), dirtyCopybook.getContent()));
+    CopybookModel copybookModel = new CopybookModel(dirtyCopybook.getCopybookId(), dirtyCopybook.getCopybookName(),
+        dirtyCopybook.getUri(), preprocessedCopybook.getCleanText());
+    return new ResultWithErrors<>(copybookModel, adjustErrorLocation(dirtyCopybook, preprocessedCopybook.getErrors()));
+  }
+
+  private PreprocessedCopybook cleanUp(String uri, String content) {
+    ResultWithErrors<ExtendedText> textTransformationsResultWithErrors = preprocessor.cleanUpCode(uri, content);
     String cleanText = CharMatcher.whitespace().trimTrailingFrom(textTransformationsResultWithErrors.getResult().toString());
-    CopybookModel copybookModel = new CopybookModel(dirtyCopybook.getCopybookId(), dirtyCopybook.getCopybookName(), dirtyCopybook.getUri(), cleanText);
-    return new ResultWithErrors<>(copybookModel, adjustErrorLocation(dirtyCopybook, textTransformationsResultWithErrors.getErrors()));
+    return new PreprocessedCopybook(content, cleanText, textTransformationsResultWithErrors.getErrors());
   }
 
   private List<SyntaxError> adjustErrorLocation(
@@ -236,14 +295,20 @@ public class CopybookServiceImpl implements CopybookService {
     return copybookModel;
   }
 
-  @SuppressWarnings("java:S2142")
   private Optional<String> resolveCopybookFromWorkspace(CopybookName copybookName, String programUri) {
-    try {
-      CompletableFuture<String> future = clientProvider.get().resolveCopybook(
-          programUri,
-          copybookName.getDisplayName(),
-          Optional.ofNullable(copybookName.getDialectType()).orElse(COBOL));
+    return awaitCopybookUri(requestCopybookUri(copybookName, programUri));
+  }
+
+  private CompletableFuture<String> requestCopybookUri(CopybookName copybookName, String programUri) {
+    return clientProvider.get().resolveCopybook(
+        programUri,
+        copybookName.getDisplayName(),
+        Optional.ofNullable(copybookName.getDialectType()).orElse(COBOL));
+  }
 
+  @SuppressWarnings("java:S2142")
+  private Optional<String> awaitCopybookUri(CompletableFuture<String> future) {
+    try {
       if (future == null) {
         return Optional.empty();
       }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.copybooks;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import lombok.NonNull;
+import lombok.Value;
+import org.eclipse.lsp.cobol.common.error.SyntaxError;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
+import org.eclipse.lsp.cobol.service.utils.SizeEstimates;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Program independent cache of preprocessed copybooks. The entries are keyed by the resolved copybook
+ * URI and the content hash, so a copybook file that is used by many programs is cleaned up only once.
+ * Program scoped {@link CopybookCache} entries refer to the cleaned text stored here. Since the key
+ * depends on the content, the entries stay valid when the program scoped cache is invalidated. The
+ * cache is limited by the estimated size of the raw and the cleaned text.
+ */
+@Singleton
+public class PreprocessedCopybookCache {
+  private static final long ESTIMATED_ERROR_SIZE = 512;
+  private static final Weigher<Key, PreprocessedCopybook> WEIGHER = (key, copybook) -> SizeEstimates.toWeight(
+      SizeEstimates.ENTRY_OVERHEAD + SizeEstimates.of(key.getUri()) + SizeEstimates.of(copybook.getContent())
+          + SizeEstimates.of(copybook.getCleanText()) + ESTIMATED_ERROR_SIZE * copybook.getErrors().size());
+
+  private final Cache<Key, PreprocessedCopybook> cache;
+
+  @Inject
+  public PreprocessedCopybookCache(
+      @Named("CACHE-MAX-WEIGHT") long maxWeight,
+      @Named("CACHE-DURATION") int duration,
+      @Named("CACHE-TIME-UNIT") String timeUnitName,
+      MetricsRegistry metricsRegistry) {
+    cache =
+        CacheBuilder.newBuilder()
+            .expireAfterWrite(duration, TimeUnit.valueOf(timeUnitName))
+            .maximumWeight(maxWeight)
+            .weigher(WEIGHER)
+            .recordStats()
+            .build();
+    metricsRegistry.registerCache("preprocessedCopybooks", cache, WEIGHER);
+  }
+
+  /**
+   * Returns the preprocessed copybook for the given URI and content. The preprocessor is called only
+   * if there is no entry for the same content yet.
+   *
+   * @param uri - the resolved copybook URI
+   * @param content - the raw content of the copybook
+   * @param preprocessor - a function to clean up the content
+   * @return the preprocessed copybook
+   */
+  public PreprocessedCopybook get(String uri, String content, @NonNull Supplier<PreprocessedCopybook> preprocessor) {
+    if (uri == null || content == null) {
+      return preprocessor.get();
+    }
+    Key key = new Key(uri, content.hashCode());
+    PreprocessedCopybook cached = cache.getIfPresent(key);
+    if (cached != null && cached.getContent().equals(content)) {
+      return cached;
+    }
+    PreprocessedCopybook result = preprocessor.get();
+    cache.put(key, result);
+    return result;
+  }
+
+  /**
+   * Invalidates all the preprocessed copybooks
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Preprocessed copybook, shared between all the programs that use the copybook file
+   */
+  @Value
+  public static class PreprocessedCopybook {
+    String content;
+    String cleanText;
+    List<SyntaxError> errors;
+  }
+
+  @Value
+  private static class Key {
+    String uri;
+    int contentHash;
+  }
+}
@@ -34,6 +34,12 @@ public interface Communications {
 
   void notifyProgressEnd(String uri);
 
+  void notifyReanalysisBegin(String token, int documents);
+
+  void notifyReanalysisReport(String token, int analyzed, int documents);
+
+  void notifyReanalysisEnd(String token);
+
   void registerExecuteCommandCapability(List<String> capabilities, String id);
 
   void unregisterExecuteCommandCapability(String id);
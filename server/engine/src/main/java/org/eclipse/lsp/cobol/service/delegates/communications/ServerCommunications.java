@@ -110,7 +110,7 @@ public class ServerCommunications implements Communications {
     diagnostics.forEach(
             (uri, diagnostic) -> {
               PublishDiagnosticsParams diagnostics1 = new PublishDiagnosticsParams(uri, clean(diagnostic));
-              LOG.debug("publishDiagnostics " + diagnostics1);
+              LOG.debug("publishDiagnostics {}", diagnostics1);
               getClient().publishDiagnostics(diagnostics1);
             }
     );
@@ -175,6 +175,28 @@ public class ServerCommunications implements Communications {
     }
   }
 
+  @Override
+  public void notifyReanalysisBegin(String token, int documents) {
+    createProgressWindow(token);
+    WorkDoneProgressBegin workDoneProgressBegin = new WorkDoneProgressBegin();
+    workDoneProgressBegin.setTitle(messageService.getMessage("Communications.reanalysisInProgressTitle", documents));
+    workDoneProgressBegin.setPercentage(0);
+    getClient().notifyProgress(new ProgressParams(Either.forLeft(token), Either.forLeft(workDoneProgressBegin)));
+  }
+
+  @Override
+  public void notifyReanalysisReport(String token, int analyzed, int documents) {
+    WorkDoneProgressReport workDoneProgressReport = new WorkDoneProgressReport();
+    workDoneProgressReport.setMessage(messageService.getMessage("Communications.reanalysisProgress", analyzed, documents));
+    workDoneProgressReport.setPercentage(analyzed * 100 / documents);
+    getClient().notifyProgress(new ProgressParams(Either.forLeft(token), Either.forLeft(workDoneProgressReport)));
+  }
+
+  @Override
+  public void notifyReanalysisEnd(String token) {
+    getClient().notifyProgress(new ProgressParams(Either.forLeft(token), Either.forLeft(new WorkDoneProgressEnd())));
+  }
+
   @Override
   public void registerExecuteCommandCapability(List<String> capabilities, String id) {
     Registration registrations =
@@ -40,6 +40,20 @@ public interface Completion {
   Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document);
 
+  /**
+   * Fill in the documentation of a completion item this provider suggested. The documentation may be
+   * time-consuming to build, so it is provided only on the completionItem/resolve request.
+   *
+   * @param item - the completion item to resolve
+   * @param document - the document the completion was requested for
+   * @return the same item with the documentation if this provider can resolve it
+   */
+  @NonNull
+  default CompletionItem resolveCompletionItem(
+      @NonNull CompletionItem item, @Nullable CobolDocumentModel document) {
+    return item;
+  }
+
   /**
    * Checks if the supplied document is ready for collection based on weather document is analysis.
    *
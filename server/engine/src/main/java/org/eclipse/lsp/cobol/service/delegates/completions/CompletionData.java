@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.delegates.completions;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import lombok.Value;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.Location;
+
+import java.util.Optional;
+
+/**
+ * The data that a completion item keeps to resolve its documentation in the completionItem/resolve
+ * request: the document the completion was requested for and the definition of the suggested
+ * element. The client sends the data back as JSON.
+ */
+@Value
+public class CompletionData {
+  private static final Gson GSON = new Gson();
+
+  String uri;
+  Location definition;
+
+  /**
+   * Convert the data to store it in a completion item
+   *
+   * @return the JSON representation of the data
+   */
+  public JsonElement toJson() {
+    return GSON.toJsonTree(this);
+  }
+
+  /**
+   * Read the data of the completion item
+   *
+   * @param item the completion item to resolve
+   * @return the data or empty if the item doesn't have it
+   */
+  public static Optional<CompletionData> from(CompletionItem item) {
+    if (!(item.getData() instanceof JsonElement)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.ofNullable(GSON.fromJson((JsonElement) item.getData(), CompletionData.class))
+          .filter(it -> it.getUri() != null);
+    } catch (JsonParseException e) {
+      return Optional.empty();
+    }
+  }
+}
@@ -18,26 +18,26 @@ import com.google.common.collect.ImmutableList;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.service.settings.SettingsService;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.*;
 
 import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.DIALECTS;
 
 /**
  * This class represents a storage for static completion content, e.g. keywords. It provides
  * elements as strings and documentation for them if provided.
+ *
+ * <p>The content is loaded once for the enabled dialects and kept until {@link #updateStorage()}
+ * or until {@link #getDataKey(List)} reports that the dialects changed. The labels are sorted
+ * ignoring case, so the labels starting with a prefix are found with a binary search.
  */
 @Slf4j
 public abstract class CompletionStorage<T> {
-  private List<String> dialectType = ImmutableList.of();
-  private Map<String, T> storage;
+  private volatile List<String> dialectType = ImmutableList.of();
+  private volatile Storage<T> storage;
   private final SettingsService settingsService;
 
   CompletionStorage(final SettingsService settingsService) {
     this.settingsService = settingsService;
-    resetStorage();
   }
 
   /** Updates the storage of keywords based on enabled dialects defined in user's settings */
@@ -47,14 +47,47 @@ public abstract class CompletionStorage<T> {
 
   protected abstract Map<String, T> getDataMap(List<String> dialectType);
 
+  /**
+   * Returns the key of the content for the given dialects. The storage is loaded again when the key
+   * changes, e.g. when a dialect becomes available after the settings were updated.
+   *
+   * @param dialectType the enabled dialects
+   * @return the key of the content
+   */
+  protected Object getDataKey(List<String> dialectType) {
+    return dialectType;
+  }
+
   /**
    * Return a full set of the registered keywords
    *
    * @return A set of keywords
    */
   Set<String> getLabels() {
-    resetStorage();
-    return storage.keySet();
+    return getStorage().data.keySet();
+  }
+
+  /**
+   * Return the registered keywords that start with the prefix ignoring case
+   *
+   * @param prefix - the beginning of the keywords
+   * @return A list of keywords in the case-insensitive order
+   */
+  List<String> getLabels(final String prefix) {
+    String[] labels = getStorage().sortedLabels;
+    int from = Arrays.binarySearch(labels, prefix, String.CASE_INSENSITIVE_ORDER);
+    if (from < 0) {
+      from = -from - 1;
+    } else {
+      while (from > 0 && String.CASE_INSENSITIVE_ORDER.compare(labels[from - 1], prefix) == 0) {
+        from--;
+      }
+    }
+    List<String> result = new ArrayList<>();
+    for (int i = from; i < labels.length && labels[i].regionMatches(true, 0, prefix, 0, prefix.length()); i++) {
+      result.add(labels[i]);
+    }
+    return result;
   }
 
   /**
@@ -64,23 +97,37 @@ public abstract class CompletionStorage<T> {
    * @return description
    */
   String getInformationFor(final String label) {
-    return (String) storage.get(label);
-  }
-
-  private void fillInStorage(final Map<String, T> props) {
-    this.storage =
-        props.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    return (String) getStorage().data.get(label);
   }
 
   private void updateDialects(final List<String> dialects) {
     this.dialectType = dialects;
-    resetStorage();
+    this.storage = null;
+  }
+
+  private Storage<T> getStorage() {
+    List<String> dialects = this.dialectType;
+    Object key = getDataKey(dialects);
+    Storage<T> current = this.storage;
+    if (current == null || !current.key.equals(key)) {
+      current = new Storage<>(key, getDataMap(dialects));
+      this.storage = current;
+      LOG.info("The properties file has been loaded successfully");
+    }
+    return current;
   }
 
-  private void resetStorage() {
-    Map<String, T> dataMap;
-    dataMap = getDataMap(this.dialectType);
-    fillInStorage(dataMap);
-    LOG.info("The properties file has been loaded successfully");
+  /** The loaded content with the labels sorted ignoring case */
+  private static final class Storage<T> {
+    private final Object key;
+    private final Map<String, T> data;
+    private final String[] sortedLabels;
+
+    private Storage(Object key, Map<String, T> data) {
+      this.key = key;
+      this.data = Collections.unmodifiableMap(new HashMap<>(data));
+      sortedLabels = data.keySet().toArray(new String[0]);
+      Arrays.sort(sortedLabels, String.CASE_INSENSITIVE_ORDER);
+    }
   }
 }
@@ -72,6 +72,23 @@ public class Completions {
     return new CompletionList(false, items);
   }
 
+  /**
+   * Fill in the documentation of a completion item suggested for the document. Document may be null
+   * if it was removed after the completion request.
+   *
+   * @param document - document model the completion was requested for. May be null.
+   * @param item     - the completion item to resolve
+   * @return the completion item with the documentation if any of the providers can resolve it
+   */
+  @NonNull
+  public CompletionItem resolve(@Nullable CobolDocumentModel document, @NonNull CompletionItem item) {
+    CompletionItem result = item;
+    for (Completion provider : providers) {
+      result = provider.resolveCompletionItem(result, document);
+    }
+    return result;
+  }
+
   @NonNull
   private List<CompletionItem> collectCompletions(
           @Nullable CobolDocumentModel document, @NonNull CompletionParams params) {
@@ -16,7 +16,6 @@ package org.eclipse.lsp.cobol.service.delegates.completions;
 
 import com.google.inject.Singleton;
 import lombok.NonNull;
-import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
@@ -26,8 +25,6 @@ import java.util.Collection;
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
-import static org.eclipse.lsp.cobol.common.model.NodeType.COPY;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.COPYBOOKS;
 
 /** This class provides completion suggestions for copybook usages in the document */
@@ -40,12 +37,9 @@ public class CopybookCompletion implements Completion {
     if (!isDocumentReadyForSemanticCollection(document)) return emptyList();
     return document
         .getLastAnalysisResult()
-        .getRootNode()
-        .getDepthFirstStream()
-        .filter(hasType(COPY))
-        .map(CopyNode.class::cast)
-        .map(CopyNode::getName)
-        .filter(DocumentationUtils.startsWithIgnoreCase(token))
+        .getCompletionIndex()
+        .findCopybooks(token)
+        .stream()
         .map(CopybookCompletion::toCopybookCompletion)
         .collect(toList());
   }
@@ -50,4 +50,12 @@ public class Keywords extends CompletionStorage<String> {
     return result;
   }
 
+  /** The keywords of a dialect become available when the dialect is loaded */
+  @Override
+  protected Object getDataKey(List<String> dialectTypes) {
+    List<Optional<CobolDialect>> dialects = new ArrayList<>(dialectTypes.size());
+    dialectTypes.forEach(dialectType -> dialects.add(dialectService.getDialectByName(dialectType)));
+    return dialects;
+  }
+
 }
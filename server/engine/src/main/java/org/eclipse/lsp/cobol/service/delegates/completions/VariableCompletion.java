@@ -14,72 +14,68 @@
  */
 package org.eclipse.lsp.cobol.service.delegates.completions;
 
-import com.google.common.collect.Multimap;
-import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.NonNull;
-import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.common.model.tree.variable.VariableNode;
-import org.eclipse.lsp.cobol.core.engine.symbols.SymbolsRepository;
 import org.eclipse.lsp.cobol.common.utils.ImplicitCodeUtils;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp4j.CompletionItem;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
-import java.util.function.Predicate;
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.lsp.cobol.common.model.tree.Node.hasType;
-import static org.eclipse.lsp.cobol.common.model.NodeType.PROGRAM;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.CONSTANTS;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.VARIABLES;
 import static org.eclipse.lsp4j.CompletionItemKind.Constant;
 import static org.eclipse.lsp4j.CompletionItemKind.Variable;
 
 /**
- * This completion provider returns all the defined variables as completion suggestions and their
- * definition as documentation
+ * This completion provider returns all the defined variables as completion suggestions. The
+ * definition of a variable is provided as documentation when the item is resolved.
  */
 @Singleton
 public class VariableCompletion implements Completion {
 
-  private final SymbolsRepository symbolsRepository;
-
-  @Inject
-  public VariableCompletion(SymbolsRepository symbolsRepository) {
-    this.symbolsRepository = symbolsRepository;
-  }
-
   @Override
   public @NonNull Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document) {
     if (!isDocumentReadyForSemanticCollection(document)) return emptyList();
     return document
         .getLastAnalysisResult()
-        .getRootNode()
-        .getDepthFirstStream()
-        .filter(hasType(PROGRAM))
-        .map(ProgramNode.class::cast)
-        .map(symbolsRepository::getVariables)
-        .map(Multimap::values)
-        .flatMap(Collection::stream)
-        .filter(matchNames(token))
-        .map(this::toCompletionItem)
+        .getCompletionIndex()
+        .findVariables(token)
+        .stream()
+        .map(it -> toCompletionItem(it, document.getUri()))
         .collect(toList());
   }
 
-  private Predicate<VariableNode> matchNames(@NonNull String token) {
-    return it -> it.getName().regionMatches(true, 0, token, 0, token.length());
+  @Override
+  public @NonNull CompletionItem resolveCompletionItem(
+      @NonNull CompletionItem item, @Nullable CobolDocumentModel document) {
+    if (!isDocumentReadyForSemanticCollection(document)
+        || item.getDocumentation() != null
+        || (item.getKind() != Variable && item.getKind() != Constant)) return item;
+    CompletionData.from(item)
+        .flatMap(data -> document
+            .getLastAnalysisResult()
+            .getCompletionIndex()
+            .findVariables(item.getLabel())
+            .stream()
+            .filter(it -> it.getName().equalsIgnoreCase(item.getLabel()))
+            .filter(it -> it.getLocality().toLocation().equals(data.getDefinition()))
+            .findFirst())
+        .ifPresent(it -> item.setDocumentation(it.getFullVariableDescription()));
+    return item;
   }
 
-  private CompletionItem toCompletionItem(VariableNode it) {
+  private CompletionItem toCompletionItem(VariableNode it, String uri) {
     String name = it.getName();
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
     item.setInsertText(name);
-    item.setDocumentation(it.getFullVariableDescription());
+    item.setData(new CompletionData(uri, it.getLocality().toLocation()).toJson());
     if (ImplicitCodeUtils.isImplicit(it.getLocality().getUri())) {
       item.setSortText(CONSTANTS.prefix + name);
       item.setKind(Constant);
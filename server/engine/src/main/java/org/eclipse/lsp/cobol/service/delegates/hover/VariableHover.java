@@ -18,7 +18,6 @@ import com.google.common.collect.ImmutableList;
 import com.google.inject.Singleton;
 import lombok.NonNull;
 import org.eclipse.lsp.cobol.common.model.Describable;
-import org.eclipse.lsp.cobol.common.utils.RangeUtils;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.service.utils.UriHelper;
@@ -39,11 +38,11 @@ public class VariableHover implements HoverProvider {
       @Nullable CobolDocumentModel document, @NonNull TextDocumentPositionParams position) {
     return Optional.ofNullable(document)
         .map(CobolDocumentModel::getAnalysisResult)
-        .map(AnalysisResult::getRootNode)
+        .map(AnalysisResult::getNodeIndex)
         .flatMap(
-            root ->
-                RangeUtils.findNodeByPosition(
-                    root, UriHelper.decode(position.getTextDocument().getUri()), position.getPosition()))
+            index ->
+                index.findNodeByPosition(
+                    UriHelper.decode(position.getTextDocument().getUri()), position.getPosition()))
         .filter(Describable.class::isInstance)
         .map(Describable.class::cast)
         .map(VariableHover::createHoverInfo)
@@ -22,6 +22,7 @@ import com.google.gson.JsonElement;
 import com.google.inject.Singleton;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -32,12 +33,18 @@ import org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode;
 import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
 import org.eclipse.lsp.cobol.service.utils.ServerTypeUtil;
 
-/** This service fetches configuration settings from the client. */
+/**
+ * This service fetches configuration settings from the client. The fetched configuration is kept per
+ * scope until {@link #invalidateCache()} is called, so the analysis doesn't wait for a client round
+ * trip when the settings didn't change.
+ */
 @Slf4j
 @Singleton
 public class CachingConfigurationService implements ConfigurationService {
   private final SettingsService settingsService;
   private final DialectService dialectService;
+  private final Map<String, CompletableFuture<ConfigurationEntity>> scopedConfigs = new ConcurrentHashMap<>();
+  private CompletableFuture<ConfigurationEntity> globalConfig;
 
   @Inject
   public CachingConfigurationService(SettingsService settingsService, DialectService dialectService) {
@@ -72,13 +79,14 @@ public class CachingConfigurationService implements ConfigurationService {
   @SuppressWarnings("java:S2142")
   public AnalysisConfig getConfig(String scopeURI, CopybookProcessingMode mode) {
     try {
-      AnalysisConfig config = AnalysisConfigHelper.fromConfigEntity(mode, createConfigFuture(scopeURI).get());
+      AnalysisConfig config = AnalysisConfigHelper.fromConfigEntity(mode, getConfigFuture(scopeURI).get());
       if (ServerTypeUtil.isNativeServerType()) {
         return config;
       }
       if (dialectService.updateDialects(config.getDialectRegistry())) {
-        // if list of dialects were changed - request config one more time
-        config = AnalysisConfigHelper.fromConfigEntity(mode, createConfigFuture(scopeURI).get());
+        // if list of dialects were changed - the settings sections changed as well, so request config one more time
+        invalidateCache();
+        config = AnalysisConfigHelper.fromConfigEntity(mode, getConfigFuture(scopeURI).get());
       }
       return config;
     } catch (InterruptedException e) {
@@ -93,7 +101,7 @@ public class CachingConfigurationService implements ConfigurationService {
   @Override
   public List<String> getSubroutineDirectories() {
     try {
-      return createConfigFuture(null).get().getSubroutines();
+      return getConfigFuture(null).get().getSubroutines();
     } catch (InterruptedException e) {
       LOG.error("Issue while resolving subroutine configuration", e);
       Thread.currentThread().interrupt();
@@ -103,6 +111,54 @@ public class CachingConfigurationService implements ConfigurationService {
     return ImmutableList.of();
   }
 
+  @Override
+  public void prefetch(String scopeURI) {
+    getConfigFuture(scopeURI);
+  }
+
+  @Override
+  public void evict(String scopeURI) {
+    if (scopeURI != null) {
+      scopedConfigs.remove(scopeURI);
+    }
+  }
+
+  @Override
+  public synchronized void invalidateCache() {
+    globalConfig = null;
+    scopedConfigs.clear();
+  }
+
+  private CompletableFuture<ConfigurationEntity> getConfigFuture(String scopeURI) {
+    CompletableFuture<ConfigurationEntity> config = getCachedConfigFuture(scopeURI);
+    if (config.isCompletedExceptionally()) {
+      // a failed request shouldn't stay in the cache, ask the client again
+      forget(scopeURI, config);
+      config = getCachedConfigFuture(scopeURI);
+    }
+    return config;
+  }
+
+  private CompletableFuture<ConfigurationEntity> getCachedConfigFuture(String scopeURI) {
+    if (scopeURI != null) {
+      return scopedConfigs.computeIfAbsent(scopeURI, this::createConfigFuture);
+    }
+    synchronized (this) {
+      if (globalConfig == null) {
+        globalConfig = createConfigFuture(null);
+      }
+      return globalConfig;
+    }
+  }
+
+  private synchronized void forget(String scopeURI, CompletableFuture<ConfigurationEntity> config) {
+    if (scopeURI != null) {
+      scopedConfigs.remove(scopeURI, config);
+    } else if (globalConfig == config) {
+      globalConfig = null;
+    }
+  }
+
   @Override
   public CompletableFuture<List<String>> getListConfiguration(String documentUri, String section) {
     return settingsService.fetchTextConfigurationWithScope(documentUri, section);
@@ -31,7 +31,8 @@ public interface ConfigurationService {
 
   /**
    * Get a configuration for the analysis using the settings file and the given copybook processing
-   * mode. Blocks the execution until the configuration is resolved.
+   * mode. Blocks the execution until the configuration is resolved, unless it is already stored for
+   * the given scope.
    *
    * @param scopeURI scope URI
    * @param mode the mode of copybook processing for this analysis
@@ -46,6 +47,28 @@ public interface ConfigurationService {
    */
   List<String> getSubroutineDirectories();
 
+  /**
+   * Start fetching the configuration for the given scope, so the following {@link #getConfig} calls
+   * don't wait for the client.
+   *
+   * @param scopeURI scope URI or null for the global configuration
+   */
+  void prefetch(String scopeURI);
+
+  /**
+   * Drop the stored configuration of the scope. Should be called when the document of the scope
+   * closes.
+   *
+   * @param scopeURI scope URI
+   */
+  void evict(String scopeURI);
+
+  /**
+   * Drop the stored configurations, so they are requested from the client again. Should be called
+   * when the client settings change.
+   */
+  void invalidateCache();
+
   /**
    * Get a list configuration for a document.
    * For example. "configuration-example" : ["setting1","setting2"]
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.utils;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Rough estimates of the heap retained by the cached objects, used to limit the caches by memory
+ * instead of the entry count. A string takes two bytes per character and a fixed header, the
+ * entries of a cache take a fixed overhead for the internal structures.
+ */
+@UtilityClass
+public class SizeEstimates {
+  public static final long ENTRY_OVERHEAD = 64;
+  private static final long STRING_OVERHEAD = 40;
+
+  /**
+   * Estimate the size of a string
+   *
+   * @param text the string, may be null
+   * @return the estimated size in bytes
+   */
+  public long of(String text) {
+    return text == null ? 0 : STRING_OVERHEAD + 2L * text.length();
+  }
+
+  /**
+   * Convert the estimated size to a cache weight
+   *
+   * @param size the estimated size in bytes
+   * @return the cache weight
+   */
+  public int toWeight(long size) {
+    return (int) Math.min(size, Integer.MAX_VALUE);
+  }
+}
@@ -49,11 +49,11 @@ class LangServerBootstrapTest {
     CobolLanguageServer server = injector.getInstance(CobolLanguageServer.class);
     ClientProvider clientProvider = injector.getInstance(ClientProvider.class);
     // Bound constant in Databus module
-    Integer cacheSize = injector.getInstance(get(Integer.class, named("CACHE-MAX-SIZE")));
+    Long cacheWeight = injector.getInstance(get(Long.class, named("CACHE-MAX-WEIGHT")));
 
     assertNotNull(server);
     assertNotNull(clientProvider);
-    assertNotNull(cacheSize);
+    assertNotNull(cacheWeight);
   }
 
   @Test
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core;
+
+import lombok.Value;
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.utils.TwoStageParsingUtil;
+import org.eclipse.lsp.cobol.core.strategy.CobolErrorStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test that {@link SplitParser} produces the same parse tree and errors in the two-stage mode as in
+ * the default mode.
+ */
+class SplitParserTest {
+  private static final String VALID =
+      "       IDENTIFICATION DIVISION.\n"
+          + "       PROGRAM-ID. TEST1.\n"
+          + "       DATA DIVISION.\n"
+          + "       WORKING-STORAGE SECTION.\n"
+          + "       01 A PIC 9(4).\n"
+          + "       01 B PIC X(10) VALUE 'TEXT'.\n"
+          + "       PROCEDURE DIVISION.\n"
+          + "           IF A > 10 THEN MOVE 1 TO A ELSE DISPLAY B END-IF.\n"
+          + "           PERFORM VARYING A FROM 1 BY 1 UNTIL A > 4\n"
+          + "             COMPUTE A = A + 1\n"
+          + "           END-PERFORM.\n"
+          + "           GOBACK.";
+  private static final String INVALID =
+      "       IDENTIFICATION DIVISION.\n"
+          + "       PROGRAM-ID. TEST1.\n"
+          + "       DATA DIVISION.\n"
+          + "       WORKING-STORAGE SECTION.\n"
+          + "       01 A PIC 9(4) 9.\n"
+          + "       PROCEDURE DIVISION.\n"
+          + "           MOVE 1 TO TO A.\n"
+          + "           GOBACK.";
+
+  @Test
+  void testValidProgram() {
+    ParseResult expected = parse(VALID, false);
+    ParseResult actual = parse(VALID, true);
+    assertTrue(expected.errors.isEmpty());
+    assertEquals(expected.tree, actual.tree);
+    assertEquals(expected.errors, actual.errors);
+  }
+
+  @Test
+  void testProgramWithErrors() {
+    ParseResult expected = parse(INVALID, false);
+    ParseResult actual = parse(INVALID, true);
+    assertFalse(expected.errors.isEmpty());
+    assertEquals(expected.tree, actual.tree);
+    assertEquals(expected.errors, actual.errors);
+  }
+
+  private static ParseResult parse(String text, boolean twoStage) {
+    MessageService messageService = mock(MessageService.class);
+    when(messageService.getMessage(anyString(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+    List<String> errors = new ArrayList<>();
+    BaseErrorListener listener = new BaseErrorListener() {
+      @Override
+      public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine,
+                              String msg, RecognitionException e) {
+        errors.add(line + ":" + charPositionInLine + " " + msg);
+      }
+    };
+    String previousMode = System.setProperty(TwoStageParsingUtil.TWO_STAGE_PARSING_PROPERTY, String.valueOf(twoStage));
+    try {
+      SplitParser parser = new SplitParser(CharStreams.fromString(text), listener,
+          new CobolErrorStrategy(messageService), mock(ParseTreeListener.class));
+      CobolParser.StartRuleContext tree = parser.runParser();
+      return new ParseResult(tree.toStringTree(), errors);
+    } finally {
+      if (previousMode == null) {
+        System.clearProperty(TwoStageParsingUtil.TWO_STAGE_PARSING_PROPERTY);
+      } else {
+        System.setProperty(TwoStageParsingUtil.TWO_STAGE_PARSING_PROPERTY, previousMode);
+      }
+    }
+  }
+
+  @Value
+  private static class ParseResult {
+    String tree;
+    List<String> errors;
+  }
+}
@@ -49,7 +49,7 @@ class DialectServiceTest {
     messageService = mock(MessageService.class);
     when(ddService.loadDialects(copybookService, messageService)).thenReturn(ImmutableList.of());
 
-    dialectService = new DialectService(ddService, copybookService, messageService);
+    dialectService = new DialectService(ddService, copybookService, messageService, new DialectParsingExecutor());
   }
 
   private CobolDialect configureDialect(DialectProcessingContext context, String name) {
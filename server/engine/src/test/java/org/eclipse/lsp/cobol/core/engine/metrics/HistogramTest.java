@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Test for {@link Histogram} */
+class HistogramTest {
+
+  @Test
+  void testPercentilesOfWindow() {
+    Histogram histogram = new Histogram(100);
+    for (int i = 100; i > 0; i--) {
+      histogram.record(i);
+    }
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(100, snapshot.getCount());
+    assertEquals(1, snapshot.getMin());
+    assertEquals(100, snapshot.getMax());
+    assertEquals(50, snapshot.getMean());
+    assertEquals(50, snapshot.getP50());
+    assertEquals(95, snapshot.getP95());
+    assertEquals(99, snapshot.getP99());
+  }
+
+  @Test
+  void testOldValuesLeaveWindow() {
+    Histogram histogram = new Histogram(3);
+    histogram.record(1000);
+    histogram.record(1);
+    histogram.record(2);
+    histogram.record(3);
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(4, snapshot.getCount());
+    assertEquals(1, snapshot.getMin());
+    assertEquals(3, snapshot.getMax());
+    assertEquals(2, snapshot.getP50());
+  }
+
+  @Test
+  void testEmptyHistogram() {
+    assertEquals(new HistogramSnapshot(0, 0, 0, 0, 0, 0, 0), new Histogram(10).snapshot());
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.metrics;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Test for {@link MetricsRegistry} */
+class MetricsRegistryTest {
+
+  @Test
+  void testSnapshotContainsHistogramsAndCounters() {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.record("stage.Parsing stage.nanos", 10);
+    registry.record("stage.Parsing stage.nanos", 20);
+    registry.increment("copybook.cache.hits");
+    registry.increment("copybook.cache.hits");
+    registry.increment("copybook.cache.misses");
+
+    MetricsSnapshot snapshot = registry.snapshot();
+    assertEquals(2, snapshot.getHistograms().get("stage.Parsing stage.nanos").getCount());
+    assertEquals(20, snapshot.getHistograms().get("stage.Parsing stage.nanos").getMax());
+    assertEquals(2, snapshot.getCounters().get("copybook.cache.hits"));
+    assertEquals(1, snapshot.getCounters().get("copybook.cache.misses"));
+  }
+
+  @Test
+  void testGaugeIsReadOnSnapshot() {
+    MetricsRegistry registry = new MetricsRegistry();
+    AtomicLong depth = new AtomicLong(3);
+    registry.registerGauge("analysis.queue.depth", depth::get);
+    assertEquals(3, registry.snapshot().getGauges().get("analysis.queue.depth"));
+
+    depth.set(0);
+    assertEquals(0, registry.snapshot().getGauges().get("analysis.queue.depth"));
+  }
+
+  @Test
+  void testDumpWritesJson(@TempDir Path folder) throws IOException {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.record("document.chars", 42);
+    Path file = folder.resolve("metrics.json");
+
+    registry.dump(file);
+
+    JsonObject json = new Gson().fromJson(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), JsonObject.class);
+    assertEquals(42, json.getAsJsonObject("histograms").getAsJsonObject("document.chars").get("p99").getAsLong());
+  }
+}
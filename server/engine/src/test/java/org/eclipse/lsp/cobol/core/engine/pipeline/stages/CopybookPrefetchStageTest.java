@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.pipeline.stages;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp.cobol.common.AnalysisConfig;
+import org.eclipse.lsp.cobol.common.copybook.CopybookModel;
+import org.eclipse.lsp.cobol.common.copybook.CopybookName;
+import org.eclipse.lsp.cobol.common.copybook.CopybookProcessingMode;
+import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedDocument;
+import org.eclipse.lsp.cobol.core.engine.analysis.AnalysisContext;
+import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test CopybookPrefetchStage
+ */
+class CopybookPrefetchStageTest {
+  private static final String URI = "file:///c:/workspace/document.cbl";
+  private static final String TEXT = "       WORKING-STORAGE SECTION.\n"
+      + "       COPY STRUCT1.\n"
+      + "       COPY 'STRUCT2' REPLACING ==:TAG:== BY ==A==.\n"
+      + "       COPY STRUCT1.\n"
+      + "       PROCEDURE DIVISION.\n"
+      + "           EXEC SQL INCLUDE SQLCA END-EXEC.\n"
+      + "           MOVE COPY-FLAG TO B.";
+
+  private final CopybookService copybookService = mock(CopybookService.class);
+  private final DialectService dialectService = mock(DialectService.class);
+
+  @Test
+  void testCopybooksArePrefetchedByNestingLevels() {
+    CopybookName struct1 = new CopybookName("STRUCT1");
+    CopybookName struct2 = new CopybookName("STRUCT2");
+    CopybookName sqlca = new CopybookName("SQLCA");
+    CopybookName nested = new CopybookName("NESTED");
+    when(copybookService.prefetch(ImmutableList.of(struct1, struct2, sqlca), URI))
+        .thenReturn(ImmutableList.of(
+            new CopybookModel(struct1.toCopybookId(URI), struct1, "file:///STRUCT1.cpy", "       COPY NESTED.\n       COPY STRUCT2.")));
+
+    new CopybookPrefetchStage(dialectService, copybookService).run(createContext(CopybookProcessingMode.ENABLED), null);
+
+    verify(copybookService).prefetch(ImmutableList.of(struct1, struct2, sqlca), URI);
+    verify(copybookService).prefetch(ImmutableList.of(nested), URI);
+    verifyNoMoreInteractions(copybookService);
+  }
+
+  @Test
+  void testCopybooksAreNotPrefetchedWhenDisabled() {
+    new CopybookPrefetchStage(dialectService, copybookService).run(createContext(CopybookProcessingMode.DISABLED), null);
+
+    verify(copybookService, never()).prefetch(any(), anyString());
+  }
+
+  private AnalysisContext createContext(CopybookProcessingMode mode) {
+    AnalysisConfig config = mock(AnalysisConfig.class);
+    when(config.getCopybookProcessingMode()).thenReturn(mode);
+    when(config.getDialects()).thenReturn(ImmutableList.of());
+    when(config.getDialectRegistry()).thenReturn(ImmutableList.of());
+    AnalysisContext ctx = mock(AnalysisContext.class);
+    when(ctx.getExtendedDocument()).thenReturn(new ExtendedDocument(TEXT, URI));
+    when(ctx.getConfig()).thenReturn(config);
+    return ctx;
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.engine.symbols;
+
+import com.google.common.collect.ImmutableMap;
+import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
+import org.eclipse.lsp.cobol.common.model.tree.variables.MnemonicNameNode;
+import org.eclipse.lsp.cobol.common.symbols.SymbolTable;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsSnapshot;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Test for {@link SymbolsRepository} */
+class SymbolsRepositoryTest {
+  private static final String URI = "file:///c:/workspace/document.cbl";
+  private static final String OTHER_URI = "file:///c:/workspace/other.cbl";
+
+  @Test
+  void testNewRevisionReplacesSymbols() {
+    SymbolsRepository repository = new SymbolsRepository(Long.MAX_VALUE, new MetricsRegistry());
+    ProgramNode program = program(URI, 0);
+    ProgramNode movedProgram = program(URI, 1);
+
+    repository.updateSymbols(URI, symbols(program, 2));
+    Optional<Long> revision = repository.getRevision(URI);
+    repository.updateSymbols(URI, symbols(movedProgram, 1));
+
+    assertEquals(1, repository.getEntryCount());
+    assertEquals(1, repository.getDocumentCount());
+    assertTrue(repository.getVariables(program).isEmpty());
+    assertEquals(1, repository.getVariables(movedProgram).size());
+    assertTrue(repository.getRevision(URI).get() > revision.get());
+  }
+
+  @Test
+  void testClosedDocumentsEvictedOverBudget() {
+    long documentSize = sizeOf(symbols(program(URI, 0), 3));
+    SymbolsRepository repository = new SymbolsRepository(documentSize + documentSize / 2, new MetricsRegistry());
+    repository.openDocument(URI);
+    repository.openDocument(OTHER_URI);
+    repository.updateSymbols(URI, symbols(program(URI, 0), 3));
+    repository.updateSymbols(OTHER_URI, symbols(program(OTHER_URI, 0), 3));
+    assertEquals(2, repository.getDocumentCount());
+
+    repository.closeDocument(URI);
+
+    assertEquals(1, repository.getDocumentCount());
+    assertFalse(repository.getRevision(URI).isPresent());
+    assertTrue(repository.getRevision(OTHER_URI).isPresent());
+  }
+
+  @Test
+  void testNotOpenedDocumentsEvictedOverBudget() {
+    long documentSize = sizeOf(symbols(program(URI, 0), 3));
+    SymbolsRepository repository = new SymbolsRepository(documentSize + documentSize / 2, new MetricsRegistry());
+    repository.openDocument(OTHER_URI);
+    repository.updateSymbols(URI, symbols(program(URI, 0), 3));
+    repository.updateSymbols(OTHER_URI, symbols(program(OTHER_URI, 0), 3));
+
+    assertEquals(1, repository.getDocumentCount());
+    assertFalse(repository.getRevision(URI).isPresent());
+    assertTrue(repository.getRevision(OTHER_URI).isPresent());
+  }
+
+  @Test
+  void testClosedDocumentsKeptUnderBudget() {
+    SymbolsRepository repository = new SymbolsRepository(Long.MAX_VALUE, new MetricsRegistry());
+    repository.openDocument(URI);
+    repository.updateSymbols(URI, symbols(program(URI, 0), 3));
+    repository.closeDocument(URI);
+
+    assertEquals(1, repository.getDocumentCount());
+  }
+
+  @Test
+  void testSizeDependsOnContentAndIsReported() {
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    SymbolsRepository repository = new SymbolsRepository(Long.MAX_VALUE, metricsRegistry);
+    repository.updateSymbols(URI, symbols(program(URI, 0), 3));
+    long size = repository.getEstimatedSize();
+    repository.updateSymbols(OTHER_URI, symbols(program(OTHER_URI, 0), 30));
+
+    assertTrue(repository.getEstimatedSize() - size > 5 * size);
+    MetricsSnapshot snapshot = metricsRegistry.snapshot();
+    assertEquals(2, snapshot.getGauges().get("symbols.documents"));
+    assertEquals(2, snapshot.getGauges().get("symbols.entries"));
+    assertEquals(repository.getEstimatedSize(), snapshot.getGauges().get("symbols.bytes"));
+  }
+
+  private static long sizeOf(ImmutableMap<String, SymbolTable> symbols) {
+    SymbolsRepository repository = new SymbolsRepository(Long.MAX_VALUE, new MetricsRegistry());
+    repository.updateSymbols(URI, symbols);
+    return repository.getEstimatedSize();
+  }
+
+  private static ProgramNode program(String uri, int line) {
+    ProgramNode program = new ProgramNode(Locality.builder()
+        .uri(uri)
+        .range(new Range(new Position(line, 0), new Position(line + 10, 0)))
+        .build());
+    program.setProgramName("TEST");
+    return program;
+  }
+
+  private static ImmutableMap<String, SymbolTable> symbols(ProgramNode program, int variables) {
+    SymbolTable table = new SymbolTable();
+    for (int i = 0; i < variables; i++) {
+      table.getVariables().put("VAR" + i, new MnemonicNameNode(program.getLocality(), "SYS", "VAR" + i));
+    }
+    return ImmutableMap.of(SymbolTable.generateKey(program), table);
+  }
+}
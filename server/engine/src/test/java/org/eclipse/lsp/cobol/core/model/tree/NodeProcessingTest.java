@@ -216,6 +216,34 @@ class NodeProcessingTest {
     assertEquals(ImmutableList.of(ERROR_2), errors);
   }
 
+  @Test
+  void testSameRegistrationUsesOwnProcessors() {
+    /** Processed with the processors of each context */
+    class ParentNode extends Node {
+      ParentNode() {
+        super(null, NodeType.ROOT);
+      }
+    }
+
+    /** Processed as a child */
+    class ChildNode extends ParentNode {}
+
+    ParentNode node = new ParentNode();
+    node.addChild(new ChildNode());
+    AstProcessor astProcessor = new AstProcessor();
+    ProcessingContext first = new ProcessingContext(new ArrayList<>(), new SymbolAccumulatorService(), ImmutableMap.of());
+    first.register(
+        new ProcessorDescription(ChildNode.class, ProcessingPhase.USAGE, (n, c) -> c.getErrors().add(ERROR_1)));
+    ProcessingContext second = new ProcessingContext(new ArrayList<>(), new SymbolAccumulatorService(), ImmutableMap.of());
+    second.register(
+        new ProcessorDescription(ChildNode.class, ProcessingPhase.USAGE, (n, c) -> c.getErrors().add(ERROR_2)));
+
+    astProcessor.processSyntaxTree(first, node);
+    astProcessor.processSyntaxTree(second, node);
+    assertEquals(ImmutableList.of(ERROR_1), first.getErrors());
+    assertEquals(ImmutableList.of(ERROR_2), second.getErrors());
+  }
+
   private static SyntaxError getError(String message) {
     return SyntaxError.syntaxError().messageTemplate(MessageTemplate.of(message)).build();
   }
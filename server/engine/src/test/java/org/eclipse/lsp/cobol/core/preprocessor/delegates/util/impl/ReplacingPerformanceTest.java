@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.util.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedDocument;
+import org.eclipse.lsp.cobol.common.message.MessageService;
+import org.eclipse.lsp.cobol.common.model.Locality;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplaceData;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplacingService;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.replacement.ReplacingServiceImpl;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+
+/**
+ * This test measures the time of applying COPY REPLACING clauses to a large copybook. The result
+ * outputs to the console in the form "lines clauses time". Disabled by default, to enable provide
+ * <code>-Dtests.perf=true</code> as a system property for the run configuration.
+ */
+class ReplacingPerformanceTest {
+  private static final String MODE_PROPERTY_NAME = "tests.perf";
+  private static final String TEST_MODE = System.getProperty(MODE_PROPERTY_NAME);
+  private static final int LINES = 40000;
+  private static final int ITERATIONS = 5;
+
+  @Test
+  void replacingPerformanceTest() {
+    if (!Boolean.TRUE.toString().equals(TEST_MODE)) return;
+    ReplacingService replacingService = new ReplacingServiceImpl(mock(MessageService.class));
+    Locality locality = Locality.builder().build();
+    List<Pair<String, String>> clauses = ImmutableList.of(
+        replacingService.retrievePseudoTextReplacingPattern("==:TAG:== BY ==CUST==", locality).getResult(),
+        replacingService.retrievePseudoTextReplacingPattern("LEADING ==PRE== BY ==POST==", locality).getResult(),
+        replacingService.retrievePseudoTextReplacingPattern("==X(10)== BY ==X(20)==", locality).getResult());
+    String text = createCopybook();
+
+    for (int i = 0; i < ITERATIONS; i++) {
+      ExtendedDocument document = new ExtendedDocument(text, "");
+      long start = System.nanoTime();
+      replacingService.applyReplacing(document, new ReplaceData(clauses, "", new Range()));
+      long time = (System.nanoTime() - start) / 1_000_000;
+      assertFalse(document.toString().contains(":TAG:"));
+      System.out.printf("%d %d %d\n", LINES, clauses.size(), time);
+    }
+  }
+
+  private static String createCopybook() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < LINES; i++) {
+      builder.append("       05 :TAG:-FIELD-").append(i).append(" PIC X(10).\n");
+      builder.append("       05 PRE-NAME-").append(i).append(" PIC 9(4).\n");
+    }
+    return builder.toString();
+  }
+}
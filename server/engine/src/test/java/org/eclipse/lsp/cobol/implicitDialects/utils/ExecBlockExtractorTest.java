@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.implicitDialects.utils;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import static org.eclipse.lsp.cobol.implicitDialects.utils.ExecBlockType.CICS;
+import static org.eclipse.lsp.cobol.implicitDialects.utils.ExecBlockType.SQL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Test for {@link ExecBlockExtractor} */
+class ExecBlockExtractorTest {
+
+  @Test
+  void testBlocksWithPositions() {
+    String text = "       PROCEDURE DIVISION.\n"
+        + "           EXEC CICS RETURN END-EXEC.\n"
+        + "           EXEC SQL SELECT 1 INTO :A FROM T END-EXEC\n"
+        + "           DISPLAY 'EXEC CICS'.\n";
+    ExecBlocks blocks = ExecBlockExtractor.extract(text);
+
+    assertEquals(
+        ImmutableList.of(new ExecBlock(38, 1, 11, "EXEC CICS RETURN END-EXEC.\n")),
+        blocks.getBlocks(CICS));
+    assertEquals(
+        ImmutableList.of(new ExecBlock(76, 2, 11, "EXEC SQL SELECT 1 INTO :A FROM T END-EXEC")),
+        blocks.getBlocks(SQL));
+  }
+
+  @Test
+  void testDfhrespLiterals() {
+    String text = "       IF A = DFHRESP(NORMAL)\n"
+        + "       EXEC SQLIMS GU X WHERE Y = DFHVALUE(ACTIVE) END-EXEC\n";
+    ExecBlocks blocks = ExecBlockExtractor.extract(text);
+
+    assertEquals(
+        ImmutableList.of(
+            new ExecBlock(14, 0, 14, "DFHRESP(NORMAL)"),
+            new ExecBlock(64, 1, 34, "DFHVALUE(ACTIVE)")),
+        blocks.getBlocks(CICS));
+    assertEquals(1, blocks.getBlocks(SQL).size());
+    assertEquals(37, blocks.getBlocks(SQL).get(0).getOffset());
+  }
+
+  @Test
+  void testNoBlocks() {
+    ExecBlocks blocks = ExecBlockExtractor.extract("       DISPLAY 'HELLO'.\n");
+    assertTrue(blocks.getBlocks(CICS).isEmpty());
+    assertTrue(blocks.getBlocks(SQL).isEmpty());
+  }
+
+  @Test
+  void testFallbackWithoutEndExec() {
+    assertWholeText("       EXEC CICS RETURN\n       STOP RUN.\n");
+  }
+
+  @Test
+  void testFallbackOnNestedExec() {
+    assertWholeText("       EXEC SQL EXEC CICS RETURN END-EXEC\n");
+  }
+
+  @Test
+  void testFallbackOnKeywordInComment() {
+    assertWholeText("      *> EXEC CICS RETURN\n       EXEC SQL COMMIT END-EXEC.\n");
+  }
+
+  @Test
+  void testFallbackOnUnbalancedParentheses() {
+    assertWholeText("       EXEC CICS LINK PROGRAM('A' END-EXEC.\n");
+  }
+
+  @Test
+  void testXoptsFallsBackOnlyForCics() {
+    ExecBlocks blocks = ExecBlockExtractor.extract("       CBL XOPTS(SP)\n       EXEC SQL COMMIT END-EXEC.\n");
+    assertEquals(1, blocks.getBlocks(CICS).size());
+    assertEquals(0, blocks.getBlocks(CICS).get(0).getOffset());
+    assertEquals(blocks.getText(), blocks.getBlocks(CICS).get(0).getText());
+    assertEquals(1, blocks.getBlocks(SQL).size());
+    assertFalse(blocks.getBlocks(SQL).get(0).getText().contains("XOPTS"));
+  }
+
+  @Test
+  void testParsedBlocksAreActual() {
+    String text = "       MOVE 1 TO A.\n       EXEC CICS RETURN END-EXEC.\n";
+    ExecBlocks blocks = ExecBlockExtractor.extract(text);
+    ParsedExecBlocks parsed =
+        new ParsedExecBlocks(text.length(), blocks.getBlocks(CICS), ImmutableList.of(), ImmutableList.of());
+
+    assertTrue(parsed.isActual(text));
+    assertFalse(parsed.isActual(text.replace("RETURN", "ABEND ")));
+    assertFalse(parsed.isActual(text.replace(".\n ", ". \n")));
+  }
+
+  private static void assertWholeText(String text) {
+    ExecBlocks blocks = ExecBlockExtractor.extract(text);
+    assertEquals(ImmutableList.of(new ExecBlock(0, 0, 0, text)), blocks.getBlocks(CICS));
+    assertEquals(ImmutableList.of(new ExecBlock(0, 0, 0, text)), blocks.getBlocks(SQL));
+  }
+}
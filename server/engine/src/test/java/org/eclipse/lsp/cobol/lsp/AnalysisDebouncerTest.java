@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.lsp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Test for {@link AnalysisDebouncer} */
+class AnalysisDebouncerTest {
+  private static final String URI = "file:///c:/workspace/document.cbl";
+
+  @Test
+  void testOnlyLatestChangeIsAnalyzed() throws Exception {
+    AnalysisDebouncer debouncer = new AnalysisDebouncer(50, 50);
+    List<String> analyzed = new CopyOnWriteArrayList<>();
+
+    CompletableFuture<String> first = debouncer.debounce(URI, () -> analyze(analyzed, "1"));
+    CompletableFuture<String> second = debouncer.debounce(URI, () -> analyze(analyzed, "2"));
+
+    assertNull(first.get(1, TimeUnit.SECONDS));
+    assertEquals("2", second.get(1, TimeUnit.SECONDS));
+    assertEquals(1, analyzed.size());
+  }
+
+  @Test
+  void testFlushStartsAnalysisImmediately() throws Exception {
+    AnalysisDebouncer debouncer = new AnalysisDebouncer(60_000, 60_000);
+    List<String> analyzed = new CopyOnWriteArrayList<>();
+
+    CompletableFuture<String> result = debouncer.debounce(URI, () -> analyze(analyzed, "1"));
+    assertFalse(result.isDone());
+
+    debouncer.flush(URI);
+    assertEquals("1", result.get(1, TimeUnit.SECONDS));
+    debouncer.flush(URI);
+    assertEquals(1, analyzed.size());
+  }
+
+  @Test
+  void testCancelDropsWaitingChange() {
+    AnalysisDebouncer debouncer = new AnalysisDebouncer(60_000, 60_000);
+    List<String> analyzed = new CopyOnWriteArrayList<>();
+
+    CompletableFuture<String> result = debouncer.debounce(URI, () -> analyze(analyzed, "1"));
+    debouncer.cancel(URI);
+    debouncer.flush(URI);
+
+    assertTrue(result.isCancelled());
+    assertTrue(analyzed.isEmpty());
+  }
+
+  @Test
+  void testQuietPeriodAdaptsToAnalysisDuration() {
+    AnalysisDebouncer debouncer = new AnalysisDebouncer(100, 1000);
+    assertEquals(100, debouncer.getQuietPeriod(URI));
+
+    debouncer.recordAnalysisDuration(URI, 800);
+    assertEquals(400, debouncer.getQuietPeriod(URI));
+
+    debouncer.recordAnalysisDuration(URI, 5000);
+    assertEquals(1000, debouncer.getQuietPeriod(URI));
+  }
+
+  @Test
+  void testDisabledDebounceRunsImmediately() {
+    AnalysisDebouncer debouncer = new AnalysisDebouncer(100, 0);
+    List<String> analyzed = new CopyOnWriteArrayList<>();
+
+    debouncer.debounce(URI, () -> analyze(analyzed, "1"));
+    assertEquals(1, analyzed.size());
+  }
+
+  private static CompletableFuture<String> analyze(List<String> analyzed, String result) {
+    analyzed.add(result);
+    return CompletableFuture.completedFuture(result);
+  }
+}
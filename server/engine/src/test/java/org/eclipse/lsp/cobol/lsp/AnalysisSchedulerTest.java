@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.lsp;
+
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.lsp.cobol.lsp.AnalysisScheduler.Priority.BACKGROUND;
+import static org.eclipse.lsp.cobol.lsp.AnalysisScheduler.Priority.INTERACTIVE;
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Test for {@link AnalysisScheduler} */
+class AnalysisSchedulerTest {
+  private static final String URI = "file:///c:/workspace/document.cbl";
+  private static final String OTHER_URI = "file:///c:/workspace/other.cbl";
+
+  @Test
+  void testLatestWaitingAnalysisWins() throws Exception {
+    AnalysisScheduler scheduler = new AnalysisScheduler(2, new MetricsRegistry());
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<String> running = scheduler.schedule(URI, INTERACTIVE, () -> {
+      started.countDown();
+      return await(release, "1");
+    });
+    started.await(1, TimeUnit.SECONDS);
+    CompletableFuture<String> replaced = scheduler.schedule(URI, INTERACTIVE, () -> "2");
+    CompletableFuture<String> latest = scheduler.schedule(URI, INTERACTIVE, () -> "3");
+
+    assertNull(replaced.get(1, TimeUnit.SECONDS));
+    assertEquals(1, scheduler.getQueueDepth());
+    assertFalse(latest.isDone());
+
+    release.countDown();
+    assertEquals("1", running.get(1, TimeUnit.SECONDS));
+    assertEquals("3", latest.get(1, TimeUnit.SECONDS));
+    assertEquals(0, scheduler.getQueueDepth());
+  }
+
+  @Test
+  void testInteractiveAnalysesRunFirst() throws Exception {
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    AnalysisScheduler scheduler = new AnalysisScheduler(1, metricsRegistry);
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> order = new CopyOnWriteArrayList<>();
+    scheduler.schedule("file:///blocker.cbl", INTERACTIVE, () -> await(release, "blocker"));
+    CompletableFuture<Boolean> background = scheduler.schedule(OTHER_URI, BACKGROUND, () -> order.add(OTHER_URI));
+    scheduler.schedule(URI, INTERACTIVE, () -> order.add(URI));
+
+    release.countDown();
+    background.get(1, TimeUnit.SECONDS);
+    assertEquals(URI, order.get(0));
+    assertEquals(OTHER_URI, order.get(1));
+    assertEquals(3, metricsRegistry.snapshot().getHistograms().get("analysis.wait.nanos").getCount());
+    assertEquals(0, metricsRegistry.snapshot().getGauges().get("analysis.queue.depth"));
+  }
+
+  @Test
+  void testBackgroundAnalysesRunInSchedulingOrder() throws Exception {
+    AnalysisScheduler scheduler = new AnalysisScheduler(1, new MetricsRegistry());
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> order = new CopyOnWriteArrayList<>();
+    scheduler.schedule("file:///blocker.cbl", INTERACTIVE, () -> await(release, "blocker"));
+    scheduler.schedule(URI, BACKGROUND, () -> order.add(URI));
+    CompletableFuture<Boolean> last = scheduler.schedule(OTHER_URI, BACKGROUND, () -> order.add(OTHER_URI));
+
+    release.countDown();
+    last.get(1, TimeUnit.SECONDS);
+    assertEquals(URI, order.get(0));
+    assertEquals(OTHER_URI, order.get(1));
+  }
+
+  @Test
+  void testReplacingAnalysisKeepsHigherPriority() throws Exception {
+    AnalysisScheduler scheduler = new AnalysisScheduler(1, new MetricsRegistry());
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> order = new CopyOnWriteArrayList<>();
+    scheduler.schedule("file:///blocker.cbl", INTERACTIVE, () -> await(release, "blocker"));
+    scheduler.schedule(URI, INTERACTIVE, () -> order.add("interactive"));
+    CompletableFuture<Boolean> other = scheduler.schedule(OTHER_URI, INTERACTIVE, () -> order.add(OTHER_URI));
+    CompletableFuture<Boolean> replacing = scheduler.schedule(URI, BACKGROUND, () -> order.add(URI));
+
+    release.countDown();
+    replacing.get(1, TimeUnit.SECONDS);
+    other.get(1, TimeUnit.SECONDS);
+    assertEquals(URI, order.get(0));
+    assertEquals(OTHER_URI, order.get(1));
+  }
+
+  @Test
+  void testCancelInterruptsRunningAnalysis() throws Exception {
+    AnalysisScheduler scheduler = new AnalysisScheduler(1, new MetricsRegistry());
+    CountDownLatch started = new CountDownLatch(1);
+    CompletableFuture<String> running = scheduler.schedule(URI, INTERACTIVE, () -> {
+      started.countDown();
+      return await(new CountDownLatch(1), "never");
+    });
+    started.await(1, TimeUnit.SECONDS);
+    CompletableFuture<String> waiting = scheduler.schedule(URI, INTERACTIVE, () -> "waiting");
+
+    scheduler.cancel(URI, 1, TimeUnit.SECONDS);
+
+    assertEquals("interrupted", running.get(1, TimeUnit.SECONDS));
+    assertTrue(waiting.isCancelled());
+    assertEquals("next", scheduler.schedule(OTHER_URI, INTERACTIVE, () -> Thread.currentThread().isInterrupted() ? "interrupted" : "next")
+        .get(1, TimeUnit.SECONDS));
+  }
+
+  private static String await(CountDownLatch latch, String result) {
+    try {
+      latch.await();
+      return result;
+    } catch (InterruptedException e) {
+      return "interrupted";
+    }
+  }
+}
@@ -17,13 +17,17 @@ package org.eclipse.lsp.cobol.lsp;
 import org.eclipse.lsp.cobol.lsp.handlers.text.CompletionHandler;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp.cobol.service.DocumentModelService;
+import org.eclipse.lsp.cobol.service.delegates.completions.CompletionData;
 import org.eclipse.lsp.cobol.service.delegates.completions.Completions;
+import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionParams;
+import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.junit.jupiter.api.Test;
 
 import java.util.concurrent.ExecutionException;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.*;
 
 /**
@@ -49,4 +53,23 @@ class CompletionHandlerTest {
     verify(documentModelService).get(uri);
     verify(completions).collectFor(document, params);
   }
+
+  @Test
+  void testResolve() {
+    String uri = "file:/document.cbl";
+    CobolDocumentModel document = mock(CobolDocumentModel.class);
+    Completions completions = mock(Completions.class);
+    DocumentModelService documentModelService = mock((DocumentModelService.class));
+    when(documentModelService.get(uri)).thenReturn(document);
+    CompletionHandler completionHandler = new CompletionHandler(mock(AsyncAnalysisService.class), completions, documentModelService);
+    CompletionItem item = new CompletionItem("VAR");
+    item.setData(new CompletionData(uri, new Location()).toJson());
+    CompletionItem resolved = new CompletionItem("VAR");
+    when(completions.resolve(document, item)).thenReturn(resolved);
+
+    assertSame(resolved, completionHandler.resolveCompletionItem(item));
+    CompletionItem keyword = new CompletionItem("ADD");
+    assertSame(keyword, completionHandler.resolveCompletionItem(keyword));
+    verify(completions, never()).resolve(any(), eq(keyword));
+  }
 }
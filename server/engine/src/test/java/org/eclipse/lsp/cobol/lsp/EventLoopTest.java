@@ -14,17 +14,21 @@
  */
 package org.eclipse.lsp.cobol.lsp;
 
+import com.google.common.collect.ImmutableList;
 import org.eclipse.lsp4j.InitializeResult;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Test LSP Event processing loop.
@@ -54,4 +58,57 @@ class EventLoopTest {
     });
     assertEquals(initResult, result.get(1, TimeUnit.SECONDS));
   }
+
+  @Test
+  void testWaitingEventDoesNotBlockOthers() throws Exception {
+    AtomicBoolean analyzed = new AtomicBoolean();
+    CompletableFuture<Void> signal = new CompletableFuture<>();
+    CompletableFuture<String> waiting = loop.publish(dependentEvent(analyzed, signal));
+    CompletableFuture<String> independent = loop.publish(() -> "independent");
+
+    assertEquals("independent", independent.get(1, TimeUnit.SECONDS));
+    assertFalse(waiting.isDone());
+    assertEquals(1, loop.queueSize());
+  }
+
+  @Test
+  void testWaitingEventResumesOnSignal() throws Exception {
+    AtomicBoolean analyzed = new AtomicBoolean();
+    CompletableFuture<Void> signal = new CompletableFuture<>();
+    CompletableFuture<String> waiting = loop.publish(dependentEvent(analyzed, signal));
+    TimeUnit.MILLISECONDS.sleep(50);
+
+    long start = System.nanoTime();
+    analyzed.set(true);
+    signal.complete(null);
+    assertEquals("analyzed", waiting.get(1, TimeUnit.SECONDS));
+    // a polling loop would add up to its whole retry delay here
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 100);
+    assertEquals(0, loop.queueSize());
+  }
+
+  private static LspEvent<String> dependentEvent(AtomicBoolean analyzed, CompletableFuture<Void> signal) {
+    LspEventDependency dependency = new LspEventDependency() {
+      @Override
+      public boolean isSatisfied() {
+        return analyzed.get();
+      }
+
+      @Override
+      public Optional<CompletableFuture<?>> getChangeSignal() {
+        return Optional.of(signal);
+      }
+    };
+    return new LspEvent<String>() {
+      @Override
+      public String execute() {
+        return "analyzed";
+      }
+
+      @Override
+      public List<LspEventDependency> getDependencies() {
+        return ImmutableList.of(dependency);
+      }
+    };
+  }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+
+package org.eclipse.lsp.cobol.positive;
+
+import com.google.common.collect.ImmutableList;
+import com.sun.management.ThreadMXBean;
+import org.eclipse.lsp.cobol.common.mapping.ExtendedDocument;
+import org.eclipse.lsp.cobol.common.mapping.MappingHelper;
+import org.eclipse.lsp.cobol.test.CobolText;
+import org.eclipse.lsp.cobol.test.engine.UseCase;
+import org.eclipse.lsp.cobol.test.engine.UseCaseUtils;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * This test collects the amount of heap that is allocated to build the extended document mapping and
+ * to analyze the given text from the carddemo and Cobol85 positive tests sets. The result outputs to
+ * the console in the form "TEST.cbl 100 2000 30000" where "TEST.cbl" is a file name, "100" is the
+ * length of the file in chars, "2000" is the amount of bytes allocated to build and map the extended
+ * document and "30000" is the amount of bytes allocated for the whole analysis. Disabled by default,
+ * to enable provide <code>-Dtests.perf=true</code> as a system property for the run configuration.
+ */
+class MappingAllocationTest extends FileBasedTest {
+  private static final String MODE_PROPERTY_NAME = "tests.perf";
+  private static final String TEST_MODE = System.getProperty(MODE_PROPERTY_NAME);
+  private static final List<String> CORPORA = ImmutableList.of("aws-mainframe-modernization-carddemo", "Cobol85PositiveTestsSuite");
+
+  static Stream<String> getCorpora() {
+    return getSourceFolder().filter(folder -> CORPORA.stream().anyMatch(folder::endsWith));
+  }
+
+  @ParameterizedTest
+  @MethodSource("getCorpora")
+  @DisplayName("Mapping allocation test")
+  void allocationTest(String testFolder) {
+    if (!Boolean.TRUE.toString().equals(TEST_MODE)) return;
+    ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    CobolTextRegistry cobolTextRegistry = retrieveTextsRegistry(testFolder);
+    long totalMapping = 0;
+    long totalAnalysis = 0;
+    for (CobolText text : getTextsToTest(cobolTextRegistry)) {
+      String name = text.getFileName();
+      String fullText = text.getFullText();
+
+      long start = threadBean.getCurrentThreadAllocatedBytes();
+      mapEveryLine(new ExtendedDocument(fullText, name), fullText);
+      long mapping = threadBean.getCurrentThreadAllocatedBytes() - start;
+
+      start = threadBean.getCurrentThreadAllocatedBytes();
+      UseCaseUtils.analyze(
+          UseCase.builder().documentUri(name).text(fullText).copybooks(getCopybooks(cobolTextRegistry)).build());
+      long analysis = threadBean.getCurrentThreadAllocatedBytes() - start;
+
+      totalMapping += mapping;
+      totalAnalysis += analysis;
+      System.out.printf("%s %d %d %d\n", name, fullText.length(), mapping, analysis);
+    }
+    System.out.printf("TOTAL %s %d %d\n", testFolder, totalMapping, totalAnalysis);
+  }
+
+  private static void mapEveryLine(ExtendedDocument document, String text) {
+    String[] lines = MappingHelper.split(text);
+    for (int i = 0; i < lines.length; i++) {
+      document.mapLocation(new Range(new Position(i, 0), new Position(i, lines[i].length())));
+    }
+  }
+}
@@ -343,8 +343,7 @@ public class PositiveTestUtility {
       Multimap<String, Node> variableDefinitionFromLSPEngine,
       Multimap<String, CodeBlockReference> paragraphDefFromLSPEngine,
       Multimap<String, Node> programDefinitionFromLSPEngine) {
-      SymbolsRepository repo = new SymbolsRepository();
-      repo.updateSymbols(symbolTableMap);
+      SymbolsRepository repo = new SymbolsRepository(symbolTableMap);
     rootNode
         .getDepthFirstStream()
         .filter(node -> node.getNodeType() == NodeType.PROGRAM)
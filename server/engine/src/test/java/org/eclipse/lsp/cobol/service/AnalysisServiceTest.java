@@ -15,6 +15,7 @@
 package org.eclipse.lsp.cobol.service;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp.cobol.common.LanguageEngineFacade;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
@@ -31,6 +32,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -86,6 +90,36 @@ class AnalysisServiceTest {
     verify(copybookIdentificationService, times(1)).isCopybook(any(), any(), any());
   }
 
+  @Test
+  void testIsCopybookClassifiesDocumentOncePerRevision() {
+    CobolDocumentModel document = new CobolDocumentModel("file:///CPY.cpy", "text");
+    when(copybookIdentificationService.isCopybook(any(), any(), any())).thenReturn(true);
+
+    assertTrue(service.isCopybook(document));
+    assertTrue(service.isCopybook(document));
+    verify(copybookIdentificationService, times(1)).isCopybook(any(), any(), any());
+
+    document.update("new text");
+    assertTrue(service.isCopybook(document));
+    verify(copybookIdentificationService, times(2)).isCopybook(any(), any(), any());
+
+    service.setExtensionConfig(ImmutableList.of(".cpy"));
+    assertTrue(service.isCopybook(document));
+    verify(copybookIdentificationService, times(3)).isCopybook(any(), any(), any());
+  }
+
+  @Test
+  void testAnalysisResetsChangedLines() {
+    String uri = UUID.randomUUID().toString();
+    CobolDocumentModel document = new CobolDocumentModel(uri, "text");
+    when(documentService.get(uri)).thenReturn(document);
+    when(copybookIdentificationService.isCopybook(any(), any(), any())).thenReturn(true);
+
+    service.analyzeDocument(uri, "text", true);
+
+    assertFalse(document.getChangedLines().isPresent());
+  }
+
   @Test
   void testAnalyzeDocument_copybook() {
     String uri = UUID.randomUUID().toString();
@@ -112,15 +146,46 @@ class AnalysisServiceTest {
     verify(engine, times(1)).analyze(any(), any(), any());
   }
 
+  @Test
+  void testAnalyzeDocumentClassifiesAnalyzedText() {
+    String uri = UUID.randomUUID().toString();
+    when(documentService.get(uri)).thenReturn(new CobolDocumentModel(uri, "newer program text"));
+    when(copybookIdentificationService.isCopybook(any(), any(), any()))
+        .thenAnswer(invocation -> "copybook text".equals(invocation.getArgument(1)));
+
+    service.analyzeDocument(uri, "copybook text", true);
+    verify(engine, times(0)).analyze(any(), any(), any());
+  }
+
   @Test
   void testReanalyzeDocument_copybook() {
     String uri = UUID.randomUUID().toString();
     String text = UUID.randomUUID().toString();
     when(copybookIdentificationService.isCopybook(any(), any(), any())).thenReturn(true);
 
-    service.analyzeDocument(uri, text, false);
-    verify(documentService, times(1)).updateDocument(uri, text);
+    assertEquals(ImmutableList.of(), service.analyzeDocument(uri, text, false));
+    verify(documentService, times(1)).invalidateAnalysis(uri);
+    verify(engine, times(0)).analyze(any(), any(), any());
+    verify(copybookService, times(0)).preprocess(any(), any());
+  }
+
+  @Test
+  void testReanalyzeDocument_copybookReturnsAffectedPrograms() {
+    String uri = "file:///CPY.cpy";
+    String text = "copybook text";
+    CobolDocumentModel program = new CobolDocumentModel("file:///PRG.cbl", "program text");
+    CobolDocumentModel copybook = new CobolDocumentModel("file:///NESTED.cpy", "nested text");
+    when(copybookIdentificationService.isCopybook(eq(uri), any(), any())).thenReturn(true);
+    when(copybookIdentificationService.isCopybook(eq(program.getUri()), any(), any())).thenReturn(false);
+    when(copybookIdentificationService.isCopybook(eq(copybook.getUri()), any(), any())).thenReturn(true);
+    when(documentService.findAffectedDocumentsForCopybook(eq(uri), any()))
+        .thenReturn(ImmutableSet.of(program.getUri(), copybook.getUri()));
+    when(documentService.getAll(ImmutableSet.of(program.getUri(), copybook.getUri())))
+        .thenReturn(ImmutableList.of(program, copybook));
+
+    assertEquals(ImmutableList.of(program), service.analyzeDocument(uri, text, false));
     verify(engine, times(0)).analyze(any(), any(), any());
+    verify(copybookService).preprocess(uri, text);
   }
 
   @Test
@@ -131,7 +196,7 @@ class AnalysisServiceTest {
     when(engine.analyze(any(), any(), any())).thenReturn(prepareAnalysisResult());
 
     service.analyzeDocument(uri, text, false);
-    verify(documentService, times(1)).updateDocument(uri, text);
+    verify(documentService, times(1)).invalidateAnalysis(uri);
     verify(engine, times(1)).analyze(any(), any(), any());
   }
 
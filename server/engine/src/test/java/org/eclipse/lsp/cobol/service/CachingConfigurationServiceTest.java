@@ -140,6 +140,65 @@ class CachingConfigurationServiceTest {
         configuration.getConfig("", CopybookProcessingMode.DISABLED));
   }
 
+  @Test
+  void testConfigurationIsFetchedOncePerScopeUntilInvalidated() {
+    SettingsService settingsService = mock(SettingsService.class);
+    when(settingsService.fetchConfigurations(any(), anyList())).thenReturn(CompletableFuture.completedFuture(null));
+    DialectService dialectService = mock(DialectService.class);
+
+    CachingConfigurationService configuration = new CachingConfigurationService(settingsService, dialectService);
+    configuration.prefetch(null);
+    configuration.getSubroutineDirectories();
+    configuration.getConfig("document", CopybookProcessingMode.ENABLED);
+    configuration.getConfig("document", CopybookProcessingMode.DISABLED);
+
+    verify(settingsService, times(1)).fetchConfigurations(isNull(), anyList());
+    verify(settingsService, times(1)).fetchConfigurations(eq("document"), anyList());
+
+    configuration.invalidateCache();
+    configuration.getConfig("document", CopybookProcessingMode.ENABLED);
+    verify(settingsService, times(2)).fetchConfigurations(eq("document"), anyList());
+  }
+
+  @Test
+  void testEvictedScopeIsFetchedAgain() {
+    SettingsService settingsService = mock(SettingsService.class);
+    when(settingsService.fetchConfigurations(any(), anyList())).thenReturn(CompletableFuture.completedFuture(null));
+    DialectService dialectService = mock(DialectService.class);
+
+    CachingConfigurationService configuration = new CachingConfigurationService(settingsService, dialectService);
+    configuration.prefetch("document");
+    configuration.prefetch("other");
+    configuration.evict("document");
+    configuration.getConfig("document", CopybookProcessingMode.ENABLED);
+    configuration.getConfig("other", CopybookProcessingMode.ENABLED);
+
+    verify(settingsService, times(2)).fetchConfigurations(eq("document"), anyList());
+    verify(settingsService, times(1)).fetchConfigurations(eq("other"), anyList());
+  }
+
+  @Test
+  void testFailedConfigurationRequestIsNotCached() {
+    SettingsService settingsService = mock(SettingsService.class);
+    CompletableFuture<List<Object>> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new IllegalStateException());
+    when(settingsService.fetchConfigurations(any(), anyList()))
+        .thenReturn(failed)
+        .thenReturn(CompletableFuture.completedFuture(null));
+    DialectService dialectService = mock(DialectService.class);
+
+    CachingConfigurationService configuration = new CachingConfigurationService(settingsService, dialectService);
+    configuration.prefetch("document");
+
+    assertEquals(
+        new AnalysisConfig(
+            CopybookProcessingMode.ENABLED,
+            ImmutableList.of(),
+            true, ImmutableList.of(), ImmutableMap.of()),
+        configuration.getConfig("document", CopybookProcessingMode.ENABLED));
+    verify(settingsService, times(2)).fetchConfigurations(eq("document"), anyList());
+  }
+
   @Test
   void testFetchingListConfiguration() {
     String expectedValue = "list-of-some-values-from-client";
@@ -14,11 +14,17 @@
  */
 package org.eclipse.lsp.cobol.service;
 
+import com.google.common.collect.ImmutableList;
 import org.eclipse.lsp.cobol.common.AnalysisResult;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /** This test check functions of the {@link CobolDocumentModel}. */
@@ -44,6 +50,27 @@ class CobolDocumentModelTest {
     model = new CobolDocumentModel("", TEXT, AnalysisResult.builder().build());
   }
 
+  @Test
+  void testCopybookClassificationIsStoredPerRevision() {
+    AtomicInteger classifications = new AtomicInteger();
+    Predicate<String> classification = text -> {
+      classifications.incrementAndGet();
+      return !text.contains("PROGRAM-ID");
+    };
+    Object settings = new Object();
+
+    assertFalse(model.isCopybook(settings, classification));
+    assertFalse(model.isCopybook(settings, classification));
+    assertEquals(1, classifications.get());
+
+    model.update("       01 VAR PIC 9.");
+    assertTrue(model.isCopybook(settings, classification));
+    assertEquals(2, classifications.get());
+
+    assertTrue(model.isCopybook(new Object(), classification));
+    assertEquals(3, classifications.get());
+  }
+
   @Test
   void testGetText() {
     assertEquals(TEXT, model.getText());
@@ -123,6 +150,41 @@ class CobolDocumentModelTest {
     assertEquals(1, model.getLines().size());
   }
 
+  @Test
+  void testIncrementalChanges() {
+    model.applyChanges(ImmutableList.of(
+        new TextDocumentContentChangeEvent(new Range(new Position(1, 20), new Position(1, 26)), "PROG."),
+        new TextDocumentContentChangeEvent(new Range(new Position(3, 32), new Position(4, 27)), "\r\n       01 A PIC 9.\r\n       01 B PIC 9.\r\n        PROCEDURE DIVISION."),
+        new TextDocumentContentChangeEvent(new Range(new Position(11, 21), new Position(11, 21)), "\r\n")));
+
+    String expected = TEXT.replace("test1.", "PROG.")
+        .replace("SECTION.\r\n", "SECTION.\r\n       01 A PIC 9.\r\n       01 B PIC 9.\r\n")
+        + "\r\n";
+    assertEquals(expected, model.getText());
+    assertEquals(LINES_NUMBER + 2, model.getLines().size());
+    assertEquals("       01 B PIC 9.", model.getLine(5).getText());
+    assertNull(model.getAnalysisResult());
+  }
+
+  @Test
+  void testChangedLines() {
+    model.resetChangedLines();
+    assertFalse(model.getChangedLines().isPresent());
+
+    model.applyChanges(ImmutableList.of(
+        new TextDocumentContentChangeEvent(new Range(new Position(8, 12), new Position(8, 12)), "\r\n"),
+        new TextDocumentContentChangeEvent(new Range(new Position(2, 0), new Position(3, 0)), "")));
+
+    assertEquals(new Range(new Position(2, 0), new Position(8, 12)), model.getChangedLines().get());
+  }
+
+  @Test
+  void testFullChangeWithoutRange() {
+    model.applyChanges(ImmutableList.of(new TextDocumentContentChangeEvent("NEW TEXT\n")));
+    assertEquals("NEW TEXT\n", model.getText());
+    assertEquals(1, model.getLines().size());
+  }
+
   private String retrieveFirstTextLine() {
     return TEXT.substring(0, getFirstLineBreak());
   }
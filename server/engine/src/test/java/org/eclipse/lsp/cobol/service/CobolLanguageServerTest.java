@@ -22,6 +22,7 @@ import org.eclipse.lsp.cobol.common.error.ErrorCodes;
 import org.eclipse.lsp.cobol.common.message.LocaleStore;
 import org.eclipse.lsp.cobol.common.message.MessageService;
 import org.eclipse.lsp.cobol.core.engine.dialects.DialectService;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
 import org.eclipse.lsp.cobol.lsp.CobolLanguageServer;
 import org.eclipse.lsp.cobol.lsp.CobolTextDocumentService;
 import org.eclipse.lsp.cobol.lsp.DisposableLSPStateService;
@@ -32,6 +33,7 @@ import org.eclipse.lsp.cobol.lsp.handlers.server.InitializedHandler;
 import org.eclipse.lsp.cobol.lsp.handlers.server.ShutdownHandler;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookNameService;
 import org.eclipse.lsp.cobol.service.delegates.completions.Keywords;
+import org.eclipse.lsp.cobol.service.settings.ConfigurationService;
 import org.eclipse.lsp.cobol.service.settings.SettingsService;
 import org.eclipse.lsp.cobol.service.settings.SettingsServiceImpl;
 import org.eclipse.lsp4j.ClientCapabilities;
@@ -109,9 +111,10 @@ class CobolLanguageServerTest {
                     null,
                     null,
                     new ExitHandler(stateService),
-                    new ShutdownHandler(stateService, lspMessageDispatcher),
+                    new ShutdownHandler(stateService, lspMessageDispatcher, new MetricsRegistry()),
                     new InitializeHandler(watchingService),
-                    new InitializedHandler(watchingService, copybookNameService, keywords, settingsService, localeStore, mock(AnalysisService.class), messageService));
+                    new InitializedHandler(watchingService, copybookNameService, keywords, settingsService, localeStore, mock(AnalysisService.class), messageService,
+                        mock(ConfigurationService.class)));
 
 
     server.initialized(new InitializedParams());
@@ -169,9 +172,10 @@ class CobolLanguageServerTest {
                     textService,
                     null,
                     new ExitHandler(stateService),
-                    new ShutdownHandler(stateService, lspMessageDispatcher),
+                    new ShutdownHandler(stateService, lspMessageDispatcher, new MetricsRegistry()),
                     new InitializeHandler(watchingService),
-                    new InitializedHandler(watchingService, copybookNameService, keywords, settingsService, localeStore, analysisService, messageService));
+                    new InitializedHandler(watchingService, copybookNameService, keywords, settingsService, localeStore, analysisService, messageService,
+                        mock(ConfigurationService.class)));
 
     server.initialized(new InitializedParams());
     verify(analysisService, timeout(TimeUnit.SECONDS.toMillis(5))
@@ -207,9 +211,9 @@ class CobolLanguageServerTest {
                     null,
                     null,
                     new ExitHandler(stateService),
-                    new ShutdownHandler(stateService, lspMessageDispatcher),
+                    new ShutdownHandler(stateService, lspMessageDispatcher, new MetricsRegistry()),
                     new InitializeHandler(mock(WatcherServiceImpl.class)),
-                    new InitializedHandler(mock(WatcherServiceImpl.class), null, null, null, null, null, null));
+                    new InitializedHandler(mock(WatcherServiceImpl.class), null, null, null, null, null, null, null));
 
     try {
       InitializeResult result = server.initialize(initializeParams).get();
@@ -262,9 +266,9 @@ class CobolLanguageServerTest {
                     textDocumentService,
                     null,
                     new ExitHandler(stateService),
-                    new ShutdownHandler(stateService, lspMessageDispatcher),
+                    new ShutdownHandler(stateService, lspMessageDispatcher, new MetricsRegistry()),
                     new InitializeHandler(null),
-                    new InitializedHandler(null, null, null, null, null, null, null));
+                    new InitializedHandler(null, null, null, null, null, null, null, null));
     assertEquals(1, stateService.getExitCode());
     server.shutdown();
     done.get(1, TimeUnit.SECONDS);
@@ -272,7 +276,7 @@ class CobolLanguageServerTest {
   }
 
   private void checkOnlySupportedCapabilitiesAreSet(ServerCapabilities capabilities) {
-    assertEquals(TextDocumentSyncKind.Full, capabilities.getTextDocumentSync().getLeft());
+    assertEquals(TextDocumentSyncKind.Incremental, capabilities.getTextDocumentSync().getLeft());
     assertTrue(capabilities.getWorkspace().getWorkspaceFolders().getSupported());
     assertTrue(capabilities.getDefinitionProvider().getLeft());
     assertTrue(capabilities.getReferencesProvider().getLeft());
@@ -284,7 +288,7 @@ class CobolLanguageServerTest {
     assertEquals(ImmutableList.of(ErrorCodes.MISSING_COPYBOOK.getLabel()),
             capabilities.getExecuteCommandProvider().getCommands());
 
-    assertFalse(capabilities.getCompletionProvider().getResolveProvider());
+    assertTrue(capabilities.getCompletionProvider().getResolveProvider());
     assertNull(capabilities.getWorkspace().getWorkspaceFolders().getChangeNotifications());
     assertNull(capabilities.getDocumentRangeFormattingProvider());
     assertTrue(capabilities.getHoverProvider().getLeft());
@@ -18,11 +18,16 @@ import com.google.gson.JsonObject;
 import org.eclipse.lsp.cobol.cfg.CFASTBuilder;
 import org.eclipse.lsp.cobol.common.SubroutineService;
 import org.eclipse.lsp.cobol.common.copybook.CopybookService;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
+import org.eclipse.lsp.cobol.core.engine.symbols.SymbolsRepository;
+import org.eclipse.lsp.cobol.lsp.AnalysisDebouncer;
+import org.eclipse.lsp.cobol.lsp.AnalysisScheduler;
 import org.eclipse.lsp.cobol.lsp.AsyncAnalysisService;
 import org.eclipse.lsp.cobol.lsp.CobolTextDocumentService;
 import org.eclipse.lsp.cobol.lsp.DisposableLSPStateService;
 import org.eclipse.lsp.cobol.lsp.LspMessageDispatcher;
 import org.eclipse.lsp.cobol.lsp.handlers.extended.AnalysisHandler;
+import org.eclipse.lsp.cobol.lsp.handlers.extended.MetricsHandler;
 import org.eclipse.lsp.cobol.lsp.handlers.text.*;
 import org.eclipse.lsp.cobol.service.delegates.actions.CodeActions;
 import org.eclipse.lsp.cobol.service.delegates.communications.Communications;
@@ -30,6 +35,7 @@ import org.eclipse.lsp.cobol.service.delegates.completions.Completions;
 import org.eclipse.lsp.cobol.service.delegates.formations.Formations;
 import org.eclipse.lsp.cobol.service.delegates.hover.HoverProvider;
 import org.eclipse.lsp.cobol.service.delegates.references.Occurrences;
+import org.eclipse.lsp.cobol.service.settings.ConfigurationService;
 import org.eclipse.lsp4j.*;
 import org.eclipse.lsp4j.services.TextDocumentService;
 import org.junit.jupiter.api.AfterEach;
@@ -87,7 +93,8 @@ class CobolTextDocumentServiceTest {
     DisposableLSPStateService disposableLSPStateService = new CobolLSPServerStateService();
     CopybookService copybookService = mock(CopybookService.class);
     SubroutineService subroutineService = mock(SubroutineService.class);
-    AsyncAnalysisService asyncAnalysisService = new AsyncAnalysisService(documentModelService, analysisService, copybookService, subroutineService, communications);
+    AsyncAnalysisService asyncAnalysisService = new AsyncAnalysisService(documentModelService, analysisService, copybookService, subroutineService, communications, new AnalysisScheduler(new MetricsRegistry()), new AnalysisDebouncer(),
+        new DiagnosticsPublisher(documentModelService, communications), mock(ConfigurationService.class));
 
     CompletionHandler completionHandler = new CompletionHandler(asyncAnalysisService, completions, documentModelService);
     FormattingHandler formattingHandler = new FormattingHandler(documentModelService, formations, asyncAnalysisService);
@@ -95,9 +102,11 @@ class CobolTextDocumentServiceTest {
     CodeActionHandler codeActionHandler = new CodeActionHandler(actions);
     AnalysisHandler analysisHandler = new AnalysisHandler(asyncAnalysisService, analysisService, builder, communications, documentModelService);
 
-    DidOpenHandler didOpenHandler = new DidOpenHandler(asyncAnalysisService, watcherService);
-    DidCloseHandler didCloseHandler = new DidCloseHandler(disposableLSPStateService, asyncAnalysisService, documentModelService, watcherService);
-    DidChangeHandler didChangeHandler = new DidChangeHandler(asyncAnalysisService);
+    SymbolsRepository symbolsRepository = new SymbolsRepository(new MetricsRegistry());
+    DidOpenHandler didOpenHandler = new DidOpenHandler(asyncAnalysisService, watcherService, symbolsRepository);
+    DidCloseHandler didCloseHandler = new DidCloseHandler(disposableLSPStateService, asyncAnalysisService, documentModelService, watcherService,
+        symbolsRepository);
+    DidChangeHandler didChangeHandler = new DidChangeHandler(asyncAnalysisService, documentModelService);
     DefinitionHandler definitionHandler = new DefinitionHandler(asyncAnalysisService, documentModelService, occurrences);
     DocumentSymbolHandler documentSymbolHandler = new DocumentSymbolHandler(asyncAnalysisService, analysisService, documentModelService);
     DocumentHighlightHandler documentHighlightHandler = new DocumentHighlightHandler(asyncAnalysisService, occurrences, documentModelService);
@@ -121,7 +130,8 @@ class CobolTextDocumentServiceTest {
             documentHighlightHandler,
             referencesHandler,
             hoverHandler,
-            foldingRangeHandler);
+            foldingRangeHandler,
+            new MetricsHandler(new MetricsRegistry()));
   }
 
   @AfterEach
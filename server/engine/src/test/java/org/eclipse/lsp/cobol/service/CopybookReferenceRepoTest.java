@@ -17,6 +17,9 @@ package org.eclipse.lsp.cobol.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -50,8 +53,8 @@ class CopybookReferenceRepoTest {
   void getCopybookUsageReference_complexDependency() {
     CopybookReferenceRepo repo = new CopybookReferenceRepo();
 
-    repo.storeCopybookUsageReference("program1", "copy1");
-    repo.storeCopybookUsageReference("copy1", "copy2");
+    store(repo, "program1", "copy1");
+    store(repo, "copy1", "copy2");
 
     Set<String> references = repo.getCopybookUsageReference("copy2");
 
@@ -59,7 +62,7 @@ class CopybookReferenceRepoTest {
     assertTrue(references.contains("copy1"));
     assertTrue(references.contains("program1"));
 
-    repo.storeCopybookUsageReference("program2", "copy1");
+    store(repo, "program2", "copy1");
 
     references = repo.getCopybookUsageReference("copy2");
 
@@ -73,8 +76,8 @@ class CopybookReferenceRepoTest {
   void getCopybookUsageReference_circularDependency() {
     CopybookReferenceRepo repo = new CopybookReferenceRepo();
 
-    repo.storeCopybookUsageReference("copy2", "copy1");
-    repo.storeCopybookUsageReference("copy1", "copy2");
+    store(repo, "copy2", "copy1");
+    store(repo, "copy1", "copy2");
 
     Set<String> references = repo.getCopybookUsageReference("copy2");
 
@@ -83,6 +86,35 @@ class CopybookReferenceRepoTest {
     assertTrue(references.contains("copy2"));
   }
 
+  @Test
+  void updateReferences_replacesPreviousAnalysis() {
+    CopybookReferenceRepo repo = new CopybookReferenceRepo();
+
+    repo.updateReferences("program1", ImmutableList.of(
+        Maps.immutableEntry("program1", "copy1"), Maps.immutableEntry("copy1", "copy2")));
+    repo.updateReferences("program2", ImmutableList.of(Maps.immutableEntry("copy1", "copy2")));
+
+    assertEquals(ImmutableSet.of("copy1", "program1"), repo.getCopybookUsageReference("copy2"));
+    assertEquals(ImmutableSet.of("program1"), repo.getCopybookUsageReference("copy1"));
+
+    repo.updateReferences("program1", ImmutableList.of(Maps.immutableEntry("program1", "copy3")));
+
+    assertEquals(ImmutableSet.of("copy1"), repo.getCopybookUsageReference("copy2"));
+    assertEquals(ImmutableSet.of(), repo.getCopybookUsageReference("copy1"));
+    assertEquals(ImmutableSet.of("program1"), repo.getCopybookUsageReference("copy3"));
+
+    repo.removeReferences("program2");
+
+    assertEquals(ImmutableSet.of(), repo.getCopybookUsageReference("copy2"));
+  }
+
+  @Test
+  void getCopybookUsageReference_whenUriIsNotNormalized() {
+    CopybookReferenceRepo repo = storeReferences();
+    Set<String> copybookUsageReference = repo.getCopybookUsageReference("file:/c:/workspace/.c4z/.copybooks/PARENT.CPY");
+    assertEquals(ImmutableSet.of(DOCUMENT_URI), copybookUsageReference);
+  }
+
   @Test
   @EnabledOnOs({OS.WINDOWS})
   void getCopybookUsageReference_whenUriIsCaseInsensitive() {
@@ -100,7 +132,11 @@ class CopybookReferenceRepoTest {
 
   private CopybookReferenceRepo storeReferences() {
     CopybookReferenceRepo repo = new CopybookReferenceRepo();
-    repo.storeCopybookUsageReference(DOCUMENT_URI, CPY_URI);
+    store(repo, DOCUMENT_URI, CPY_URI);
     return repo;
   }
+
+  private static void store(CopybookReferenceRepo repo, String documentUri, String copybookUri) {
+    repo.updateReferences(documentUri, ImmutableList.of(Maps.immutableEntry(documentUri, copybookUri)));
+  }
 }
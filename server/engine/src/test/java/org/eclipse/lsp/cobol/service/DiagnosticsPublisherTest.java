@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.eclipse.lsp.cobol.service.delegates.communications.Communications;
+import org.eclipse.lsp4j.Diagnostic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/** Test for {@link DiagnosticsPublisher} */
+class DiagnosticsPublisherTest {
+  private static final String PROGRAM = "file:///c:/workspace/program.cbl";
+  private static final String COPYBOOK = "file:///c:/workspace/.c4z/.copybooks/COPY.cpy";
+  private static final String OTHER = "file:///c:/workspace/other.cbl";
+  private static final List<Diagnostic> ERRORS = ImmutableList.of(new Diagnostic());
+
+  private DocumentModelService documentModelService;
+  private Communications communications;
+  private DiagnosticsPublisher publisher;
+
+  @BeforeEach
+  void init() {
+    documentModelService = mock(DocumentModelService.class);
+    communications = mock(Communications.class);
+    publisher = new DiagnosticsPublisher(documentModelService, communications, Runnable::run);
+  }
+
+  @Test
+  void testPublishOnlyChangedDocuments() {
+    diagnostics(ImmutableSet.of(COPYBOOK), ImmutableMap.of(PROGRAM, ImmutableList.of(), COPYBOOK, ERRORS));
+    publisher.publish(PROGRAM);
+    verify(communications).publishDiagnostics(ImmutableMap.of(COPYBOOK, ERRORS));
+
+    publisher.publish(PROGRAM);
+    verify(communications, times(1)).publishDiagnostics(any());
+    verify(documentModelService, never()).getOpenedDiagnostic();
+    assertEquals(1, publisher.getPublishedCount());
+  }
+
+  @Test
+  void testClearCopybookNoLongerReported() {
+    diagnostics(ImmutableSet.of(COPYBOOK), ImmutableMap.of(PROGRAM, ERRORS, COPYBOOK, ERRORS));
+    publisher.publish(PROGRAM);
+
+    diagnostics(ImmutableSet.of(), ImmutableMap.of(PROGRAM, ERRORS, COPYBOOK, ImmutableList.of()));
+    publisher.publish(PROGRAM);
+
+    verify(communications).publishDiagnostics(ImmutableMap.of(COPYBOOK, ImmutableList.of()));
+    verify(documentModelService, times(2)).getOpenedDiagnostic(ImmutableSet.of(PROGRAM, COPYBOOK));
+    assertEquals(1, publisher.getPublishedCount());
+  }
+
+  @Test
+  void testOtherDocumentsAreNotPublished() {
+    diagnostics(ImmutableSet.of(), ImmutableMap.of(PROGRAM, ERRORS));
+    publisher.publish(PROGRAM);
+
+    verify(communications).publishDiagnostics(ImmutableMap.of(PROGRAM, ERRORS));
+    verify(documentModelService, never()).getDiagnosticUris(OTHER);
+  }
+
+  private void diagnostics(ImmutableSet<String> related, Map<String, List<Diagnostic>> diagnostics) {
+    when(documentModelService.getDiagnosticUris(PROGRAM)).thenReturn(related);
+    when(documentModelService.getOpenedDiagnostic(any())).thenReturn(diagnostics);
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2023 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service;
+
+import com.google.common.base.Strings;
+import org.eclipse.lsp.cobol.core.engine.metrics.CacheSnapshot;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
+import org.eclipse.lsp.cobol.service.utils.SizeEstimates;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Test for {@link DocumentContentCache} */
+class DocumentContentCacheTest {
+  private static final String SMALL_URI = "file:///c:/workspace/SMALL.cpy";
+  private static final String LARGE_URI = "file:///c:/workspace/LARGE.cpy";
+  private static final String SMALL_TEXT = "       01 A PIC X.";
+
+  @Test
+  void testCacheIsLimitedBySizeAndReportsStatistics() {
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    DocumentContentCache cache = new DocumentContentCache(64 * 1024, 3, "HOURS", metricsRegistry);
+
+    cache.store(SMALL_URI, SMALL_TEXT);
+    cache.store(LARGE_URI, Strings.repeat("*", 100_000));
+
+    assertEquals(Optional.of(SMALL_TEXT), cache.get(SMALL_URI));
+    assertEquals(Optional.empty(), cache.get(LARGE_URI));
+
+    CacheSnapshot statistics = metricsRegistry.snapshot().getCaches().get("documentContent");
+    assertEquals(2, statistics.getEntries());
+    assertEquals(1, statistics.getHits());
+    assertEquals(1, statistics.getMisses());
+    assertEquals(0.5, statistics.getHitRate());
+    assertEquals(1, statistics.getEvictions());
+    assertEquals(2 * SizeEstimates.ENTRY_OVERHEAD + SizeEstimates.of(SMALL_URI) + SizeEstimates.of(SMALL_TEXT)
+        + SizeEstimates.of(LARGE_URI), statistics.getRetainedBytes());
+  }
+}
@@ -28,16 +28,19 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 /**
  * Test for DocumentModelService
  */
 class DocumentModelServiceTest {
   private DocumentModelService service;
+  private CopybookReferenceRepo copybookReferenceRepo;
 
   @BeforeEach
   void init() {
-    service = new DocumentModelService(mock(CopybookReferenceRepo.class));
+    copybookReferenceRepo = mock(CopybookReferenceRepo.class);
+    service = new DocumentModelService(copybookReferenceRepo);
   }
 
   @Test
@@ -68,6 +71,16 @@ class DocumentModelServiceTest {
     assertEquals(uri2, service.getAllOpened().get(0).getUri());
   }
 
+  @Test
+  void testCloseRemovesCopybookReferences() {
+    String uri = UUID.randomUUID().toString();
+    service.openDocument(uri, UUID.randomUUID().toString());
+
+    service.closeDocument(uri);
+
+    verify(copybookReferenceRepo).removeReferences(uri);
+  }
+
   @Test
   void testIsDocumentSynced() {
     String uri = UUID.randomUUID().toString();
@@ -108,7 +121,7 @@ class DocumentModelServiceTest {
     CobolDocumentModel documentModel = service.get(uri);
     assertNotNull(documentModel);
 
-    service.updateDocument(uri, UUID.randomUUID().toString());
+    service.invalidateAnalysis(uri);
     diagnostics = service.getOpenedDiagnostic();
     assertEquals(0, diagnostics.get(uri).size());
 
@@ -16,6 +16,7 @@ package org.eclipse.lsp.cobol.service;
 
 import com.google.common.collect.ImmutableList;
 import org.eclipse.lsp.cobol.common.SubroutineService;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
 import org.eclipse.lsp.cobol.lsp.jrpc.CobolLanguageClient;
 import org.junit.jupiter.api.Test;
 
@@ -41,7 +42,7 @@ public class SubroutineServiceImplTest {
         .thenReturn(CompletableFuture.completedFuture("URI2"));
 
     SubroutineService subroutineService =
-        new SubroutineServiceImpl(() -> languageClient, 3, 3, "HOURS");
+        new SubroutineServiceImpl(() -> languageClient, 1024 * 1024, 3, "HOURS", new MetricsRegistry());
     assertTrue(subroutineService.getNames().isEmpty());
     assertEquals("URI1", subroutineService.getUri(NAME).get());
     // second get returns the same cached object
@@ -61,7 +62,7 @@ public class SubroutineServiceImplTest {
     when(languageClient.resolveSubroutine(MISSING_FILE)).thenReturn(CompletableFuture.completedFuture(null));
 
     SubroutineService subroutineService =
-        new SubroutineServiceImpl(() -> languageClient, 3, 3, "HOURS");
+        new SubroutineServiceImpl(() -> languageClient, 1024 * 1024, 3, "HOURS", new MetricsRegistry());
     assertEquals("URI", subroutineService.getUri(PRESENT_FILE).get());
     assertFalse(subroutineService.getUri(MISSING_FILE).isPresent());
     // the service must use cache instead of language client
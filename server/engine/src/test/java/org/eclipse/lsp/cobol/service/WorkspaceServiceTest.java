@@ -45,6 +45,7 @@ import org.eclipse.lsp.cobol.lsp.handlers.workspace.DidChangeConfigurationHandle
 import org.eclipse.lsp.cobol.lsp.handlers.workspace.ExecuteCommandHandler;
 import org.eclipse.lsp.cobol.service.copybooks.CopybookNameService;
 import org.eclipse.lsp.cobol.service.delegates.completions.Keywords;
+import org.eclipse.lsp.cobol.service.settings.ConfigurationService;
 import org.eclipse.lsp.cobol.service.settings.SettingsService;
 import org.eclipse.lsp.cobol.service.settings.SettingsServiceImpl;
 import org.eclipse.lsp.cobol.test.engine.UseCaseUtils;
@@ -89,7 +90,8 @@ class WorkspaceServiceTest {
             null,
             null,
             messageService,
-            asyncAnalysisService);
+            asyncAnalysisService,
+            mock(ConfigurationService.class));
     DirtyCacheHandlerService dirtyCacheHandlerService = new DirtyCacheHandlerService(messageDispatcher, asyncAnalysisService);
     ExecuteCommandHandler executeCommandHandler = new ExecuteCommandHandler(stateService, copybookService, subroutineService);
 
@@ -136,7 +138,8 @@ class WorkspaceServiceTest {
             null,
             null,
             null,
-            asyncAnalysisService);
+            asyncAnalysisService,
+            mock(ConfigurationService.class));
     DirtyCacheHandlerService dirtyCacheHandlerService = new DirtyCacheHandlerService(messageDispatcher, asyncAnalysisService);
     ExecuteCommandHandler executeCommandHandler = new ExecuteCommandHandler(stateService, copybookService, null);
 
@@ -182,7 +185,8 @@ class WorkspaceServiceTest {
             localeStore,
             keywords,
             messageService,
-            asyncAnalysisService);
+            asyncAnalysisService,
+            mock(ConfigurationService.class));
     DirtyCacheHandlerService dirtyCacheHandlerService = new DirtyCacheHandlerService(messageDispatcher, asyncAnalysisService);
     ExecuteCommandHandler executeCommandHandler = new ExecuteCommandHandler(stateService, copybookService, subroutineService);
 
@@ -238,7 +242,8 @@ class WorkspaceServiceTest {
             localeStore,
             keywords,
             messageService,
-            asyncAnalysisService);
+            asyncAnalysisService,
+            mock(ConfigurationService.class));
 
     LspMessageDispatcher messageDispatcher = mock(LspMessageDispatcher.class);
     DirtyCacheHandlerService dirtyCacheHandlerService = new DirtyCacheHandlerService(messageDispatcher, asyncAnalysisService);
@@ -292,7 +297,8 @@ class WorkspaceServiceTest {
             localeStore,
             keywords,
             messageService,
-            asyncAnalysisService);
+            asyncAnalysisService,
+            mock(ConfigurationService.class));
 
     LspMessageDispatcher messageDispatcher = mock(LspMessageDispatcher.class);
     DirtyCacheHandlerService dirtyCacheHandlerService = new DirtyCacheHandlerService(messageDispatcher, asyncAnalysisService);
@@ -350,7 +356,8 @@ class WorkspaceServiceTest {
             localeStore,
             keywords,
             messageService,
-            asyncAnalysisService);
+            asyncAnalysisService,
+            mock(ConfigurationService.class));
 
     LspMessageDispatcher messageDispatcher = mock(LspMessageDispatcher.class);
     DirtyCacheHandlerService dirtyCacheHandlerService = new DirtyCacheHandlerService(messageDispatcher, asyncAnalysisService);
@@ -430,7 +437,8 @@ class WorkspaceServiceTest {
             null,
             null,
             null,
-            null, asyncAnalysisService);
+            null, asyncAnalysisService,
+            mock(ConfigurationService.class));
 
     LspMessageDispatcher messageDispatcher = mock(LspMessageDispatcher.class);
     DirtyCacheHandlerService dirtyCacheHandlerService = new DirtyCacheHandlerService(messageDispatcher, asyncAnalysisService);
@@ -134,4 +134,30 @@ class CopybookIdentificationServiceBasedOnContentTest {
     Assertions.assertFalse(service.isCopybook(doc.getUri(), doc.getText(), ImmutableList.of()));
   }
 
+  @Test
+  void WhenIdDivisionSplitAcrossLinesThenReturnFalse() {
+    String content =
+        "      *RETRIEVAL                                                        00340200\r\n"
+            + "       ID\r\n"
+            + "       DIVISION.\r\n";
+    CopybookIdentificationService service = new CopybookIdentificationServiceBasedOnContent();
+    Assertions.assertFalse(service.isCopybook("", content, ImmutableList.of()));
+  }
+
+  @Test
+  void WhenCommentLineBeforeIdentificationDivisionThenReturnFalse() {
+    String content =
+        "      *\n"
+            + "       IDENTIFICATION DIVISION.\n"
+            + "       DATA DIVISION.\n";
+    CopybookIdentificationService service = new CopybookIdentificationServiceBasedOnContent();
+    Assertions.assertFalse(service.isCopybook("", content, ImmutableList.of()));
+  }
+
+  @Test
+  void WhenNoTextThenReturnTrue() {
+    CopybookIdentificationService service = new CopybookIdentificationServiceBasedOnContent();
+    Assertions.assertTrue(service.isCopybook("", null, ImmutableList.of()));
+    Assertions.assertTrue(service.isCopybook("", "", ImmutableList.of()));
+  }
 }
@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.List;
 import org.eclipse.lsp.cobol.common.ResultWithErrors;
 import org.eclipse.lsp.cobol.common.copybook.*;
 import org.eclipse.lsp.cobol.common.error.ErrorSeverity;
@@ -37,6 +38,7 @@ import org.eclipse.lsp.cobol.common.file.FileSystemService;
 import org.eclipse.lsp.cobol.common.mapping.ExtendedText;
 import org.eclipse.lsp.cobol.common.mapping.OriginalLocation;
 import org.eclipse.lsp.cobol.common.utils.PredefinedCopybooks;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
 import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
 import org.eclipse.lsp.cobol.lsp.jrpc.CobolLanguageClient;
 import org.eclipse.lsp.cobol.service.DocumentContentCache;
@@ -64,12 +66,14 @@ class CopybookServiceTest {
   private static final String DOCUMENT_2_URI = "file:///c:/workspace/document2.cbl";
   private static final String DOCUMENT_3_URI = "implicit:///implicitCopybooks/SQLCA_DB2.cpy";
   private static final String COPYBOOK_3_NAME = "SQLCA_DB2";
+  private static final long CACHE_WEIGHT = 1024 * 1024;
   private final CobolLanguageClient client = mock(CobolLanguageClient.class);
   private final FileSystemService files = mock(FileSystemService.class);
   private final TextPreprocessor preprocessor = mock(TextPreprocessor.class);
   private final Path cpyPath = mock(Path.class);
   private final Path parentPath = mock(Path.class);
   private final DocumentContentCache documentCache = mock(DocumentContentCache.class);
+  private final MetricsRegistry metricsRegistry = new MetricsRegistry();
 
   @BeforeEach
   void setupMocks() throws IOException {
@@ -488,7 +492,8 @@ class CopybookServiceTest {
     ClientProvider provider = new ClientProvider();
     provider.setClient(client);
     return new CopybookServiceImpl(
-        provider, files, preprocessor, new CopybookCache(3, 3, "HOURS"), documentCache);
+        provider, files, preprocessor, new CopybookCache(CACHE_WEIGHT, 3, "HOURS", metricsRegistry),
+        new PreprocessedCopybookCache(CACHE_WEIGHT, 3, "HOURS", metricsRegistry), documentCache, metricsRegistry);
   }
 
   private CopybookName createCopybook(String displayName) {
@@ -561,4 +566,73 @@ class CopybookServiceTest {
     assertEquals(copybookModel.getContent(), copybookContent);
     assertEquals(resolvedCopybook.getErrors().get(0), expectedSyntaxError);
   }
+
+  @Test
+  void testCopybookSharedByProgramsIsPreprocessedOnce() {
+    CopybookName copybookName = createCopybook(VALID_CPY_NAME);
+    CopybookService copybookService = createCopybookService();
+    when(client.resolveCopybook(DOCUMENT_2_URI, VALID_CPY_NAME, "COBOL"))
+        .thenReturn(supplyAsync(() -> VALID_CPY_URI));
+    when(files.getNameFromURI(DOCUMENT_2_URI)).thenReturn("document2");
+    when(preprocessor.cleanUpCode(VALID_CPY_URI, CONTENT))
+        .thenReturn(new ResultWithErrors<>(new ExtendedText(CONTENT, VALID_CPY_URI), emptyList()));
+
+    CopybookModel first =
+        copybookService
+            .resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, true)
+            .getResult();
+    CopybookModel second =
+        copybookService
+            .resolve(copybookName.toCopybookId(DOCUMENT_2_URI), copybookName, DOCUMENT_2_URI, DOCUMENT_2_URI, true)
+            .getResult();
+
+    assertEquals(CONTENT, first.getContent());
+    assertSame(first.getContent(), second.getContent());
+    assertNotEquals(first.getCopybookId(), second.getCopybookId());
+    verify(client).resolveCopybook(DOCUMENT_2_URI, VALID_CPY_NAME, "COBOL");
+    verify(preprocessor, times(1)).cleanUpCode(VALID_CPY_URI, CONTENT);
+  }
+
+  @Test
+  void testPrefetchedCopybooksAreResolvedFromCache() {
+    CopybookName validCopybook = createCopybook(VALID_CPY_NAME);
+    CopybookName invalidCopybook = createCopybook(INVALID_CPY_NAME);
+    CopybookServiceImpl copybookService = createCopybookService();
+    when(preprocessor.cleanUpCode(VALID_CPY_URI, CONTENT))
+        .thenReturn(new ResultWithErrors<>(new ExtendedText(CONTENT, VALID_CPY_URI), emptyList()));
+
+    List<CopybookModel> prefetched =
+        copybookService.prefetch(ImmutableList.of(validCopybook, invalidCopybook), DOCUMENT_URI);
+
+    assertEquals(1, prefetched.size());
+    assertEquals(VALID_CPY_URI, prefetched.get(0).getUri());
+    assertTrue(copybookService.getCopybooksForDownloading().isEmpty());
+
+    CopybookModel copybookModel =
+        copybookService
+            .resolve(validCopybook.toCopybookId(DOCUMENT_URI), validCopybook, DOCUMENT_URI, DOCUMENT_URI, true)
+            .getResult();
+
+    assertEquals(CONTENT, copybookModel.getContent());
+    verify(client, times(1)).resolveCopybook(DOCUMENT_URI, VALID_CPY_NAME, "COBOL");
+    verify(preprocessor, times(1)).cleanUpCode(VALID_CPY_URI, CONTENT);
+    assertTrue(copybookService.prefetch(ImmutableList.of(validCopybook), DOCUMENT_URI).isEmpty());
+  }
+
+  @Test
+  void testChangedCopybookPreprocessedInAdvanceIsShared() {
+    CopybookName copybookName = createCopybook(VALID_CPY_NAME);
+    CopybookService copybookService = createCopybookService();
+    when(preprocessor.cleanUpCode(VALID_CPY_URI, CONTENT))
+        .thenReturn(new ResultWithErrors<>(new ExtendedText(CONTENT, VALID_CPY_URI), emptyList()));
+
+    copybookService.preprocess(VALID_CPY_URI, CONTENT);
+    CopybookModel copybookModel =
+        copybookService
+            .resolve(copybookName.toCopybookId(DOCUMENT_URI), copybookName, DOCUMENT_URI, DOCUMENT_URI, true)
+            .getResult();
+
+    assertEquals(CONTENT, copybookModel.getContent());
+    verify(preprocessor, times(1)).cleanUpCode(VALID_CPY_URI, CONTENT);
+  }
 }
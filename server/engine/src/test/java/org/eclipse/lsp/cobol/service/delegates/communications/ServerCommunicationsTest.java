@@ -145,6 +145,28 @@ class ServerCommunicationsTest {
     verify(client).notifyProgress(new ProgressParams(Either.forLeft(uri), Either.forLeft(new WorkDoneProgressReport())));
   }
 
+  @Test
+  void testNotifyReanalysisProgress() {
+    String token = "reanalysis#1";
+    when(messageService.getMessage("Communications.reanalysisInProgressTitle", 4)).thenReturn("TITLE");
+    when(messageService.getMessage("Communications.reanalysisProgress", 1, 4)).thenReturn("1 of 4");
+    WorkDoneProgressBegin begin = new WorkDoneProgressBegin();
+    begin.setTitle("TITLE");
+    begin.setPercentage(0);
+    WorkDoneProgressReport report = new WorkDoneProgressReport();
+    report.setMessage("1 of 4");
+    report.setPercentage(25);
+
+    communications.notifyReanalysisBegin(token, 4);
+    communications.notifyReanalysisReport(token, 1, 4);
+    communications.notifyReanalysisEnd(token);
+
+    verify(client).createProgress(new WorkDoneProgressCreateParams(Either.forLeft(token)));
+    verify(client).notifyProgress(new ProgressParams(Either.forLeft(token), Either.forLeft(begin)));
+    verify(client).notifyProgress(new ProgressParams(Either.forLeft(token), Either.forLeft(report)));
+    verify(client).notifyProgress(new ProgressParams(Either.forLeft(token), Either.forLeft(new WorkDoneProgressEnd())));
+  }
+
   @Test
   void testRegisterExecuteCommandCapability() {
     String capabilityID = "test";
@@ -16,6 +16,7 @@
 package org.eclipse.lsp.cobol.service.delegates.completions;
 
 import com.google.common.collect.ImmutableSet;
+import org.eclipse.lsp.cobol.common.model.Locality;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp4j.*;
 import org.hamcrest.Matchers;
@@ -25,19 +26,23 @@ import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrde
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.VARIABLES;
 import static org.eclipse.lsp.cobol.service.delegates.completions.MockCompletionModel.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * This test checks the logic of completion support. It retrieves the token by the given position
  * and calls all the providers in attempt to resolve it.
  */
 class CompletionsTest {
+  private static final CompletionData DATA = new CompletionData("", Locality.builder().build().toLocation());
+
   @Test
   void testCollecting() {
     Completions completions =
         new Completions(
             ImmutableSet.of(
-                new CopybookCompletion(), new VariableCompletion(REPO),
-                    new ParagraphCompletion(REPO)));
+                new CopybookCompletion(), new VariableCompletion(),
+                    new ParagraphCompletion()));
     CompletionList actual =
         completions.collectFor(
             new CobolDocumentModel("", "Lorem ipsum dolor c amet", RESULT),
@@ -46,12 +51,23 @@ class CompletionsTest {
     assertThat(actual.getItems(), Matchers.containsInAnyOrder(createExpected()));
   }
 
+  @Test
+  void testResolving() {
+    Completions completions =
+        new Completions(ImmutableSet.of(new CopybookCompletion(), new VariableCompletion()));
+    CompletionItem variable = createItem("constD1", CompletionItemKind.Variable, VARIABLES, DATA);
+    CompletionItem copybook = createItem("cpyU1", CompletionItemKind.Class, COPYBOOKS);
+
+    assertEquals("sys IS constD1.", completions.resolve(MODEL, variable).getDocumentation().getLeft());
+    assertNull(completions.resolve(MODEL, copybook).getDocumentation());
+  }
+
   private CompletionItem[] createExpected() {
     return new CompletionItem[] {
       createItem("cpyU1", CompletionItemKind.Class, COPYBOOKS),
       createItem("CpyU2", CompletionItemKind.Class, COPYBOOKS),
-      createItem("constD1", CompletionItemKind.Variable, VARIABLES, "sys IS constD1."),
-      createItem("ConstD2", CompletionItemKind.Variable, VARIABLES, "sys IS ConstD2.")
+      createItem("constD1", CompletionItemKind.Variable, VARIABLES, DATA),
+      createItem("ConstD2", CompletionItemKind.Variable, VARIABLES, DATA)
     };
   }
 
@@ -59,14 +75,14 @@ class CompletionsTest {
     return createItem(name, kind, order, null);
   }
 
-  private CompletionItem createItem(String name, CompletionItemKind kind, CompletionOrder order, String documentation) {
+  private CompletionItem createItem(String name, CompletionItemKind kind, CompletionOrder order, CompletionData data) {
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
     item.setInsertText(name);
     item.setKind(kind);
     item.setSortText(order.prefix + name);
-    if (documentation != null)
-      item.setDocumentation(documentation);
+    if (data != null)
+      item.setData(data.toJson());
     return item;
   }
 }
@@ -30,13 +30,14 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+import static org.eclipse.lsp.cobol.service.settings.SettingsParametersEnum.DIALECTS;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 /**
  * This test {@link KeywordCompletion} asserts that filtration and preparing the keyword completion
@@ -97,6 +98,30 @@ class KeywordCompletionTest {
     assertEquals(2347, keywords.getDataMap(dialectType).size());
   }
 
+  @Test
+  void testStorageIsLoadedOncePerDialects() {
+    DialectService dialectService = mock(DialectService.class);
+    CobolDialect idmsDialect = mock(CobolDialect.class);
+    when(idmsDialect.getKeywords()).thenReturn(ImmutableMap.of("idms1", "desc1", "IDMS2", "desc2"));
+    SettingsService settingsService = mock(SettingsService.class);
+    when(settingsService.fetchTextConfiguration(DIALECTS.label))
+        .thenReturn(CompletableFuture.completedFuture(ImmutableList.of("IDMS")));
+    Keywords keywords = new Keywords(settingsService, dialectService);
+    keywords.updateStorage();
+
+    assertEquals(ImmutableList.of(), keywords.getLabels("idms"));
+
+    when(dialectService.getDialectByName("IDMS")).thenReturn(Optional.of(idmsDialect));
+    assertEquals(ImmutableList.of("idms1", "IDMS2"), keywords.getLabels("idms"));
+    assertEquals(ImmutableList.of("IDMS2"), keywords.getLabels("Idms2"));
+    assertEquals("desc2", keywords.getInformationFor("IDMS2"));
+    verify(idmsDialect, times(1)).getKeywords();
+
+    keywords.updateStorage();
+    assertEquals(ImmutableList.of("idms1", "IDMS2"), keywords.getLabels("IDMS"));
+    verify(idmsDialect, times(2)).getKeywords();
+  }
+
   @Test
   void testCompletionNull() {
     assertThat(completion.getCompletionItems("Accep", null), is(createExpected()));
@@ -21,7 +21,6 @@ import org.eclipse.lsp.cobol.common.model.tree.CopyNode;
 import org.eclipse.lsp.cobol.common.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.common.model.tree.variable.VariableNode;
 import org.eclipse.lsp.cobol.core.engine.symbols.SymbolAccumulatorService;
-import org.eclipse.lsp.cobol.core.engine.symbols.SymbolsRepository;
 import org.eclipse.lsp.cobol.common.model.tree.ParagraphNameNode;
 import org.eclipse.lsp.cobol.common.model.tree.RootNode;
 import org.eclipse.lsp.cobol.common.model.tree.SectionNameNode;
@@ -37,7 +36,6 @@ class MockCompletionModel {
           .build();
   static final CobolDocumentModel MODEL = new CobolDocumentModel("", "some text", RESULT);
   static final SymbolAccumulatorService SYMBOL_SERVICE = new SymbolAccumulatorService();
-  static final SymbolsRepository REPO = new SymbolsRepository();
 
   static {
     ProgramNode programNode = new ProgramNode(Locality.builder().build());
@@ -73,6 +71,6 @@ class MockCompletionModel {
               CopyNode nameNode = new CopyNode(Locality.builder().build(), Locality.builder().build().toLocation(), name, "uri");
               rootNode.addChild(nameNode);
             });
-      REPO.updateSymbols(SYMBOL_SERVICE.getProgramSymbols());
+    RESULT.getSymbolTableMap().putAll(SYMBOL_SERVICE.getProgramSymbols());
   }
 }
@@ -19,6 +19,7 @@ import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp.cobol.common.SubroutineService;
 import org.eclipse.lsp.cobol.service.SubroutineServiceImpl;
 import org.eclipse.lsp.cobol.common.AnalysisResult;
+import org.eclipse.lsp.cobol.core.engine.metrics.MetricsRegistry;
 import org.eclipse.lsp4j.*;
 import org.junit.jupiter.api.Test;
 
@@ -32,7 +33,7 @@ class SubroutineCompletionTest {
 
   @Test
   void testSubroutineCompletion() {
-    SubroutineService subroutineService = new SubroutineServiceImpl(null, 3, 3, "HOURS");
+    SubroutineService subroutineService = new SubroutineServiceImpl(null, 1024 * 1024, 3, "HOURS", new MetricsRegistry());
     subroutineService.store("SUBCALL", "");
     SubroutineCompletion subroutineCompletion = new SubroutineCompletion(subroutineService);
     CobolDocumentModel document = new CobolDocumentModel("", TEXT, AnalysisResult.builder().build());
@@ -16,19 +16,19 @@ package org.eclipse.lsp.cobol.service.delegates.completions;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import org.eclipse.lsp.cobol.core.engine.symbols.SymbolsRepository;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp.cobol.test.engine.UseCaseEngine;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * This test {@link VariableCompletion} asserts that filtration and preparing the variable
@@ -51,23 +51,27 @@ class VariableCompletionTest {
   @Test
   void testCompletionEmptyResult() {
     CobolDocumentModel model = getModel(HEADER);
-    Completion completion =
-        new VariableCompletion(new SymbolsRepository(model.getAnalysisResult().getSymbolTableMap()));
+    Completion completion = new VariableCompletion();
     assertThat(completion.getCompletionItems("smth", model), is(empty()));
   }
 
   @Test
   void testCompletionNull() {
-    Completion completion = new VariableCompletion(new SymbolsRepository());
+    Completion completion = new VariableCompletion();
     assertThat(completion.getCompletionItems("smth", null), is(empty()));
   }
 
   @Test
   void testCompletionMock() {
     CobolDocumentModel model = getModel(FULL_TEXT);
-    Completion completion =
-        new VariableCompletion(new SymbolsRepository(model.getAnalysisResult().getSymbolTableMap()));
-    assertEquals(createExpected(), completion.getCompletionItems("va", model));
+    Completion completion = new VariableCompletion();
+    List<CompletionItem> items = new ArrayList<>(completion.getCompletionItems("va", model));
+    items.forEach(it -> assertNull(it.getDocumentation()));
+
+    items.forEach(it -> completion.resolveCompletionItem(it, model));
+    items.forEach(it -> assertNotNull(it.getData()));
+    items.forEach(it -> it.setData(null));
+    assertEquals(createExpected(), items);
   }
 
   private List<CompletionItem> createExpected() {
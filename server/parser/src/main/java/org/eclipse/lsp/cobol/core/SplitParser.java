@@ -23,6 +23,7 @@ import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.DefaultErrorStrategy;
 import org.antlr.v4.runtime.tree.ParseTreeListener;
 import org.eclipse.lsp.cobol.common.utils.ThreadInterruptionUtil;
+import org.eclipse.lsp.cobol.common.utils.TwoStageParsingUtil;
 
 /**
  * COBOL parser class.
@@ -51,6 +52,6 @@ public class SplitParser implements AstBuilder {
   @Override
   public CobolParser.StartRuleContext runParser() {
     ThreadInterruptionUtil.checkThreadInterrupted();
-    return antlrParser.startRule();
+    return TwoStageParsingUtil.parse(antlrParser, antlrParser::startRule);
   }
 }